@@ -0,0 +1,22 @@
+package com.br.factory.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class CatalogBulkheadConfig implements WebMvcConfigurer {
+
+    private final CatalogWriteBulkhead catalogWriteBulkhead;
+
+    public CatalogBulkheadConfig(CatalogWriteBulkhead catalogWriteBulkhead) {
+        this.catalogWriteBulkhead = catalogWriteBulkhead;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogWriteBulkhead)
+                .addPathPatterns("/products", "/products/**", "/raw-materials", "/raw-materials/**")
+                .excludePathPatterns("/raw-materials/stock/events");
+    }
+}
@@ -0,0 +1,51 @@
+package com.br.factory.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the catalog id sequences past the codes already in their tables.
+ * Rows written while the ids were identity columns are not counted by the
+ * sequences Hibernate creates, so a fresh sequence would hand those codes out
+ * again. The sequences allocate in blocks of 50, so each is set at least one
+ * block past the highest code; a sequence already ahead is left where it is.
+ * Other databases skip this.
+ */
+@Component
+public class CatalogSequenceInitializer implements ApplicationRunner {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String database = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+        );
+        if (!POSTGRESQL.equals(database)) {
+            return;
+        }
+
+        align("products_seq", "products", "code");
+        align("raw_materials_seq", "raw_materials", "code");
+        align("product_compositions_seq", "product_compositions", "id");
+    }
+
+    private void align(String sequence, String table, String column) {
+        jdbcTemplate.queryForObject(
+            "select setval('" + sequence + "', greatest("
+                + "(select coalesce(max(" + column + "), 0) from " + table + ") + " + ALLOCATION_SIZE + ", "
+                + "(select last_value from " + sequence + ")))",
+            Long.class
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.br.factory.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.br.factory.exception.TooManyRequestsException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control for the catalog CRUD endpoints. Their reads are served
+ * from the catalog snapshot and pass straight through, but every write holds
+ * a database connection, so concurrent writes are capped below the pool that
+ * production commits, reservations and the stock flush also draw from.
+ * A write that finds no permit within the wait is turned away with a retry
+ * hint instead of queueing on a servlet thread. Stock events only reach the
+ * in-memory accumulator, so they are not registered here.
+ */
+@Component
+public class CatalogWriteBulkhead implements HandlerInterceptor {
+
+    private static final String PERMIT = CatalogWriteBulkhead.class.getName() + ".permit";
+
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+
+    public CatalogWriteBulkhead(
+        @Value("${factory.catalog.bulkhead.max-concurrent-writes:8}") int maxConcurrentWrites,
+        @Value("${factory.catalog.bulkhead.max-wait-ms:200}") long maxWaitMillis,
+        @Value("${factory.catalog.bulkhead.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        this.permits = new Semaphore(maxConcurrentWrites, true);
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (isRead(request.getMethod())) {
+            return true;
+        }
+
+        if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+            throw new TooManyRequestsException("Catalog writes are at capacity, try again later", retryAfterSeconds);
+        }
+        request.setAttribute(PERMIT, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) != null) {
+            request.removeAttribute(PERMIT);
+            permits.release();
+        }
+    }
+
+    public int availableWrites() {
+        return permits.availablePermits();
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+}
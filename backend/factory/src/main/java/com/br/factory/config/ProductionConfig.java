@@ -0,0 +1,46 @@
+package com.br.factory.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class ProductionConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool productionPool(@Value("${factory.production.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService productionJobExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor planningExecutor(
+        @Value("${factory.production.bulkhead.max-concurrent:4}") int maxConcurrent,
+        @Value("${factory.production.bulkhead.queue-capacity:16}") int queueCapacity
+    ) {
+        ThreadFactory threadFactory = Thread.ofPlatform().name("planning-", 0).daemon(true).factory();
+        return new ThreadPoolExecutor(
+            maxConcurrent,
+            maxConcurrent,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory,
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+}
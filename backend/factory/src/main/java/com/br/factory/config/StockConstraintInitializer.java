@@ -0,0 +1,47 @@
+package com.br.factory.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the non-negative stock check to a {@code raw_materials} table created
+ * before the entity declared it, since schema updates never add constraints
+ * to existing tables. The constraint is added {@code NOT VALID}: every new
+ * write is checked without failing startup over rows already below zero.
+ * Other databases skip this.
+ */
+@Component
+public class StockConstraintInitializer implements ApplicationRunner {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockConstraintInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String database = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+        );
+        if (!POSTGRESQL.equals(database)) {
+            return;
+        }
+
+        jdbcTemplate.execute("""
+            do $$
+            begin
+                if not exists (select 1 from pg_constraint where conname = 'ck_raw_materials_stock_non_negative') then
+                    alter table raw_materials
+                        add constraint ck_raw_materials_stock_non_negative check (stock_quantity >= 0) not valid;
+                end if;
+            end
+            $$
+            """);
+    }
+}
@@ -9,12 +9,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.br.factory.dto.page.CursorPage;
+import com.br.factory.dto.product.ProductBatchRequest;
 import com.br.factory.dto.product.ProductRequest;
 import com.br.factory.dto.product.ProductResponse;
 import com.br.factory.dto.product.ProductUpdate;
 import com.br.factory.entity.Product;
+import com.br.factory.service.CatalogSnapshotService;
 import com.br.factory.service.ProductService;
 
 import jakarta.validation.Valid;
@@ -25,9 +29,11 @@ import java.util.List;
 public class ProductController {
     
     private final ProductService productService;
+    private final CatalogSnapshotService catalogSnapshotService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, CatalogSnapshotService catalogSnapshotService) {
         this.productService = productService;
+        this.catalogSnapshotService = catalogSnapshotService;
     }
 
 
@@ -38,20 +44,34 @@ public class ProductController {
     }
 
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProductResponse>> createProducts(@Valid @RequestBody ProductBatchRequest dto) {
+        List<ProductResponse> responses = productService.createProducts(dto.products()).stream()
+            .map(ProductResponse::fromEntity)
+            .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+    }
+
+
     @GetMapping("/{code}")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long code) {
-        Product product = productService.findProductByCode(code);
-        return ResponseEntity.ok(ProductResponse.fromEntity(product));
+        return ResponseEntity.ok(catalogSnapshotService.findProductByCode(code));
     }
 
 
     @GetMapping
+    public ResponseEntity<CursorPage<ProductResponse>> getProductPage(
+        @RequestParam(required = false) Long after,
+        @RequestParam(defaultValue = "50") Integer limit,
+        @RequestParam(required = false) String name
+    ) {
+        return ResponseEntity.ok(catalogSnapshotService.getProductPage(after, limit, name));
+    }
+
+
+    @GetMapping(params = "all=true")
     public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
-        List<ProductResponse> responses = products.stream()
-            .map(ProductResponse::fromEntity)
-            .toList();
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(catalogSnapshotService.getAllProducts());
     }
 
 
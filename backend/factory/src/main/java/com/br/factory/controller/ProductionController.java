@@ -1,26 +1,144 @@
 package com.br.factory.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.br.factory.dto.production.BottleneckReportResponse;
+import com.br.factory.dto.production.ProductionCommitRequest;
+import com.br.factory.dto.production.ProductionCommitResponse;
+import com.br.factory.dto.production.ProductionComparisonResponse;
+import com.br.factory.dto.production.ProductionStatsResponse;
+import com.br.factory.dto.production.ProductionStreamSummary;
 import com.br.factory.dto.production.ProductionSuggestionResponse;
+import com.br.factory.dto.production.ScenarioBatchRequest;
+import com.br.factory.dto.production.ScenarioBatchResponse;
+import com.br.factory.service.PlanningBulkhead;
 import com.br.factory.service.ProductionCalculationService;
+import com.br.factory.service.ProductionCommitService;
+import com.br.factory.service.production.CancellationToken;
+
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/production")
 public class ProductionController {
     
+    private static final long STREAM_TIMEOUT_MS = ProductionCalculationService.MAX_TIME_BUDGET_MS + 30000;
+
     private final ProductionCalculationService productionCalculationService;
+    private final ProductionCommitService productionCommitService;
+    private final PlanningBulkhead planningBulkhead;
 
-    public ProductionController(ProductionCalculationService productionCalculationService) {
+    public ProductionController(
+        ProductionCalculationService productionCalculationService,
+        ProductionCommitService productionCommitService,
+        PlanningBulkhead planningBulkhead
+    ) {
         this.productionCalculationService = productionCalculationService;
+        this.productionCommitService = productionCommitService;
+        this.planningBulkhead = planningBulkhead;
     }
 
     @GetMapping("/suggest")
-    public ResponseEntity<ProductionSuggestionResponse> suggestOptimalProduction() {
-        ProductionSuggestionResponse response = productionCalculationService.calculateOptimalProduction();
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<ProductionSuggestionResponse>> suggestOptimalProduction(
+        @RequestParam(defaultValue = ProductionCalculationService.GREEDY_STRATEGY) String strategy,
+        @RequestParam(defaultValue = "2000") Long timeBudgetMs,
+        @RequestParam(defaultValue = "0") Long maxIterations
+    ) {
+        return planningBulkhead.submit(() -> ResponseEntity.ok(productionCalculationService.calculateOptimalProduction(
+            strategy,
+            timeBudgetMs,
+            maxIterations
+        )));
+    }
+
+    @GetMapping(value = "/suggest/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOptimalProduction(
+        @RequestParam(defaultValue = ProductionCalculationService.GREEDY_STRATEGY) String strategy,
+        @RequestParam(defaultValue = "2000") Long timeBudgetMs,
+        @RequestParam(defaultValue = "0") Long maxIterations
+    ) {
+        String name = productionCalculationService.validatePlanningRequest(strategy, timeBudgetMs, maxIterations);
+        CancellationToken cancellationToken = new CancellationToken();
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        emitter.onCompletion(cancellationToken::cancel);
+        emitter.onTimeout(cancellationToken::cancel);
+        emitter.onError(ex -> cancellationToken.cancel());
+
+        planningBulkhead.submit(() -> {
+            try {
+                ProductionStreamSummary summary = productionCalculationService.streamOptimalProduction(
+                    name,
+                    timeBudgetMs,
+                    maxIterations,
+                    cancellationToken,
+                    item -> send(emitter, "item", item)
+                );
+                send(emitter, "summary", summary);
+                emitter.complete();
+            } catch (UncheckedIOException ex) {
+                cancellationToken.cancel();
+            } catch (RuntimeException ex) {
+                emitter.completeWithError(ex);
+            }
+            return null;
+        });
+
+        return emitter;
+    }
+
+    @GetMapping("/compare")
+    public CompletableFuture<ResponseEntity<ProductionComparisonResponse>> compareStrategies(
+        @RequestParam(required = false) List<String> strategies,
+        @RequestParam(defaultValue = "2000") Long timeBudgetMs,
+        @RequestParam(defaultValue = "0") Long maxIterations
+    ) {
+        return planningBulkhead.submit(() -> ResponseEntity.ok(productionCalculationService.compareStrategies(
+            strategies,
+            timeBudgetMs,
+            maxIterations
+        )));
+    }
+
+    @PostMapping("/scenarios")
+    public CompletableFuture<ResponseEntity<ScenarioBatchResponse>> evaluateScenarios(
+        @Valid @RequestBody ScenarioBatchRequest request
+    ) {
+        return planningBulkhead.submit(() -> ResponseEntity.ok(productionCalculationService.evaluateScenarios(request)));
+    }
+
+    @PostMapping("/commit")
+    public ResponseEntity<ProductionCommitResponse> commitProduction(@Valid @RequestBody ProductionCommitRequest request) {
+        return ResponseEntity.ok(productionCommitService.commit(request.items()));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ProductionStatsResponse> getStats() {
+        return ResponseEntity.ok(productionCalculationService.getStats());
+    }
+
+    @GetMapping("/bottlenecks")
+    public CompletableFuture<ResponseEntity<BottleneckReportResponse>> analyzeBottlenecks() {
+        return planningBulkhead.submit(() -> ResponseEntity.ok(productionCalculationService.analyzeBottlenecks()));
+    }
+
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 }
@@ -0,0 +1,50 @@
+package com.br.factory.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.br.factory.dto.production.ProductionJobRequest;
+import com.br.factory.dto.production.ProductionJobResponse;
+import com.br.factory.dto.production.ProductionSuggestionResponse;
+import com.br.factory.service.ProductionJobService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/production/jobs")
+public class ProductionJobController {
+
+    private final ProductionJobService productionJobService;
+
+    public ProductionJobController(ProductionJobService productionJobService) {
+        this.productionJobService = productionJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ProductionJobResponse> submitJob(@Valid @RequestBody ProductionJobRequest request) {
+        ProductionJobResponse response = productionJobService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductionJobResponse> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(productionJobService.getJob(id));
+    }
+
+    @GetMapping("/{id}/result")
+    public ResponseEntity<ProductionSuggestionResponse> getJobResult(@PathVariable String id) {
+        return ResponseEntity.ok(productionJobService.getResult(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ProductionJobResponse> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(productionJobService.cancel(id));
+    }
+}
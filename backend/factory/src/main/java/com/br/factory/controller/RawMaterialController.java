@@ -4,20 +4,31 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.br.factory.dto.page.CursorPage;
 import com.br.factory.dto.rawmaterial.RawMaterialRequest;
 import com.br.factory.dto.rawmaterial.RawMaterialResponse;
 import com.br.factory.dto.rawmaterial.RawMaterialUpdate;
+import com.br.factory.dto.rawmaterial.StockAdjustmentRequest;
+import com.br.factory.dto.rawmaterial.StockAdjustmentResponse;
+import com.br.factory.dto.rawmaterial.StockLevelResponse;
+import com.br.factory.dto.rawmaterial.StockMovementResponse;
 import com.br.factory.entity.RawMaterial;
+import com.br.factory.service.CatalogSnapshotService;
 import com.br.factory.service.RawMaterialService;
+import com.br.factory.service.StockAccumulator;
+import com.br.factory.service.StockLedgerService;
 
 import jakarta.validation.Valid;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -25,9 +36,20 @@ import java.util.List;
 public class RawMaterialController {
     
     private final RawMaterialService rawMaterialService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final StockLedgerService stockLedgerService;
+    private final StockAccumulator stockAccumulator;
 
-    public RawMaterialController(RawMaterialService rawMaterialService) {
+    public RawMaterialController(
+        RawMaterialService rawMaterialService,
+        CatalogSnapshotService catalogSnapshotService,
+        StockLedgerService stockLedgerService,
+        StockAccumulator stockAccumulator
+    ) {
         this.rawMaterialService = rawMaterialService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.stockLedgerService = stockLedgerService;
+        this.stockAccumulator = stockAccumulator;
     }
 
 
@@ -40,18 +62,45 @@ public class RawMaterialController {
 
     @GetMapping("/{code}")
     public ResponseEntity<RawMaterialResponse> getRawMaterialById(@PathVariable Long code) {
-        RawMaterial rawMaterial = rawMaterialService.findRawMaterialByCode(code);
-        return ResponseEntity.ok(RawMaterialResponse.fromEntity(rawMaterial));
+        return ResponseEntity.ok(catalogSnapshotService.findRawMaterialByCode(code));
+    }
+
+
+    @GetMapping("/{code}/movements")
+    public ResponseEntity<CursorPage<StockMovementResponse>> getStockMovements(
+        @PathVariable Long code,
+        @RequestParam(required = false) Long after,
+        @RequestParam(defaultValue = "50") Integer limit
+    ) {
+        CursorPage<StockMovementResponse> page = stockLedgerService.getMovementPage(code, after, limit)
+            .map(StockMovementResponse::fromEntity);
+        return ResponseEntity.ok(page);
+    }
+
+
+    @GetMapping("/{code}/stock")
+    public ResponseEntity<StockLevelResponse> getStockAt(
+        @PathVariable Long code,
+        @RequestParam(required = false) Instant at
+    ) {
+        Instant instant = at != null ? at : Instant.now();
+        return ResponseEntity.ok(new StockLevelResponse(code, stockLedgerService.stockAt(code, instant), instant));
     }
 
 
     @GetMapping
+    public ResponseEntity<CursorPage<RawMaterialResponse>> getRawMaterialPage(
+        @RequestParam(required = false) Long after,
+        @RequestParam(defaultValue = "50") Integer limit,
+        @RequestParam(required = false) String name
+    ) {
+        return ResponseEntity.ok(catalogSnapshotService.getRawMaterialPage(after, limit, name));
+    }
+
+
+    @GetMapping(params = "all=true")
     public ResponseEntity<List<RawMaterialResponse>> getAllRawMaterials() {
-        List<RawMaterial> rawMaterials = rawMaterialService.getAllRawMaterials();
-        List<RawMaterialResponse> responses = rawMaterials.stream()
-            .map(RawMaterialResponse::fromEntity)
-            .toList();
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(catalogSnapshotService.getAllRawMaterials());
     }
 
 
@@ -65,6 +114,19 @@ public class RawMaterialController {
     }
     
 
+    @PatchMapping("/stock")
+    public ResponseEntity<StockAdjustmentResponse> adjustStock(@Valid @RequestBody StockAdjustmentRequest dto) {
+        return ResponseEntity.ok(rawMaterialService.adjustStock(dto.adjustments()));
+    }
+
+
+    @PostMapping("/stock/events")
+    public ResponseEntity<Void> recordStockEvents(@Valid @RequestBody StockAdjustmentRequest dto) {
+        stockAccumulator.add(dto.adjustments());
+        return ResponseEntity.accepted().build();
+    }
+
+
     @DeleteMapping("/{code}")
     public ResponseEntity<Void> deleteRawMaterial(@PathVariable Long code) {
         rawMaterialService.deleteRawMaterial(code);
@@ -0,0 +1,49 @@
+package com.br.factory.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.br.factory.dto.reservation.ReservationRequest;
+import com.br.factory.dto.reservation.ReservationResponse;
+import com.br.factory.service.StockHold;
+import com.br.factory.service.StockReservationService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/reservations")
+public class ReservationController {
+
+    private final StockReservationService stockReservationService;
+
+    public ReservationController(StockReservationService stockReservationService) {
+        this.stockReservationService = stockReservationService;
+    }
+
+
+    @PostMapping
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody ReservationRequest request) {
+        StockHold hold = stockReservationService.reserve(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ReservationResponse.fromHold(hold));
+    }
+
+
+    @GetMapping("/{orderId}")
+    public ResponseEntity<ReservationResponse> getReservation(@PathVariable String orderId) {
+        return ResponseEntity.ok(ReservationResponse.fromHold(stockReservationService.getReservation(orderId)));
+    }
+
+
+    @DeleteMapping("/{orderId}")
+    public ResponseEntity<Void> release(@PathVariable String orderId) {
+        stockReservationService.release(orderId);
+        return ResponseEntity.noContent().build();
+    }
+}
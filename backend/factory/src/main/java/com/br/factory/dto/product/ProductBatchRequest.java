@@ -0,0 +1,15 @@
+package com.br.factory.dto.product;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record ProductBatchRequest(
+    @NotEmpty(message = "At least one product is required")
+    @Size(max = 5000, message = "At most 5000 products can be imported at once")
+    @Valid List<ProductRequest> products
+) {
+    
+}
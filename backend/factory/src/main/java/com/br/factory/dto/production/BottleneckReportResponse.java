@@ -0,0 +1,11 @@
+package com.br.factory.dto.production;
+
+import java.util.List;
+
+public record BottleneckReportResponse(
+    Double relaxedTotalValue,
+    Boolean exact,
+    List<MaterialBottleneck> materials
+) {
+    
+}
@@ -0,0 +1,13 @@
+package com.br.factory.dto.production;
+
+public record MaterialBottleneck(
+    Long rawMaterialCode,
+    String rawMaterialName,
+    Integer stockQuantity,
+    Double consumedQuantity,
+    Double slack,
+    Boolean binding,
+    Double shadowPrice
+) {
+    
+}
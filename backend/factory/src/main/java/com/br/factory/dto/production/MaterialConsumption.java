@@ -0,0 +1,8 @@
+package com.br.factory.dto.production;
+
+public record MaterialConsumption(
+    Long rawMaterialCode,
+    Integer quantityConsumed
+) {
+    
+}
@@ -0,0 +1,13 @@
+package com.br.factory.dto.production;
+
+public record PresolveSummary(
+    Integer productsBefore,
+    Integer productsAfter,
+    Integer productsWithoutComposition,
+    Integer duplicateProducts,
+    Integer dominatedProducts,
+    Integer rawMaterialsBefore,
+    Integer rawMaterialsAfter
+) {
+    
+}
@@ -0,0 +1,11 @@
+package com.br.factory.dto.production;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record ProductionCommitItem(
+    @NotNull(message = "Product code is required") Long productCode,
+    @NotNull(message = "Quantity is required") @Positive(message = "Quantity must be positive") Integer quantityToProduce
+) {
+    
+}
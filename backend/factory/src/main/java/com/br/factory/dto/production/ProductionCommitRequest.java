@@ -0,0 +1,15 @@
+package com.br.factory.dto.production;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record ProductionCommitRequest(
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 5000, message = "At most 5000 items can be committed at once")
+    @Valid List<ProductionCommitItem> items
+) {
+    
+}
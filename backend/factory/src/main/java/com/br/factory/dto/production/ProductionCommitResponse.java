@@ -0,0 +1,11 @@
+package com.br.factory.dto.production;
+
+import java.util.List;
+
+public record ProductionCommitResponse(
+    Integer itemCount,
+    Double totalValue,
+    List<MaterialConsumption> consumedMaterials
+) {
+    
+}
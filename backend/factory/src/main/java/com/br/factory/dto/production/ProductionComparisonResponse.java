@@ -0,0 +1,10 @@
+package com.br.factory.dto.production;
+
+import java.util.List;
+
+public record ProductionComparisonResponse(
+    List<StrategyComparison> strategies,
+    PresolveSummary presolve
+) {
+    
+}
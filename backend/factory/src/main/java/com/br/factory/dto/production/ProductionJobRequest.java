@@ -0,0 +1,12 @@
+package com.br.factory.dto.production;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record ProductionJobRequest(
+    String strategy,
+    @Positive(message = "Time budget must be positive") Long timeBudgetMs,
+    @PositiveOrZero(message = "Max iterations must be a positive number or zero") Long maxIterations
+) {
+    
+}
@@ -0,0 +1,19 @@
+package com.br.factory.dto.production;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductionJobResponse(
+    String id,
+    ProductionJobStatus status,
+    String strategy,
+    Long timeBudgetMs,
+    Instant submittedAt,
+    Instant startedAt,
+    Instant finishedAt,
+    String error
+) {
+    
+}
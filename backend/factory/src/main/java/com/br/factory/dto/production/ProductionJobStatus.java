@@ -0,0 +1,9 @@
+package com.br.factory.dto.production;
+
+public enum ProductionJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,15 @@
+package com.br.factory.dto.production;
+
+public record ProductionStatsResponse(
+    Long catalogVersion,
+    Long suggestionRequests,
+    Long suggestionComputations,
+    Long coalescedRequests,
+    Integer inFlightComputations,
+    Long cacheHits,
+    Long cacheMisses,
+    Long cacheEvictions,
+    Integer cacheSize
+) {
+    
+}
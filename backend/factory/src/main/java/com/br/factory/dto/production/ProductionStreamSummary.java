@@ -0,0 +1,15 @@
+package com.br.factory.dto.production;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductionStreamSummary(
+    Integer itemCount,
+    Double totalValue,
+    String message,
+    String strategy,
+    Double optimalityGap,
+    PresolveSummary presolve
+) {
+    
+}
@@ -2,10 +2,19 @@ package com.br.factory.dto.production;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ProductionSuggestionResponse(
     List<ProductionItem> suggestions,
     Double totalValue,
-    String message
+    String message,
+    String strategy,
+    Double optimalityGap,
+    PresolveSummary presolve
 ) {
-    
+
+    public ProductionSuggestionResponse(List<ProductionItem> suggestions, Double totalValue, String message) {
+        this(suggestions, totalValue, message, null, null, null);
+    }
 }
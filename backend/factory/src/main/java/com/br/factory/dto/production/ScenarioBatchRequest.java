@@ -0,0 +1,17 @@
+package com.br.factory.dto.production;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record ScenarioBatchRequest(
+    String strategy,
+    Long timeBudgetMs,
+    @NotEmpty(message = "At least one scenario is required")
+    @Size(max = 100, message = "At most 100 scenarios can be evaluated at once")
+    @Valid List<ScenarioRequest> scenarios
+) {
+    
+}
@@ -0,0 +1,11 @@
+package com.br.factory.dto.production;
+
+import java.util.List;
+
+public record ScenarioBatchResponse(
+    String strategy,
+    Double baselineTotalValue,
+    List<ScenarioResult> scenarios
+) {
+    
+}
@@ -0,0 +1,13 @@
+package com.br.factory.dto.production;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+
+public record ScenarioRequest(
+    String name,
+    @Valid List<StockDelta> stockDeltas,
+    @Valid List<ValueOverride> valueOverrides
+) {
+    
+}
@@ -0,0 +1,17 @@
+package com.br.factory.dto.production;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ScenarioResult(
+    String name,
+    List<ProductionItem> suggestions,
+    Double totalValue,
+    Double valueChange,
+    String message,
+    Double optimalityGap
+) {
+    
+}
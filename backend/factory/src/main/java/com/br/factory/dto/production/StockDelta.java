@@ -0,0 +1,10 @@
+package com.br.factory.dto.production;
+
+import jakarta.validation.constraints.NotNull;
+
+public record StockDelta(
+    @NotNull(message = "Raw material code is required") Long rawMaterialCode,
+    @NotNull(message = "Delta is required") Integer delta
+) {
+    
+}
@@ -0,0 +1,15 @@
+package com.br.factory.dto.production;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StrategyComparison(
+    String strategy,
+    Double totalValue,
+    Integer itemCount,
+    Double wallTimeMs,
+    Long allocatedBytes,
+    Double optimalityGap
+) {
+    
+}
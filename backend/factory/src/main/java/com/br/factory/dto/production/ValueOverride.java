@@ -0,0 +1,11 @@
+package com.br.factory.dto.production;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record ValueOverride(
+    @NotNull(message = "Product code is required") Long productCode,
+    @NotNull(message = "Value is required") @PositiveOrZero(message = "Value must be a positive number or zero") Double value
+) {
+    
+}
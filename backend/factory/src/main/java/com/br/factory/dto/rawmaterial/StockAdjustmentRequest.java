@@ -0,0 +1,15 @@
+package com.br.factory.dto.rawmaterial;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record StockAdjustmentRequest(
+    @NotEmpty(message = "At least one adjustment is required")
+    @Size(max = 10000, message = "At most 10000 adjustments can be applied at once")
+    @Valid List<StockAdjustment> adjustments
+) {
+    
+}
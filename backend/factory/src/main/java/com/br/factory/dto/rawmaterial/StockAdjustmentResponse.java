@@ -0,0 +1,16 @@
+package com.br.factory.dto.rawmaterial;
+
+import java.util.List;
+
+/**
+ * Results in request order, one per line. {@code applied} and
+ * {@code rejected} count lines, so a material with several lines counts once
+ * per line, all on the same side.
+ */
+public record StockAdjustmentResponse(
+    Integer applied,
+    Integer rejected,
+    List<StockAdjustmentResult> results
+) {
+    
+}
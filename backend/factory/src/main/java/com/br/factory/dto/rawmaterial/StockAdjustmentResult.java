@@ -0,0 +1,16 @@
+package com.br.factory.dto.rawmaterial;
+
+/**
+ * Outcome of one adjustment line. Lines for the same raw material are netted
+ * and checked together, so every line of a material carries the same status,
+ * decided by {@code netDelta}, the sum of that material's deltas in the
+ * request; a line is never applied or rejected on its own delta.
+ */
+public record StockAdjustmentResult(
+    Long rawMaterialCode,
+    Integer delta,
+    Long netDelta,
+    StockAdjustmentStatus status
+) {
+    
+}
@@ -0,0 +1,8 @@
+package com.br.factory.dto.rawmaterial;
+
+public enum StockAdjustmentStatus {
+    APPLIED,
+    OUT_OF_RANGE,
+    RESERVED,
+    NOT_FOUND
+}
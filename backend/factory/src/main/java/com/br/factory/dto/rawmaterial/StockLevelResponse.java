@@ -0,0 +1,11 @@
+package com.br.factory.dto.rawmaterial;
+
+import java.time.Instant;
+
+public record StockLevelResponse(
+    Long rawMaterialCode,
+    Long quantity,
+    Instant at
+) {
+    
+}
@@ -0,0 +1,25 @@
+package com.br.factory.dto.rawmaterial;
+
+import java.time.Instant;
+
+import com.br.factory.entity.StockMovement;
+import com.br.factory.entity.StockMovementReason;
+
+public record StockMovementResponse(
+    Long id,
+    Long rawMaterialCode,
+    Integer delta,
+    StockMovementReason reason,
+    Instant createdAt
+) {
+    
+    public static StockMovementResponse fromEntity(StockMovement movement) {
+        return new StockMovementResponse(
+            movement.getId(),
+            movement.getRawMaterialCode(),
+            movement.getDelta(),
+            movement.getReason(),
+            movement.getCreatedAt()
+        );
+    }
+}
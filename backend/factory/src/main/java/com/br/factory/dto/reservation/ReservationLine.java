@@ -0,0 +1,11 @@
+package com.br.factory.dto.reservation;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record ReservationLine(
+    @NotNull(message = "Raw material code is required") Long rawMaterialCode,
+    @NotNull(message = "Quantity is required") @Positive(message = "Quantity must be positive") Integer quantity
+) {
+    
+}
@@ -0,0 +1,22 @@
+package com.br.factory.dto.reservation;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record ReservationRequest(
+    @NotBlank(message = "Order id is required") @Size(max = 100, message = "Order id must have at most 100 characters") String orderId,
+    @NotNull(message = "Time to live is required")
+    @Positive(message = "Time to live must be positive")
+    @Max(value = 86400, message = "Time to live must be at most 86400 seconds")
+    Long ttlSeconds,
+    @NotEmpty(message = "At least one line is required") @Valid List<ReservationLine> lines
+) {
+    
+}
@@ -0,0 +1,21 @@
+package com.br.factory.dto.reservation;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.br.factory.service.StockHold;
+
+public record ReservationResponse(
+    String orderId,
+    Instant expiresAt,
+    List<ReservationLine> lines
+) {
+    
+    public static ReservationResponse fromHold(StockHold hold) {
+        List<ReservationLine> lines = hold.quantities().entrySet().stream()
+            .map(entry -> new ReservationLine(entry.getKey(), entry.getValue()))
+            .toList();
+
+        return new ReservationResponse(hold.orderId(), hold.expiresAt(), lines);
+    }
+}
@@ -1,18 +1,24 @@
 package com.br.factory.entity;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "product_compositions")
 public class ProductComposition {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_compositions_generator")
+    @SequenceGenerator(name = "product_compositions_generator", sequenceName = "product_compositions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -25,6 +31,11 @@ public class ProductComposition {
 
     private Integer quantityRequired;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public ProductComposition() {
     }
 
@@ -65,7 +76,13 @@ public class ProductComposition {
 
     public void setQuantityRequired(Integer quantityRequired) {
         this.quantityRequired = quantityRequired;
-    } 
+    }
 
-    
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -1,26 +1,56 @@
 package com.br.factory.entity;
 
+import org.hibernate.annotations.Check;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Formula;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
+/**
+ * A raw material and its stock. The stock lives in the stock ledger: the
+ * {@code stock_quantity} column only holds what the last compaction folded
+ * in, and the current stock adds the movements recorded since. Stock
+ * writers append movements and never update this row, so the
+ * {@linkplain #getRevision() revision} also counts the movements.
+ */
 @Entity
 @Table(name = "raw_materials")
+@Check(name = "ck_raw_materials_stock_non_negative", constraints = "stock_quantity >= 0")
 public class RawMaterial {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raw_materials_generator")
+    @SequenceGenerator(name = "raw_materials_generator", sequenceName = "raw_materials_seq", allocationSize = 50)
     private Long code;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private Integer stockQuantity;
 
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long foldedMovements;
+
+    @Formula("(select coalesce(sum(m.delta), 0) from stock_movements m where m.raw_material_code = code and not m.compacted)")
+    private Long unfoldedStock;
+
+    @Formula("(select count(*) from stock_movements m where m.raw_material_code = code and not m.compacted)")
+    private Long unfoldedMovements;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public RawMaterial() {
     }
 
@@ -44,11 +74,23 @@ public class RawMaterial {
     }
 
     public Integer getStockQuantity() {
-        return stockQuantity;
+        if (stockQuantity == null || unfoldedStock == null) {
+            return stockQuantity;
+        }
+        return (int) (stockQuantity + unfoldedStock);
     }
 
+    /**
+     * Sets the stock a new material opens with. The stock of a stored
+     * material changes through the ledger; this only keeps the entity in
+     * step with a movement already recorded.
+     */
     public void setStockQuantity(Integer stockQuantity) {
-        this.stockQuantity = stockQuantity;
+        if (code == null || this.stockQuantity == null) {
+            this.stockQuantity = stockQuantity;
+        } else {
+            unfoldedStock = (long) stockQuantity - this.stockQuantity;
+        }
     }
 
     public Long getCode() {
@@ -59,5 +101,24 @@ public class RawMaterial {
         this.code = code;
     }
 
-    
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * The row version plus every stock movement recorded against the
+     * material, folded or not, so it grows with each change of either.
+     */
+    public Long getRevision() {
+        if (version == null) {
+            return null;
+        }
+        return version
+            + (foldedMovements != null ? foldedMovements : 0L)
+            + (unfoldedMovements != null ? unfoldedMovements : 0L);
+    }
 }
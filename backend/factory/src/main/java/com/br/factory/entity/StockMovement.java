@@ -0,0 +1,106 @@
+package com.br.factory.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "stock_movements", indexes = {
+    @Index(name = "idx_stock_movements_material_time", columnList = "rawMaterialCode, createdAt"),
+    @Index(name = "idx_stock_movements_material_compacted", columnList = "rawMaterialCode, compacted"),
+    @Index(name = "idx_stock_movements_time", columnList = "createdAt")
+})
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movements_generator")
+    @SequenceGenerator(name = "stock_movements_generator", sequenceName = "stock_movements_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long rawMaterialCode;
+
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StockMovementReason reason;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @ColumnDefault("true")
+    @Column(nullable = false)
+    private Boolean compacted;
+
+    public StockMovement() {
+    }
+
+    public StockMovement(Long rawMaterialCode, Integer delta, StockMovementReason reason, Instant createdAt, Boolean compacted) {
+        this.rawMaterialCode = rawMaterialCode;
+        this.delta = delta;
+        this.reason = reason;
+        this.createdAt = createdAt;
+        this.compacted = compacted;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getRawMaterialCode() {
+        return rawMaterialCode;
+    }
+
+    public void setRawMaterialCode(Long rawMaterialCode) {
+        this.rawMaterialCode = rawMaterialCode;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    public StockMovementReason getReason() {
+        return reason;
+    }
+
+    public void setReason(StockMovementReason reason) {
+        this.reason = reason;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Boolean getCompacted() {
+        return compacted;
+    }
+
+    public void setCompacted(Boolean compacted) {
+        this.compacted = compacted;
+    }
+}
@@ -0,0 +1,8 @@
+package com.br.factory.entity;
+
+public enum StockMovementReason {
+    OPENING,
+    CORRECTION,
+    ADJUSTMENT,
+    PRODUCTION
+}
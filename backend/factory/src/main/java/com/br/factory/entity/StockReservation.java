@@ -0,0 +1,84 @@
+package com.br.factory.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "stock_reservations", indexes = @Index(name = "idx_stock_reservations_order", columnList = "orderId"))
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservations_generator")
+    @SequenceGenerator(name = "stock_reservations_generator", sequenceName = "stock_reservations_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String orderId;
+
+    @Column(nullable = false)
+    private Long rawMaterialCode;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public StockReservation() {
+    }
+
+    public StockReservation(String orderId, Long rawMaterialCode, Integer quantity, Instant expiresAt) {
+        this.orderId = orderId;
+        this.rawMaterialCode = rawMaterialCode;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getRawMaterialCode() {
+        return rawMaterialCode;
+    }
+
+    public void setRawMaterialCode(Long rawMaterialCode) {
+        this.rawMaterialCode = rawMaterialCode;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
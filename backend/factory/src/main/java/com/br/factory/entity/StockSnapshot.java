@@ -0,0 +1,75 @@
+package com.br.factory.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "stock_snapshots", indexes = {
+    @Index(name = "idx_stock_snapshots_material_covered", columnList = "rawMaterialCode, coveredUntil"),
+    @Index(name = "idx_stock_snapshots_covered", columnList = "coveredUntil")
+})
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_snapshots_generator")
+    @SequenceGenerator(name = "stock_snapshots_generator", sequenceName = "stock_snapshots_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long rawMaterialCode;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false)
+    private Instant coveredUntil;
+
+    public StockSnapshot() {
+    }
+
+    public StockSnapshot(Long rawMaterialCode, Long quantity, Instant coveredUntil) {
+        this.rawMaterialCode = rawMaterialCode;
+        this.quantity = quantity;
+        this.coveredUntil = coveredUntil;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getRawMaterialCode() {
+        return rawMaterialCode;
+    }
+
+    public void setRawMaterialCode(Long rawMaterialCode) {
+        this.rawMaterialCode = rawMaterialCode;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Long quantity) {
+        this.quantity = quantity;
+    }
+
+    public Instant getCoveredUntil() {
+        return coveredUntil;
+    }
+
+    public void setCoveredUntil(Instant coveredUntil) {
+        this.coveredUntil = coveredUntil;
+    }
+}
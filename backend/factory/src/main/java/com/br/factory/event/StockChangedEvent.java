@@ -0,0 +1,7 @@
+package com.br.factory.event;
+
+import java.util.Set;
+
+public record StockChangedEvent(Set<Long> rawMaterialCodes) {
+    
+}
@@ -0,0 +1,17 @@
+package com.br.factory.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyRequestsException extends ApiException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
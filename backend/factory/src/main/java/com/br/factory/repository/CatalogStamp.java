@@ -0,0 +1,51 @@
+package com.br.factory.repository;
+
+/**
+ * Fingerprint of the catalog tables: per table the row count, the highest
+ * key and a content hash. The hash sums a nonlinear hash of each row's key
+ * and version modulo the prime 2^61 - 1, so it does not depend on row order
+ * and two reads of the same rows give the same stamp. Every write bumps the
+ * version of the row it touches, so any committed insert, update or delete
+ * changes it, without writers sharing a counter. Unlike plain sums of keys
+ * and versions, two changes that cancel out, such as one row gaining a
+ * version and another losing one or a key replaced by another with the same
+ * sum, do not leave the stamp as it was.
+ */
+public record CatalogStamp(TableStamp products, TableStamp compositions, TableStamp rawMaterials) {
+
+    public static final long HASH_MODULUS = (1L << 61) - 1;
+    public static final long HASH_MULTIPLIER = 1_442_695_040_888_963_407L;
+
+    public record TableStamp(long rows, long maxKey, long hash) {
+
+        public static final TableStamp EMPTY = new TableStamp(0, 0, 0);
+
+        public TableStamp with(long key, Long version) {
+            long rowHash = rowHash(key, version != null ? version : 0L);
+            long sum = hash + rowHash;
+            return new TableStamp(rows + 1, Math.max(maxKey, key), sum >= HASH_MODULUS ? sum - HASH_MODULUS : sum);
+        }
+
+        /**
+         * x * x mod p for x = (key * multiplier + version) mod p, the same
+         * arithmetic {@link CatalogStampRepository} runs in SQL.
+         */
+        static long rowHash(long key, long version) {
+            long x = multiplyMod(Math.floorMod(key, HASH_MODULUS), HASH_MULTIPLIER) + Math.floorMod(version, HASH_MODULUS);
+            if (x >= HASH_MODULUS) {
+                x -= HASH_MODULUS;
+            }
+            return multiplyMod(x, x);
+        }
+
+        private static long multiplyMod(long a, long b) {
+            long high = Math.multiplyHigh(a, b);
+            long low = a * b;
+            long folded = ((high << 3) | (low >>> 61)) + (low & HASH_MODULUS);
+            while (folded >= HASH_MODULUS) {
+                folded -= HASH_MODULUS;
+            }
+            return folded;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.br.factory.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.br.factory.repository.CatalogStamp.TableStamp;
+
+/**
+ * Reads the {@link CatalogStamp} of the products, compositions and raw
+ * materials in one statement, so the three tables are read at the same
+ * point in time. Nothing is written: each table aggregates the version
+ * column its own writers bump, hashing every row in {@code numeric} so the
+ * products cannot overflow. Stock writers append ledger movements instead
+ * of updating raw material rows, so a raw material's version is its
+ * revision: the row version plus every movement recorded against it. When a
+ * stamp differs, the per-row versions tell which rows changed.
+ */
+@Repository
+public class CatalogStampRepository {
+
+    private static final String RAW_MATERIAL_REVISION = """
+        r.version + r.folded_movements + (
+            select count(*) from stock_movements m
+            where m.raw_material_code = r.code and m.compacted = false
+        )""";
+
+    private static final String HASH = "mod(cast(%s as numeric(38)) * " + CatalogStamp.HASH_MULTIPLIER + " + %s, "
+        + CatalogStamp.HASH_MODULUS + ")";
+
+    private static final String TABLE_STAMP = "count(*), coalesce(max(k), 0), coalesce(mod(sum(mod(x * x, "
+        + CatalogStamp.HASH_MODULUS + ")), " + CatalogStamp.HASH_MODULUS + "), 0)";
+
+    private static final String CURRENT = """
+        select 0 as part, %1$s from (select code as k, %2$s as x from products) t
+        union all
+        select 1 as part, %1$s from (select id as k, %3$s as x from product_compositions) t
+        union all
+        select 2 as part, %1$s from (select r.code as k, %4$s as x from raw_materials r) t
+        order by part
+        """.formatted(
+            TABLE_STAMP,
+            HASH.formatted("code", "version"),
+            HASH.formatted("id", "version"),
+            HASH.formatted("r.code", RAW_MATERIAL_REVISION)
+        );
+
+    private static final String COMPOSITION_STAMPS = """
+        select p, %s from (select product_code as p, id as k, %s as x from product_compositions) t
+        group by p
+        """.formatted(TABLE_STAMP, HASH.formatted("id", "version"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogStampRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public CatalogStamp current() {
+        List<TableStamp> tables = jdbcTemplate.query(
+            CURRENT,
+            (rs, rowNum) -> new TableStamp(rs.getLong(2), rs.getLong(3), rs.getLong(4))
+        );
+        return new CatalogStamp(tables.get(0), tables.get(1), tables.get(2));
+    }
+
+    public Map<Long, Long> productVersions() {
+        return versions("select code, version from products");
+    }
+
+    public Map<Long, Long> rawMaterialVersions() {
+        return versions("select r.code, " + RAW_MATERIAL_REVISION + " from raw_materials r");
+    }
+
+    public Map<Long, TableStamp> compositionStamps() {
+        Map<Long, TableStamp> stamps = new HashMap<>();
+        jdbcTemplate.query(
+            COMPOSITION_STAMPS,
+            (rs, rowNum) -> Map.entry(rs.getLong(1), new TableStamp(rs.getLong(2), rs.getLong(3), rs.getLong(4)))
+        ).forEach(entry -> stamps.put(entry.getKey(), entry.getValue()));
+        return stamps;
+    }
+
+    private Map<Long, Long> versions(String sql) {
+        Map<Long, Long> versions = new HashMap<>();
+        jdbcTemplate.query(sql, (rs, rowNum) -> Map.entry(rs.getLong(1), rs.getLong(2)))
+            .forEach(entry -> versions.put(entry.getKey(), entry.getValue()));
+        return versions;
+    }
+}
@@ -0,0 +1,5 @@
+package com.br.factory.repository;
+
+public record MaterialDelta(Long rawMaterialCode, Long delta) {
+    
+}
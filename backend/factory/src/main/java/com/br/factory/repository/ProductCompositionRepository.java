@@ -2,6 +2,7 @@ package com.br.factory.repository;
 
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,7 +11,9 @@ import com.br.factory.entity.ProductComposition;
 @Repository
 public interface ProductCompositionRepository extends JpaRepository<ProductComposition, Long>{
     
+    @EntityGraph(attributePaths = { "product", "rawMaterial" })
     List<ProductComposition> findByProductCode(Long productCode);
     
+    @EntityGraph(attributePaths = { "product", "rawMaterial" })
     List<ProductComposition> findByRawMaterialCode(Long rawMaterialCode);
 }
@@ -1,6 +1,12 @@
 package com.br.factory.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.br.factory.entity.Product;
@@ -8,4 +14,17 @@ import com.br.factory.entity.Product;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
+    @Query("""
+        select p from Product p
+        left join fetch p.compositions c
+        left join fetch c.rawMaterial
+        order by p.code
+        """)
+    List<Product> findAllWithCompositions();
+
+    @EntityGraph(attributePaths = { "compositions", "compositions.rawMaterial" })
+    Optional<Product> findWithCompositionsByCode(Long code);
+
+    @EntityGraph(attributePaths = { "compositions", "compositions.rawMaterial" })
+    List<Product> findByCodeInOrderByCode(Collection<Long> codes);
 }
@@ -1,6 +1,9 @@
 package com.br.factory.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.br.factory.entity.RawMaterial;
@@ -8,4 +11,10 @@ import com.br.factory.entity.RawMaterial;
 @Repository
 public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long>{
     
+    @Query("""
+        select r from RawMaterial r
+        where not exists (select 1 from StockMovement m where m.rawMaterialCode = r.code)
+        and not exists (select 1 from StockSnapshot s where s.rawMaterialCode = r.code)
+        """)
+    List<RawMaterial> findWithoutStockLedger();
 }
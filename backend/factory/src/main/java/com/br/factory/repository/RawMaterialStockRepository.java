@@ -0,0 +1,128 @@
+package com.br.factory.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads and folds the stock kept in the stock ledger. A material's stock is
+ * the quantity folded into its row by the last compaction plus the movements
+ * recorded since, so stock writers only append movements and never update
+ * the row. A deduction still needs the stock it checks to hold until it
+ * commits, so it first locks the materials it draws from, in code order, for
+ * the rest of the transaction: an advisory lock on PostgreSQL, which leaves
+ * the row alone, and a row lock elsewhere. Restocking takes no lock.
+ */
+@Repository
+public class RawMaterialStockRepository {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final int STOCK_LOCK_CLASS = 0x5354;
+
+    private static final String CURRENT_STOCK = """
+        select r.code, r.stock_quantity + (
+            select coalesce(sum(m.delta), 0) from stock_movements m
+            where m.raw_material_code = r.code and m.compacted = false
+        )
+        from raw_materials r where r.code in (%s)
+        """;
+
+    private static final String FOLD_STOCK = """
+        update raw_materials
+        set stock_quantity = stock_quantity + ?, folded_movements = folded_movements + ?
+        where code = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgresql;
+
+    public RawMaterialStockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void lock(List<Long> codes) {
+        if (codes.isEmpty()) {
+            return;
+        }
+
+        List<Long> sorted = new ArrayList<>(codes);
+        Collections.sort(sorted);
+        if (isPostgresql()) {
+            for (Long code : sorted) {
+                jdbcTemplate.queryForList("select pg_advisory_xact_lock(?, ?)", STOCK_LOCK_CLASS, code.intValue());
+            }
+        } else {
+            jdbcTemplate.queryForList(
+                "select code from raw_materials where code in (" + placeholders(sorted.size()) + ") order by code for update",
+                Long.class,
+                sorted.toArray()
+            );
+        }
+    }
+
+    public Map<Long, Long> currentStock(Collection<Long> codes) {
+        Map<Long, Long> stock = new HashMap<>(codes.size() * 2);
+        if (codes.isEmpty()) {
+            return stock;
+        }
+
+        jdbcTemplate.query(
+            CURRENT_STOCK.formatted(placeholders(codes.size())),
+            (rs, rowNum) -> Map.entry(rs.getLong(1), rs.getLong(2)),
+            codes.toArray()
+        ).forEach(entry -> stock.put(entry.getKey(), entry.getValue()));
+        return stock;
+    }
+
+    /**
+     * Folds every committed movement not folded yet into its material's row
+     * and marks it compacted, in the caller's transaction, so readers see
+     * the same stock before and after. Returns the number of movements
+     * folded.
+     */
+    public int fold() {
+        List<long[]> movements = jdbcTemplate.query(
+            "select id, raw_material_code, delta from stock_movements where compacted = false",
+            (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) }
+        );
+        if (movements.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, long[]> folded = new TreeMap<>();
+        List<Object[]> ids = new ArrayList<>(movements.size());
+        for (long[] movement : movements) {
+            ids.add(new Object[] { movement[0] });
+            long[] total = folded.computeIfAbsent(movement[1], code -> new long[2]);
+            total[0] += movement[2];
+            total[1]++;
+        }
+
+        List<Object[]> rows = new ArrayList<>(folded.size());
+        folded.forEach((code, total) -> rows.add(new Object[] { total[0], total[1], code }));
+        jdbcTemplate.batchUpdate("update stock_movements set compacted = true where id = ?", ids);
+        jdbcTemplate.batchUpdate(FOLD_STOCK, rows);
+        return movements.size();
+    }
+
+    private boolean isPostgresql() {
+        if (postgresql == null) {
+            postgresql = POSTGRESQL.equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+            ));
+        }
+        return postgresql;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
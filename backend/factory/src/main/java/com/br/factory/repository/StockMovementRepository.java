@@ -0,0 +1,32 @@
+package com.br.factory.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.br.factory.entity.StockMovement;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    List<StockMovement> findByRawMaterialCodeAndIdGreaterThanOrderById(Long rawMaterialCode, Long after, Limit limit);
+
+    @Query("""
+        select coalesce(sum(m.delta), 0) from StockMovement m
+        where m.rawMaterialCode = :code and m.createdAt >= :from and m.createdAt <= :to
+        """)
+    long sumDeltas(@Param("code") Long code, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("""
+        select new com.br.factory.repository.MaterialDelta(m.rawMaterialCode, sum(m.delta))
+        from StockMovement m
+        where m.createdAt >= :from and m.createdAt < :to
+        group by m.rawMaterialCode
+        """)
+    List<MaterialDelta> sumDeltasByMaterial(@Param("from") Instant from, @Param("to") Instant to);
+}
@@ -0,0 +1,23 @@
+package com.br.factory.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.br.factory.entity.StockReservation;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    List<StockReservation> findByExpiresAtAfter(Instant now);
+
+    @Modifying
+    @Query("delete from StockReservation r where r.orderId in :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<String> orderIds);
+}
@@ -0,0 +1,32 @@
+package com.br.factory.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.br.factory.entity.StockSnapshot;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findFirstByRawMaterialCodeAndCoveredUntilLessThanEqualOrderByCoveredUntilDesc(
+        Long rawMaterialCode,
+        Instant at
+    );
+
+    @Query("select max(s.coveredUntil) from StockSnapshot s")
+    Optional<Instant> findLatestCoveredUntil();
+
+    @Query("""
+        select s from StockSnapshot s
+        where s.rawMaterialCode in :codes
+        and s.coveredUntil = (select max(l.coveredUntil) from StockSnapshot l where l.rawMaterialCode = s.rawMaterialCode)
+        """)
+    List<StockSnapshot> findLatestByRawMaterialCodeIn(@Param("codes") Collection<Long> codes);
+}
@@ -0,0 +1,522 @@
+package com.br.factory.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import com.br.factory.dto.page.CursorPage;
+import com.br.factory.dto.product.ProductResponse;
+import com.br.factory.dto.productcomposition.ProductCompositionResponse;
+import com.br.factory.dto.rawmaterial.RawMaterialResponse;
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.repository.CatalogStamp;
+import com.br.factory.repository.CatalogStamp.TableStamp;
+import com.br.factory.service.production.CompiledCatalog;
+
+/**
+ * Immutable version of the products, their compositions and the raw
+ * materials. Rows are kept sorted by code, so lookups and keyset pages are
+ * binary searches that need no lock. {@link #next} builds the following
+ * version from the rows it is given and shares every other row with this
+ * one; when only stock moved, the compiled catalog keeps all of its arrays
+ * but the stock. Rows keep the version they were read at, so a snapshot
+ * knows its {@link #stamp}; it equals the stamp of the database exactly when
+ * the snapshot holds every row as committed.
+ */
+public final class CatalogSnapshot {
+
+    private final Rows<ProductRow> products;
+    private final Rows<RawMaterialResponse> rawMaterials;
+    private final Rows<Long> rawMaterialVersions;
+    private volatile CompiledCatalog catalog;
+    private volatile CatalogStamp stamp;
+
+    private CatalogSnapshot(
+        Rows<ProductRow> products,
+        Rows<RawMaterialResponse> rawMaterials,
+        Rows<Long> rawMaterialVersions,
+        CompiledCatalog catalog
+    ) {
+        this.products = products;
+        this.rawMaterials = rawMaterials;
+        this.rawMaterialVersions = rawMaterialVersions;
+        this.catalog = catalog;
+    }
+
+    public static CatalogSnapshot of(List<Product> products, List<RawMaterial> rawMaterials) {
+        return new CatalogSnapshot(new Rows<>(), new Rows<>(), new Rows<>(), null)
+            .next(List.of(), products, List.of(), rawMaterials);
+    }
+
+    static CatalogSnapshot restore(
+        long[] productCodes,
+        List<ProductRow> products,
+        long[] materialCodes,
+        List<RawMaterialResponse> rawMaterials,
+        long[] materialVersions,
+        CompiledCatalog catalog
+    ) {
+        Long[] versions = new Long[materialVersions.length];
+        for (int material = 0; material < versions.length; material++) {
+            versions[material] = materialVersions[material];
+        }
+        return new CatalogSnapshot(
+            new Rows<>(productCodes, products.toArray()),
+            new Rows<>(materialCodes, rawMaterials.toArray()),
+            new Rows<>(materialCodes, versions),
+            catalog
+        );
+    }
+
+    /**
+     * The version after the given rows were reloaded. A code listed in
+     * {@code productCodes} or
+     * {@code rawMaterialCodes} without a loaded row is removed; the raw
+     * materials of the loaded products are refreshed too.
+     */
+    public CatalogSnapshot next(
+        Collection<Long> productCodes,
+        List<Product> loadedProducts,
+        Collection<Long> rawMaterialCodes,
+        List<RawMaterial> loadedRawMaterials
+    ) {
+        NavigableMap<Long, ProductRow> productChanges = new TreeMap<>();
+        NavigableMap<Long, RawMaterialResponse> rawMaterialChanges = new TreeMap<>();
+        NavigableMap<Long, Long> versionChanges = new TreeMap<>();
+        productCodes.forEach(code -> productChanges.put(code, null));
+        rawMaterialCodes.forEach(code -> {
+            rawMaterialChanges.put(code, null);
+            versionChanges.put(code, null);
+        });
+
+        for (RawMaterial rawMaterial : loadedRawMaterials) {
+            rawMaterialChanges.put(rawMaterial.getCode(), RawMaterialResponse.fromEntity(rawMaterial));
+            versionChanges.put(rawMaterial.getCode(), versionOf(rawMaterial.getRevision()));
+        }
+        for (Product product : loadedProducts) {
+            productChanges.put(product.getCode(), ProductRow.fromEntity(product));
+            for (ProductComposition composition : product.getCompositions()) {
+                RawMaterial rawMaterial = composition.getRawMaterial();
+                rawMaterialChanges.put(rawMaterial.getCode(), RawMaterialResponse.fromEntity(rawMaterial));
+                versionChanges.put(rawMaterial.getCode(), versionOf(rawMaterial.getRevision()));
+            }
+        }
+
+        Rows<RawMaterialResponse> nextRawMaterials = rawMaterials.with(rawMaterialChanges);
+        CompiledCatalog compiled = catalog;
+        CompiledCatalog nextCatalog = compiled != null && productChanges.isEmpty() && onlyStockChanged(rawMaterialChanges)
+            ? compiled.withStock(stock(nextRawMaterials))
+            : null;
+
+        return new CatalogSnapshot(
+            products.with(productChanges),
+            nextRawMaterials,
+            rawMaterialVersions.with(versionChanges),
+            nextCatalog
+        );
+    }
+
+    public CatalogStamp stamp() {
+        CatalogStamp computed = stamp;
+        if (computed == null) {
+            computed = computeStamp();
+            stamp = computed;
+        }
+        return computed;
+    }
+
+    /**
+     * Codes of the products whose row or compositions are not at the given
+     * versions, including products only one side has.
+     */
+    public Set<Long> staleProducts(Map<Long, Long> productVersions, Map<Long, TableStamp> compositionStamps) {
+        Set<Long> stale = new HashSet<>();
+        for (ProductRow product : products.all()) {
+            if (!product.version().equals(productVersions.get(product.code()))
+                || !compositionStamp(product).equals(compositionStamps.getOrDefault(product.code(), TableStamp.EMPTY))) {
+                stale.add(product.code());
+            }
+        }
+        for (Long code : productVersions.keySet()) {
+            if (products.find(code) == null) {
+                stale.add(code);
+            }
+        }
+        for (Long code : compositionStamps.keySet()) {
+            if (products.find(code) == null) {
+                stale.add(code);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Codes of the raw materials not at the given versions, including raw
+     * materials only one side has.
+     */
+    public Set<Long> staleRawMaterials(Map<Long, Long> versions) {
+        Set<Long> stale = new HashSet<>();
+        for (int material = 0; material < rawMaterials.size(); material++) {
+            Long code = rawMaterials.get(material).code();
+            if (!rawMaterialVersions.get(material).equals(versions.get(code))) {
+                stale.add(code);
+            }
+        }
+        for (Long code : versions.keySet()) {
+            if (rawMaterials.find(code) == null) {
+                stale.add(code);
+            }
+        }
+        return stale;
+    }
+
+    public Optional<ProductResponse> findProduct(long code) {
+        return Optional.ofNullable(products.find(code)).map(this::toResponse);
+    }
+
+    public List<ProductResponse> products() {
+        List<ProductResponse> responses = new ArrayList<>(products.size());
+        for (ProductRow row : products.all()) {
+            responses.add(toResponse(row));
+        }
+        return responses;
+    }
+
+    public CursorPage<ProductResponse> productPage(long after, int limit, String namePrefix) {
+        List<ProductRow> rows = products.page(after, limit + 1, namePrefix, ProductRow::name);
+        return KeysetPage.of(rows, limit, ProductRow::code).map(this::toResponse);
+    }
+
+    public Optional<RawMaterialResponse> findRawMaterial(long code) {
+        return Optional.ofNullable(rawMaterials.find(code));
+    }
+
+    public List<RawMaterialResponse> rawMaterials() {
+        return rawMaterials.all();
+    }
+
+    public CursorPage<RawMaterialResponse> rawMaterialPage(long after, int limit, String namePrefix) {
+        List<RawMaterialResponse> rows = rawMaterials.page(after, limit + 1, namePrefix, RawMaterialResponse::name);
+        return KeysetPage.of(rows, limit, RawMaterialResponse::code);
+    }
+
+    List<ProductRow> productRows() {
+        return products.all();
+    }
+
+    List<Long> rawMaterialVersions() {
+        return rawMaterialVersions.all();
+    }
+
+    public CompiledCatalog catalog() {
+        CompiledCatalog compiled = catalog;
+        if (compiled == null) {
+            compiled = compile();
+            catalog = compiled;
+        }
+        return compiled;
+    }
+
+    private boolean onlyStockChanged(Map<Long, RawMaterialResponse> rawMaterialChanges) {
+        for (Map.Entry<Long, RawMaterialResponse> change : rawMaterialChanges.entrySet()) {
+            RawMaterialResponse previous = rawMaterials.find(change.getKey());
+            if (previous == null || change.getValue() == null || !Objects.equals(previous.name(), change.getValue().name())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CatalogStamp computeStamp() {
+        TableStamp productStamp = TableStamp.EMPTY;
+        TableStamp compositionStamp = TableStamp.EMPTY;
+        for (ProductRow product : products.all()) {
+            productStamp = productStamp.with(product.code(), product.version());
+            for (CompositionRow composition : product.compositions()) {
+                compositionStamp = compositionStamp.with(composition.id() != null ? composition.id() : 0L, composition.version());
+            }
+        }
+
+        TableStamp rawMaterialStamp = TableStamp.EMPTY;
+        for (int material = 0; material < rawMaterials.size(); material++) {
+            rawMaterialStamp = rawMaterialStamp.with(rawMaterials.get(material).code(), rawMaterialVersions.get(material));
+        }
+        return new CatalogStamp(productStamp, compositionStamp, rawMaterialStamp);
+    }
+
+    private static TableStamp compositionStamp(ProductRow product) {
+        TableStamp stamp = TableStamp.EMPTY;
+        for (CompositionRow composition : product.compositions()) {
+            stamp = stamp.with(composition.id() != null ? composition.id() : 0L, composition.version());
+        }
+        return stamp;
+    }
+
+    private CompiledCatalog compile() {
+        List<RawMaterial> materialEntities = new ArrayList<>(rawMaterials.size());
+        Map<Long, RawMaterial> materialsByCode = new HashMap<>(rawMaterials.size() * 2);
+        for (RawMaterialResponse row : rawMaterials.all()) {
+            RawMaterial rawMaterial = new RawMaterial(row.code(), row.name(), row.stockQuantity());
+            materialEntities.add(rawMaterial);
+            materialsByCode.put(row.code(), rawMaterial);
+        }
+
+        List<Product> productEntities = new ArrayList<>(products.size());
+        for (ProductRow row : products.all()) {
+            Product product = new Product(row.code(), row.name(), row.value());
+            List<ProductComposition> compositions = new ArrayList<>(row.compositions().size());
+            for (CompositionRow composition : row.compositions()) {
+                compositions.add(new ProductComposition(
+                    composition.id(),
+                    product,
+                    materialsByCode.get(composition.rawMaterialCode()),
+                    composition.quantityRequired()
+                ));
+            }
+            product.setCompositions(compositions);
+            productEntities.add(product);
+        }
+
+        return CompiledCatalog.compile(productEntities, materialEntities);
+    }
+
+    private ProductResponse toResponse(ProductRow row) {
+        List<ProductCompositionResponse> compositions = new ArrayList<>(row.compositions().size());
+        for (CompositionRow composition : row.compositions()) {
+            compositions.add(new ProductCompositionResponse(
+                composition.id(),
+                rawMaterials.find(composition.rawMaterialCode()),
+                composition.quantityRequired()
+            ));
+        }
+        return new ProductResponse(row.code(), row.name(), row.value(), compositions);
+    }
+
+    private static int[] stock(Rows<RawMaterialResponse> rawMaterials) {
+        int[] stock = new int[rawMaterials.size()];
+        for (int material = 0; material < stock.length; material++) {
+            Integer quantity = rawMaterials.get(material).stockQuantity();
+            stock[material] = quantity != null ? quantity : 0;
+        }
+        return stock;
+    }
+
+    private static Long versionOf(Long version) {
+        return version != null ? version : 0L;
+    }
+
+    record ProductRow(Long code, String name, Double value, Long version, List<CompositionRow> compositions) {
+
+        static ProductRow fromEntity(Product product) {
+            List<CompositionRow> compositions = product.getCompositions().stream()
+                .map(composition -> new CompositionRow(
+                    composition.getId(),
+                    composition.getRawMaterial().getCode(),
+                    composition.getQuantityRequired(),
+                    versionOf(composition.getVersion())
+                ))
+                .toList();
+            return new ProductRow(product.getCode(), product.getName(), product.getValue(), versionOf(product.getVersion()), compositions);
+        }
+    }
+
+    record CompositionRow(Long id, Long rawMaterialCode, Integer quantityRequired, Long version) {
+    }
+
+    /**
+     * Rows sorted by code in parallel arrays. {@link #with} merges a sorted
+     * change set into a new instance, where a {@code null} row removes the
+     * code; the row objects themselves are shared. Name-prefix pages go
+     * through a {@link NameIndex} built on first use and kept across
+     * versions that rename, add and remove nothing.
+     */
+    private static final class Rows<T> {
+
+        private final long[] codes;
+        private final Object[] rows;
+        private volatile NameIndex<T> nameIndex;
+
+        Rows() {
+            this(new long[0], new Object[0]);
+        }
+
+        private Rows(long[] codes, Object[] rows) {
+            this.codes = codes;
+            this.rows = rows;
+        }
+
+        Rows<T> with(NavigableMap<Long, T> changes) {
+            if (changes.isEmpty()) {
+                return this;
+            }
+
+            long[] nextCodes = new long[codes.length + changes.size()];
+            Object[] nextRows = new Object[nextCodes.length];
+            Iterator<Map.Entry<Long, T>> pending = changes.entrySet().iterator();
+            Map.Entry<Long, T> change = pending.next();
+            int size = 0;
+            int index = 0;
+
+            while (index < codes.length || change != null) {
+                if (change == null || (index < codes.length && codes[index] < change.getKey())) {
+                    nextCodes[size] = codes[index];
+                    nextRows[size++] = rows[index++];
+                    continue;
+                }
+
+                if (index < codes.length && codes[index] == change.getKey()) {
+                    index++;
+                }
+                if (change.getValue() != null) {
+                    nextCodes[size] = change.getKey();
+                    nextRows[size++] = change.getValue();
+                }
+                change = pending.hasNext() ? pending.next() : null;
+            }
+
+            Rows<T> next = new Rows<>(Arrays.copyOf(nextCodes, size), Arrays.copyOf(nextRows, size));
+            NameIndex<T> names = nameIndex;
+            if (names != null && names.keeps(this, changes)) {
+                next.nameIndex = names;
+            }
+            return next;
+        }
+
+        T find(long code) {
+            int index = Arrays.binarySearch(codes, code);
+            return index >= 0 ? get(index) : null;
+        }
+
+        List<T> page(long after, int count, String namePrefix, Function<T, String> name) {
+            int from = Arrays.binarySearch(codes, after);
+            from = from >= 0 ? from + 1 : -from - 1;
+            if (namePrefix == null) {
+                return new ArrayList<>(all().subList(from, Math.min(codes.length, from + count)));
+            }
+
+            int[] matches = nameIndex(name).positions(namePrefix, from);
+            List<T> page = new ArrayList<>(Math.min(count, matches.length));
+            for (int match = 0; match < matches.length && page.size() < count; match++) {
+                page.add(get(matches[match]));
+            }
+            return page;
+        }
+
+        private NameIndex<T> nameIndex(Function<T, String> name) {
+            NameIndex<T> index = nameIndex;
+            if (index == null) {
+                index = new NameIndex<>(this, name);
+                nameIndex = index;
+            }
+            return index;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> all() {
+            return Collections.unmodifiableList(Arrays.asList((T[]) rows));
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int index) {
+            return (T) rows[index];
+        }
+
+        int size() {
+            return codes.length;
+        }
+    }
+
+    /**
+     * Row positions ordered by lower-cased name, then code, so the rows
+     * whose name starts with a prefix are one contiguous range found by
+     * binary search; a page only sorts that range back into code order.
+     */
+    private static final class NameIndex<T> {
+
+        private final Function<T, String> name;
+        private final String[] names;
+        private final int[] byName;
+
+        NameIndex(Rows<T> rows, Function<T, String> name) {
+            this.name = name;
+            this.names = new String[rows.size()];
+            for (int position = 0; position < names.length; position++) {
+                names[position] = lowerName(rows.get(position));
+            }
+            this.byName = IntStream.range(0, names.length)
+                .boxed()
+                .sorted((left, right) -> {
+                    int byText = names[left].compareTo(names[right]);
+                    return byText != 0 ? byText : Integer.compare(left, right);
+                })
+                .mapToInt(Integer::intValue)
+                .toArray();
+        }
+
+        /**
+         * Positions from {@code from} on whose name starts with the
+         * lower-cased {@code prefix}, in code order.
+         */
+        int[] positions(String prefix, int from) {
+            int low = 0;
+            int high = byName.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (names[byName[middle]].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            int[] positions = new int[0];
+            int size = 0;
+            for (int index = low; index < byName.length && names[byName[index]].startsWith(prefix); index++) {
+                if (byName[index] >= from) {
+                    if (size == positions.length) {
+                        positions = Arrays.copyOf(positions, Math.max(16, size * 2));
+                    }
+                    positions[size++] = byName[index];
+                }
+            }
+            positions = Arrays.copyOf(positions, size);
+            Arrays.sort(positions);
+            return positions;
+        }
+
+        /**
+         * Whether this index still fits the rows after {@code changes}: every
+         * change replaces an existing row with one of the same name.
+         */
+        boolean keeps(Rows<T> rows, NavigableMap<Long, T> changes) {
+            for (Map.Entry<Long, T> change : changes.entrySet()) {
+                int position = Arrays.binarySearch(rows.codes, change.getKey());
+                if (position < 0 || change.getValue() == null || !names[position].equals(lowerName(change.getValue()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String lowerName(T row) {
+            String value = name.apply(row);
+            return value != null ? value.toLowerCase(Locale.ROOT) : "";
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.br.factory.service;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.br.factory.dto.rawmaterial.RawMaterialResponse;
+import com.br.factory.repository.CatalogStamp;
+import com.br.factory.repository.CatalogStamp.TableStamp;
+import com.br.factory.service.CatalogSnapshot.CompositionRow;
+import com.br.factory.service.CatalogSnapshot.ProductRow;
+import com.br.factory.service.production.CompiledCatalog;
+
+/**
+ * Binary layout of a stored {@link CatalogSnapshot}, little-endian:
+ * <pre>
+ * int    magic, int format
+ * long[9] stamp (rows, highest key, content hash of products, compositions, raw materials)
+ * int    materialCount, int productCount, int requirementCount
+ * long[] materialCodes, int[] stock, long[] materialVersions
+ * long[] productCodes, double[] productValues, long[] productVersions, int[productCount + 1] requirementStart
+ * int[]  requirementMaterial, int[] requirementQuantity, long[] compositionIds, long[] compositionVersions
+ * names  (int length, UTF-8 bytes) per material, then per product; -1 for null
+ * int    CRC-32 of everything before it
+ * </pre>
+ * Materials and products are sorted by code, and a requirement refers to its
+ * material by dense index, so the arrays are the ones the solvers use and
+ * decoding reads them in bulk.
+ */
+final class CatalogSnapshotFormat {
+
+    private static final int MAGIC = 0x46435331;
+    private static final int FORMAT = 3;
+    private static final int STAMP_BYTES = 8 + 9 * Long.BYTES;
+    private static final int HEADER_BYTES = STAMP_BYTES + 12;
+    private static final long NULL_ID = Long.MIN_VALUE;
+
+    private CatalogSnapshotFormat() {
+    }
+
+    static ByteBuffer encode(CatalogSnapshot snapshot) {
+        List<RawMaterialResponse> rawMaterials = snapshot.rawMaterials();
+        List<ProductRow> products = snapshot.productRows();
+
+        long[] materialCodes = new long[rawMaterials.size()];
+        for (int material = 0; material < materialCodes.length; material++) {
+            materialCodes[material] = rawMaterials.get(material).code();
+        }
+
+        int requirementCount = 0;
+        for (ProductRow product : products) {
+            requirementCount += product.compositions().size();
+        }
+
+        List<byte[]> names = new ArrayList<>(rawMaterials.size() + products.size());
+        long nameBytes = 0;
+        for (RawMaterialResponse rawMaterial : rawMaterials) {
+            nameBytes += addName(names, rawMaterial.name());
+        }
+        for (ProductRow product : products) {
+            nameBytes += addName(names, product.name());
+        }
+
+        long size = HEADER_BYTES
+            + 20L * materialCodes.length
+            + 28L * products.size() + 4
+            + 24L * requirementCount
+            + nameBytes
+            + 4;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Catalog snapshot of " + size + " bytes is too large to store");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(FORMAT);
+        CatalogStamp stamp = snapshot.stamp();
+        for (TableStamp table : List.of(stamp.products(), stamp.compositions(), stamp.rawMaterials())) {
+            buffer.putLong(table.rows()).putLong(table.maxKey()).putLong(table.hash());
+        }
+        buffer.putInt(materialCodes.length).putInt(products.size()).putInt(requirementCount);
+
+        for (long code : materialCodes) {
+            buffer.putLong(code);
+        }
+        for (RawMaterialResponse rawMaterial : rawMaterials) {
+            buffer.putInt(rawMaterial.stockQuantity() != null ? rawMaterial.stockQuantity() : 0);
+        }
+        for (Long version : snapshot.rawMaterialVersions()) {
+            buffer.putLong(version);
+        }
+
+        for (ProductRow product : products) {
+            buffer.putLong(product.code());
+        }
+        for (ProductRow product : products) {
+            buffer.putDouble(product.value());
+        }
+        for (ProductRow product : products) {
+            buffer.putLong(product.version());
+        }
+        int start = 0;
+        for (ProductRow product : products) {
+            buffer.putInt(start);
+            start += product.compositions().size();
+        }
+        buffer.putInt(start);
+
+        for (ProductRow product : products) {
+            for (CompositionRow composition : product.compositions()) {
+                buffer.putInt(Arrays.binarySearch(materialCodes, composition.rawMaterialCode()));
+            }
+        }
+        for (ProductRow product : products) {
+            for (CompositionRow composition : product.compositions()) {
+                buffer.putInt(composition.quantityRequired());
+            }
+        }
+        for (ProductRow product : products) {
+            for (CompositionRow composition : product.compositions()) {
+                buffer.putLong(composition.id() != null ? composition.id() : NULL_ID);
+            }
+        }
+        for (ProductRow product : products) {
+            for (CompositionRow composition : product.compositions()) {
+                buffer.putLong(composition.version());
+            }
+        }
+
+        for (byte[] name : names) {
+            if (name == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(name.length).put(name);
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    static CatalogStamp stamp(ByteBuffer buffer) throws IOException {
+        ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (header.remaining() < HEADER_BYTES + 4 || header.getInt() != MAGIC) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        if (header.getInt() != FORMAT) {
+            throw new IOException("Unsupported catalog snapshot format");
+        }
+        return new CatalogStamp(tableStamp(header), tableStamp(header), tableStamp(header));
+    }
+
+    static CatalogSnapshot decode(ByteBuffer source) throws IOException {
+        stamp(source);
+        ByteBuffer buffer = source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        int end = buffer.limit() - 4;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(end));
+        if ((int) crc.getValue() != buffer.getInt(end)) {
+            throw new IOException("Catalog snapshot checksum mismatch");
+        }
+        buffer.limit(end).position(STAMP_BYTES);
+
+        try {
+            int materialCount = count(buffer, 20);
+            int productCount = count(buffer, 28);
+            int requirementCount = count(buffer, 24);
+
+            long[] materialCodes = longs(buffer, materialCount);
+            int[] stock = ints(buffer, materialCount);
+            long[] materialVersions = longs(buffer, materialCount);
+            long[] productCodes = longs(buffer, productCount);
+            double[] productValues = doubles(buffer, productCount);
+            long[] productVersions = longs(buffer, productCount);
+            int[] requirementStart = ints(buffer, productCount + 1);
+            int[] requirementMaterial = ints(buffer, requirementCount);
+            int[] requirementQuantity = ints(buffer, requirementCount);
+            long[] compositionIds = longs(buffer, requirementCount);
+            long[] compositionVersions = longs(buffer, requirementCount);
+
+            String[] materialNames = new String[materialCount];
+            for (int material = 0; material < materialCount; material++) {
+                materialNames[material] = name(buffer);
+            }
+            String[] productNames = new String[productCount];
+            for (int product = 0; product < productCount; product++) {
+                productNames[product] = name(buffer);
+            }
+
+            List<RawMaterialResponse> rawMaterials = new ArrayList<>(materialCount);
+            for (int material = 0; material < materialCount; material++) {
+                rawMaterials.add(new RawMaterialResponse(materialCodes[material], materialNames[material], stock[material]));
+            }
+
+            List<ProductRow> products = new ArrayList<>(productCount);
+            for (int product = 0; product < productCount; product++) {
+                List<CompositionRow> compositions = new ArrayList<>(requirementStart[product + 1] - requirementStart[product]);
+                for (int k = requirementStart[product]; k < requirementStart[product + 1]; k++) {
+                    compositions.add(new CompositionRow(
+                        compositionIds[k] != NULL_ID ? compositionIds[k] : null,
+                        materialCodes[requirementMaterial[k]],
+                        requirementQuantity[k],
+                        compositionVersions[k]
+                    ));
+                }
+                products.add(new ProductRow(
+                    productCodes[product],
+                    productNames[product],
+                    productValues[product],
+                    productVersions[product],
+                    List.copyOf(compositions)
+                ));
+            }
+
+            CompiledCatalog catalog = CompiledCatalog.of(
+                materialCodes,
+                materialNames,
+                stock,
+                productCodes,
+                productNames,
+                productValues,
+                requirementStart,
+                requirementMaterial,
+                requirementQuantity
+            );
+            return CatalogSnapshot.restore(productCodes, products, materialCodes, rawMaterials, materialVersions, catalog);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Malformed catalog snapshot", e);
+        }
+    }
+
+    private static TableStamp tableStamp(ByteBuffer buffer) {
+        return new TableStamp(buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    private static long addName(List<byte[]> names, String name) {
+        byte[] bytes = name != null ? name.getBytes(StandardCharsets.UTF_8) : null;
+        names.add(bytes);
+        return 4 + (bytes != null ? bytes.length : 0);
+    }
+
+    private static int count(ByteBuffer buffer, int bytesEach) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || (long) count * bytesEach > buffer.remaining()) {
+            throw new IOException("Malformed catalog snapshot");
+        }
+        return count;
+    }
+
+    private static long[] longs(ByteBuffer buffer, int count) {
+        long[] values = new long[count];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        return values;
+    }
+
+    private static int[] ints(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static double[] doubles(ByteBuffer buffer, int count) {
+        double[] values = new double[count];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + count * Double.BYTES);
+        return values;
+    }
+
+    private static String name(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new IOException("Malformed catalog snapshot");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
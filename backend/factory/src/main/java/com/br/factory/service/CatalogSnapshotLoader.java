@@ -0,0 +1,64 @@
+package com.br.factory.service;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.br.factory.entity.Product;
+import com.br.factory.entity.RawMaterial;
+
+/**
+ * Reads catalog rows for the {@link CatalogSnapshotService}: the whole
+ * catalog in one read-only, repeatable-read transaction, so a snapshot never
+ * mixes requirements and stock from different commits, or just the rows a
+ * change event names. A full load maps the stored snapshot instead when
+ * its stamp matches the one read in the same transaction. Both run in a
+ * transaction of their own: change events are delivered after the writer's
+ * commit, while its persistence context is still bound, and joining it would
+ * read back the entities it loaded before raw JDBC stock updates.
+ */
+@Service
+public class CatalogSnapshotLoader {
+
+    private final ProductService productService;
+    private final RawMaterialService rawMaterialService;
+    private final CatalogSnapshotStore snapshotStore;
+
+    public CatalogSnapshotLoader(
+        ProductService productService,
+        RawMaterialService rawMaterialService,
+        CatalogSnapshotStore snapshotStore
+    ) {
+        this.productService = productService;
+        this.rawMaterialService = rawMaterialService;
+        this.snapshotStore = snapshotStore;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public CatalogSnapshot load() {
+        CatalogSnapshot snapshot = snapshotStore.read()
+            .orElseGet(() -> CatalogSnapshot.of(
+                productService.getAllProducts(),
+                rawMaterialService.getAllRawMaterials()
+            ));
+        snapshotStore.updated(snapshot);
+        return snapshot;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public CatalogSnapshot reload(CatalogSnapshot snapshot, Set<Long> productCodes, Set<Long> rawMaterialCodes) {
+        List<RawMaterial> rawMaterials = rawMaterialCodes.isEmpty()
+            ? List.of()
+            : rawMaterialService.getRawMaterialsByCodes(rawMaterialCodes);
+        List<Product> products = productCodes.isEmpty()
+            ? List.of()
+            : productService.findProductsByCodes(productCodes);
+        CatalogSnapshot next = snapshot.next(productCodes, products, rawMaterialCodes, rawMaterials);
+        snapshotStore.updated(next);
+        return next;
+    }
+}
@@ -0,0 +1,176 @@
+package com.br.factory.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.br.factory.dto.page.CursorPage;
+import com.br.factory.dto.product.ProductResponse;
+import com.br.factory.dto.rawmaterial.RawMaterialResponse;
+import com.br.factory.event.CatalogChangedEvent;
+import com.br.factory.event.StockChangedEvent;
+import com.br.factory.exception.ResourceNotFoundException;
+import com.br.factory.repository.CatalogStampRepository;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. Readers take the volatile
+ * reference and never lock; the committed writes of the catalog services
+ * reach it through their change events, which reload only the rows they name
+ * and publish the next version. Its listeners run before the others, so the
+ * live plan is rebuilt against the new version.
+ * <p>
+ * Writes of other nodes publish no event here, so the snapshot's stamp is
+ * compared with the database on a fixed delay. When they differ, the row
+ * versions name the stale rows, and they are published as ordinary change
+ * events so the snapshot, the live plan and the cached suggestions all
+ * catch up the same way they follow local writes.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final CatalogSnapshotLoader snapshotLoader;
+    private final CatalogStampRepository stampRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Object lock = new Object();
+    private volatile CatalogSnapshot current;
+
+    public CatalogSnapshotService(
+        CatalogSnapshotLoader snapshotLoader,
+        CatalogStampRepository stampRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
+        this.snapshotLoader = snapshotLoader;
+        this.stampRepository = stampRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public CatalogSnapshot current() {
+        CatalogSnapshot snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        synchronized (lock) {
+            if (current == null) {
+                current = snapshotLoader.load();
+            }
+            return current;
+        }
+    }
+
+    public void invalidate() {
+        synchronized (lock) {
+            current = null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${factory.catalog-snapshot.refresh-interval-ms:5000}")
+    public void refresh() {
+        CatalogSnapshot snapshot = current;
+        if (snapshot == null) {
+            return;
+        }
+
+        try {
+            if (snapshot.stamp().equals(stampRepository.current())) {
+                return;
+            }
+
+            Set<Long> productCodes = snapshot.staleProducts(stampRepository.productVersions(), stampRepository.compositionStamps());
+            Map<Long, Long> rawMaterialVersions = stampRepository.rawMaterialVersions();
+            Set<Long> rawMaterialCodes = snapshot.staleRawMaterials(rawMaterialVersions);
+            if (productCodes.isEmpty() && rawMaterialCodes.isEmpty()) {
+                return;
+            }
+
+            log.info(
+                "Catalog snapshot is behind the database; reloading {} product(s) and {} raw material(s)",
+                productCodes.size(),
+                rawMaterialCodes.size()
+            );
+            boolean rawMaterialsAddedOrRemoved = rawMaterialCodes.stream()
+                .anyMatch(code -> snapshot.findRawMaterial(code).isEmpty() || !rawMaterialVersions.containsKey(code));
+            if (productCodes.isEmpty() && !rawMaterialsAddedOrRemoved) {
+                eventPublisher.publishEvent(new StockChangedEvent(rawMaterialCodes));
+            } else {
+                eventPublisher.publishEvent(new CatalogChangedEvent(productCodes, rawMaterialCodes));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not compare the catalog snapshot with the database", e);
+        }
+    }
+
+    public ProductResponse findProductByCode(Long code) {
+        return current().findProduct(code)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", code.toString()));
+    }
+
+    public List<ProductResponse> getAllProducts() {
+        return current().products();
+    }
+
+    public CursorPage<ProductResponse> getProductPage(Long after, int limit, String namePrefix) {
+        KeysetPage.validateLimit(limit);
+        return current().productPage(KeysetPage.after(after), limit, KeysetPage.prefix(namePrefix));
+    }
+
+    public RawMaterialResponse findRawMaterialByCode(Long code) {
+        return current().findRawMaterial(code)
+            .orElseThrow(() -> new ResourceNotFoundException("RawMaterial", code.toString()));
+    }
+
+    public List<RawMaterialResponse> getAllRawMaterials() {
+        return current().rawMaterials();
+    }
+
+    public CursorPage<RawMaterialResponse> getRawMaterialPage(Long after, int limit, String namePrefix) {
+        KeysetPage.validateLimit(limit);
+        return current().rawMaterialPage(KeysetPage.after(after), limit, KeysetPage.prefix(namePrefix));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        synchronized (lock) {
+            if (current == null) {
+                return;
+            }
+
+            try {
+                current = snapshotLoader.reload(current, Set.of(), event.rawMaterialCodes());
+            } catch (RuntimeException e) {
+                log.warn("Dropping catalog snapshot after a failed stock update", e);
+                current = null;
+            }
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        synchronized (lock) {
+            if (current == null) {
+                return;
+            }
+
+            try {
+                current = snapshotLoader.reload(current, event.productCodes(), event.rawMaterialCodes());
+            } catch (RuntimeException e) {
+                log.warn("Dropping catalog snapshot after a failed catalog update", e);
+                current = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.br.factory.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.br.factory.repository.CatalogStamp;
+import com.br.factory.repository.CatalogStampRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the catalog snapshot in a file so a restarted node can plan before
+ * reading the catalog back through JPA. The file carries the
+ * {@link CatalogStamp} of its rows and is mapped at startup only when the
+ * database still has that stamp.
+ * <p>
+ * Writers share nothing for this: the stamp aggregates the row versions each
+ * write bumps anyway, and it is read only when the file is. Every write
+ * rewrites the whole file, so writes are debounced: a snapshot is stored
+ * once the catalog has been quiet for the quiet period, or once it has been
+ * waiting for the maximum delay under a steady stream of changes, and on
+ * shutdown. It is stored only when its own stamp equals the one read from
+ * the database at that moment, so a snapshot that is behind a commit, of
+ * this node or another, is never stored. With no path configured nothing is
+ * read or written.
+ */
+@Service
+public class CatalogSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotStore.class);
+
+    private final CatalogStampRepository stampRepository;
+    private final Path path;
+    private final long quietMillis;
+    private final long maxDelayMillis;
+
+    private final AtomicReference<CatalogSnapshot> pending = new AtomicReference<>();
+    private final AtomicLong pendingSince = new AtomicLong();
+    private volatile long lastUpdated;
+    private volatile CatalogStamp storedStamp;
+
+    public CatalogSnapshotStore(
+        CatalogStampRepository stampRepository,
+        @Value("${factory.catalog-snapshot.path:}") String path,
+        @Value("${factory.catalog-snapshot.write-quiet-ms:5000}") long quietMillis,
+        @Value("${factory.catalog-snapshot.write-max-delay-ms:60000}") long maxDelayMillis
+    ) {
+        this.stampRepository = stampRepository;
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.quietMillis = quietMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    public boolean enabled() {
+        return path != null;
+    }
+
+    public Optional<CatalogSnapshot> read() {
+        if (!enabled() || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot file is too large to map");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            CatalogStamp stamp = CatalogSnapshotFormat.stamp(buffer);
+            if (!stamp.equals(stampRepository.current())) {
+                log.info("Catalog snapshot file is behind the database; loading from the database");
+                return Optional.empty();
+            }
+
+            CatalogSnapshot snapshot = CatalogSnapshotFormat.decode(buffer);
+            storedStamp = stamp;
+            return Optional.of(snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable catalog snapshot file {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    public void updated(CatalogSnapshot snapshot) {
+        if (enabled()) {
+            long now = System.currentTimeMillis();
+            lastUpdated = now;
+            pending.set(snapshot);
+            pendingSince.compareAndSet(0L, now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${factory.catalog-snapshot.write-interval-ms:1000}")
+    public void flush() {
+        long since = pendingSince.get();
+        long now = System.currentTimeMillis();
+        if (since == 0L || (now - lastUpdated < quietMillis && now - since < maxDelayMillis)) {
+            return;
+        }
+        store();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        store();
+    }
+
+    private void store() {
+        pendingSince.set(0L);
+        CatalogSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null || snapshot.stamp().equals(storedStamp)) {
+            return;
+        }
+
+        try {
+            if (!snapshot.stamp().equals(stampRepository.current())) {
+                log.debug("Catalog snapshot is behind the database; not storing it");
+                return;
+            }
+            write(snapshot);
+            storedStamp = snapshot.stamp();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write catalog snapshot file {}", path, e);
+        }
+    }
+
+    private void write(CatalogSnapshot snapshot) throws IOException {
+        ByteBuffer buffer = CatalogSnapshotFormat.encode(snapshot);
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,45 @@
+package com.br.factory.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.br.factory.event.AvailableStockChangedEvent;
+import com.br.factory.event.CatalogChangedEvent;
+import com.br.factory.event.StockChangedEvent;
+
+/**
+ * Version of the planning inputs, used to key cached suggestions. Its
+ * listeners run last, so a new version is only visible once the snapshot and
+ * the live plan already reflect the change.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailableStockChanged(AvailableStockChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
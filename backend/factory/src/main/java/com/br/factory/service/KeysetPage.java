@@ -0,0 +1,47 @@
+package com.br.factory.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import com.br.factory.dto.page.CursorPage;
+import com.br.factory.exception.ApiException;
+
+final class KeysetPage {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private KeysetPage() {
+    }
+
+    static int validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ApiException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    static long after(Long cursor) {
+        return cursor != null ? cursor : 0L;
+    }
+
+    static String prefix(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builds the page from a query that fetched one row more than
+     * {@code limit}; the extra row only tells whether a next page exists.
+     */
+    static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> code) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), code.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,138 @@
+package com.br.factory.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.br.factory.event.AvailableStockChangedEvent;
+import com.br.factory.event.CatalogChangedEvent;
+import com.br.factory.event.StockChangedEvent;
+import com.br.factory.service.production.LiveProductionPlan;
+import com.br.factory.service.production.ProductionEngine;
+
+@Service
+public class LiveProductionService {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveProductionService.class);
+
+    private final ProductionCatalogLoader catalogLoader;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final StockAccumulator stockAccumulator;
+    private final StockReservationTable reservationTable;
+    private final ProductionEngine productionEngine;
+
+    private final Object lock = new Object();
+    private volatile LiveProductionPlan current;
+
+    public LiveProductionService(
+        ProductionCatalogLoader catalogLoader,
+        CatalogSnapshotService catalogSnapshotService,
+        StockAccumulator stockAccumulator,
+        StockReservationTable reservationTable,
+        ProductionEngine productionEngine
+    ) {
+        this.catalogLoader = catalogLoader;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.stockAccumulator = stockAccumulator;
+        this.reservationTable = reservationTable;
+        this.productionEngine = productionEngine;
+    }
+
+    public LiveProductionPlan current() {
+        LiveProductionPlan plan = current;
+        if (plan != null) {
+            return plan;
+        }
+
+        synchronized (lock) {
+            if (current == null) {
+                current = rebuild(null);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * The live plan if one is built, without building it.
+     */
+    public LiveProductionPlan peek() {
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            current();
+        } catch (RuntimeException e) {
+            log.warn("Could not build the live production plan at startup; it is built on first use", e);
+        }
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        refreshStock(event.rawMaterialCodes());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailableStockChanged(AvailableStockChangedEvent event) {
+        refreshStock(event.rawMaterialCodes());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        synchronized (lock) {
+            if (current == null) {
+                return;
+            }
+
+            try {
+                current = rebuild(current);
+            } catch (RuntimeException e) {
+                log.warn("Dropping live production plan after a failed catalog update", e);
+                current = null;
+            }
+        }
+    }
+
+    private LiveProductionPlan rebuild(LiveProductionPlan previous) {
+        return LiveProductionPlan.build(catalogLoader.load(), previous, productionEngine);
+    }
+
+    private void refreshStock(Set<Long> codes) {
+        synchronized (lock) {
+            if (current == null) {
+                return;
+            }
+
+            try {
+                Map<Long, Integer> stock = stockAccumulator.readSettled(() -> {
+                    CatalogSnapshot snapshot = catalogSnapshotService.current();
+                    Map<Long, Integer> settled = new HashMap<>();
+                    for (Long code : codes) {
+                        int available = snapshot.findRawMaterial(code)
+                            .map(rawMaterial -> reservationTable.available(code, stockAccumulator.withPending(code, rawMaterial.stockQuantity())))
+                            .orElse(0);
+                        settled.put(code, available);
+                    }
+                    return settled;
+                });
+                current = current.withStock(stock, productionEngine);
+            } catch (RuntimeException e) {
+                log.warn("Dropping live production plan after a failed stock update", e);
+                current = null;
+            }
+        }
+    }
+}
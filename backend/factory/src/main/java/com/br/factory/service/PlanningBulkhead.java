@@ -0,0 +1,51 @@
+package com.br.factory.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.br.factory.exception.TooManyRequestsException;
+
+/**
+ * Admission control for production planning. Plans run on their own bounded
+ * pool with a bounded wait queue, off the servlet threads, so a burst of
+ * expensive plans can neither grow without limit nor starve the CRUD
+ * endpoints; once the queue is full callers are turned away at once. The
+ * CRUD writes have a bulkhead of their own in
+ * {@link com.br.factory.config.CatalogWriteBulkhead}.
+ */
+@Component
+public class PlanningBulkhead {
+
+    private final ThreadPoolExecutor planningExecutor;
+    private final long retryAfterSeconds;
+
+    public PlanningBulkhead(
+        @Qualifier("planningExecutor") ThreadPoolExecutor planningExecutor,
+        @Value("${factory.production.bulkhead.retry-after-seconds:2}") long retryAfterSeconds
+    ) {
+        this.planningExecutor = planningExecutor;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> plan) {
+        try {
+            return CompletableFuture.supplyAsync(plan, planningExecutor);
+        } catch (RejectedExecutionException ex) {
+            throw new TooManyRequestsException("Production planning is at capacity, try again later", retryAfterSeconds);
+        }
+    }
+
+    public int activePlans() {
+        return planningExecutor.getActiveCount();
+    }
+
+    public int queuedPlans() {
+        return planningExecutor.getQueue().size();
+    }
+}
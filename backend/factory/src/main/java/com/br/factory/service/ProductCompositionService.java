@@ -1,13 +1,20 @@
 package com.br.factory.service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.br.factory.dto.productcomposition.ProductCompositionRequest;
 import com.br.factory.entity.Product;
 import com.br.factory.entity.ProductComposition;
 import com.br.factory.entity.RawMaterial;
+import com.br.factory.event.CatalogChangedEvent;
 import com.br.factory.exception.ResourceNotFoundException;
 import com.br.factory.repository.ProductCompositionRepository;
 import com.br.factory.repository.RawMaterialRepository;
@@ -17,13 +24,16 @@ public class ProductCompositionService {
     
     private final ProductCompositionRepository productCompositionRepository;
     private final RawMaterialRepository rawMaterialRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProductCompositionService(
         ProductCompositionRepository productCompositionRepository,
-        RawMaterialRepository rawMaterialRepository
+        RawMaterialRepository rawMaterialRepository,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.productCompositionRepository = productCompositionRepository;
         this.rawMaterialRepository = rawMaterialRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public ProductComposition addComposition(Product product, ProductCompositionRequest dto) {
@@ -38,6 +48,18 @@ public class ProductCompositionService {
         return productCompositionRepository.save(composition);
     }
 
+    public Map<Long, RawMaterial> findRawMaterialsByCode(Collection<Long> codes) {
+        Map<Long, RawMaterial> rawMaterials = new HashMap<>(codes.size() * 2);
+        rawMaterialRepository.findAllById(codes).forEach(rawMaterial -> rawMaterials.put(rawMaterial.getCode(), rawMaterial));
+
+        for (Long code : codes) {
+            if (!rawMaterials.containsKey(code)) {
+                throw new ResourceNotFoundException("RawMaterial", code.toString());
+            }
+        }
+        return rawMaterials;
+    }
+
     public List<ProductComposition> getCompositionsByProduct(Long productCode) {
         return productCompositionRepository.findByProductCode(productCode);
     }
@@ -49,17 +71,27 @@ public class ProductCompositionService {
         RawMaterial rawMaterial = rawMaterialRepository.findById(dto.rawMaterialCode())
             .orElseThrow(() -> new ResourceNotFoundException("RawMaterial", dto.rawMaterialCode().toString()));
 
+        Long previousRawMaterialCode = composition.getRawMaterial().getCode();
         composition.setRawMaterial(rawMaterial);
         composition.setQuantityRequired(dto.quantityRequired());
 
-        return productCompositionRepository.save(composition);
+        ProductComposition savedComposition = productCompositionRepository.save(composition);
+        eventPublisher.publishEvent(new CatalogChangedEvent(
+            Set.of(composition.getProduct().getCode()),
+            new HashSet<>(List.of(previousRawMaterialCode, rawMaterial.getCode()))
+        ));
+        return savedComposition;
     }
 
     public void deleteComposition(Long compositionId) {
-        if (!productCompositionRepository.existsById(compositionId)) {
-            throw new ResourceNotFoundException("Composition", compositionId.toString());
-        }
-        productCompositionRepository.deleteById(compositionId);
+        ProductComposition composition = productCompositionRepository.findById(compositionId)
+            .orElseThrow(() -> new ResourceNotFoundException("Composition", compositionId.toString()));
+
+        productCompositionRepository.delete(composition);
+        eventPublisher.publishEvent(new CatalogChangedEvent(
+            Set.of(composition.getProduct().getCode()),
+            Set.of(composition.getRawMaterial().getCode())
+        ));
     }
 }
 
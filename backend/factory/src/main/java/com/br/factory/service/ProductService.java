@@ -1,13 +1,24 @@
 package com.br.factory.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.br.factory.dto.product.ProductRequest;
 import com.br.factory.dto.product.ProductUpdate;
+import com.br.factory.dto.productcomposition.ProductCompositionRequest;
 import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.event.CatalogChangedEvent;
 import com.br.factory.exception.ResourceNotFoundException;
 import com.br.factory.repository.ProductRepository;
 
@@ -16,10 +27,16 @@ public class ProductService {
     
     private final ProductRepository productRepository;
     private final ProductCompositionService productCompositionService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProductService(ProductRepository productRepository, ProductCompositionService productCompositionService) {
+    public ProductService(
+        ProductRepository productRepository,
+        ProductCompositionService productCompositionService,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.productRepository = productRepository;
         this.productCompositionService = productCompositionService;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -33,12 +50,48 @@ public class ProductService {
             );
         }
 
+        eventPublisher.publishEvent(new CatalogChangedEvent(Set.of(savedProduct.getCode()), Set.of()));
         return savedProduct;
     }
 
 
+    @Transactional
+    public List<Product> createProducts(List<ProductRequest> dtos) {
+        Set<Long> rawMaterialCodes = new HashSet<>();
+        for (ProductRequest dto : dtos) {
+            if (dto.compositions() != null) {
+                dto.compositions().forEach(compositionRequest -> rawMaterialCodes.add(compositionRequest.rawMaterialCode()));
+            }
+        }
+        Map<Long, RawMaterial> rawMaterials = productCompositionService.findRawMaterialsByCode(rawMaterialCodes);
+
+        List<Product> products = new ArrayList<>(dtos.size());
+        for (ProductRequest dto : dtos) {
+            Product product = dto.toEntity();
+            if (dto.compositions() != null) {
+                for (ProductCompositionRequest compositionRequest : dto.compositions()) {
+                    product.getCompositions().add(new ProductComposition(
+                        null,
+                        product,
+                        rawMaterials.get(compositionRequest.rawMaterialCode()),
+                        compositionRequest.quantityRequired()
+                    ));
+                }
+            }
+            products.add(product);
+        }
+
+        List<Product> savedProducts = productRepository.saveAll(products);
+        Set<Long> productCodes = new HashSet<>(savedProducts.size() * 2);
+        savedProducts.forEach(product -> productCodes.add(product.getCode()));
+
+        eventPublisher.publishEvent(new CatalogChangedEvent(productCodes, rawMaterialCodes));
+        return savedProducts;
+    }
+
+
     public Product updateProduct(ProductUpdate dto, Long code) {
-        Optional<Product> optional = productRepository.findById(code);
+        Optional<Product> optional = productRepository.findWithCompositionsByCode(code);
 
         if (optional.isEmpty()) {
             throw new ResourceNotFoundException("Product", code.toString());
@@ -53,18 +106,25 @@ public class ProductService {
             product.setValue(dto.value());
         }
         
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Set.of(code), Set.of()));
+        return savedProduct;
     }
 
 
     public Product findProductByCode(Long code) {
-        return productRepository.findById(code)
+        return productRepository.findWithCompositionsByCode(code)
             .orElseThrow(() -> new ResourceNotFoundException("Product", code.toString()));
     }
 
 
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return productRepository.findAllWithCompositions();
+    }
+
+
+    public List<Product> findProductsByCodes(Collection<Long> codes) {
+        return productRepository.findByCodeInOrderByCode(codes);
     }
 
 
@@ -73,5 +133,6 @@ public class ProductService {
             throw new ResourceNotFoundException("Product", code.toString());
         }
         productRepository.deleteById(code);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Set.of(code), Set.of()));
     }
 }
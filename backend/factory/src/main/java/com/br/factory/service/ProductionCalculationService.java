@@ -1,141 +1,495 @@
 package com.br.factory.service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.br.factory.dto.production.BottleneckReportResponse;
+import com.br.factory.dto.production.MaterialBottleneck;
+import com.br.factory.dto.production.PresolveSummary;
+import com.br.factory.dto.production.ProductionComparisonResponse;
 import com.br.factory.dto.production.ProductionItem;
+import com.br.factory.dto.production.ProductionStatsResponse;
+import com.br.factory.dto.production.ProductionStreamSummary;
 import com.br.factory.dto.production.ProductionSuggestionResponse;
-import com.br.factory.entity.Product;
-import com.br.factory.entity.ProductComposition;
-import com.br.factory.entity.RawMaterial;
+import com.br.factory.dto.production.ScenarioBatchRequest;
+import com.br.factory.dto.production.ScenarioBatchResponse;
+import com.br.factory.dto.production.ScenarioRequest;
+import com.br.factory.dto.production.ScenarioResult;
+import com.br.factory.dto.production.StockDelta;
+import com.br.factory.dto.production.StrategyComparison;
+import com.br.factory.dto.production.ValueOverride;
+import com.br.factory.exception.ApiException;
+import com.br.factory.service.production.AllocationMeter;
+import com.br.factory.service.production.CancellationToken;
+import com.br.factory.service.production.CompiledCatalog;
+import com.br.factory.service.production.ExactStrategy;
+import com.br.factory.service.production.GreedyProductionEngine;
+import com.br.factory.service.production.GreedyStrategy;
+import com.br.factory.service.production.ImproveStrategy;
+import com.br.factory.service.production.LiveProductionPlan;
+import com.br.factory.service.production.PlanningOptions;
+import com.br.factory.service.production.PresolveResult;
+import com.br.factory.service.production.Presolver;
+import com.br.factory.service.production.ProductionPlan;
+import com.br.factory.service.production.ProductionStrategy;
+import com.br.factory.service.production.ProductionStrategyRegistry;
+import com.br.factory.service.production.RelaxationResult;
+import com.br.factory.service.production.SimplexSolver;
+import com.br.factory.service.production.StrategyResult;
 
 @Service
 public class ProductionCalculationService {
+
+    public static final String GREEDY_STRATEGY = GreedyStrategy.NAME;
+    public static final String EXACT_STRATEGY = ExactStrategy.NAME;
+    public static final String IMPROVE_STRATEGY = ImproveStrategy.NAME;
+    public static final long DEFAULT_TIME_BUDGET_MS = 2000;
+    public static final long MAX_TIME_BUDGET_MS = 60000;
+
+    private static final String NO_PRODUCTS_MESSAGE = "No products available for production";
     
-    private final ProductService productService;
-    private final RawMaterialService rawMaterialService;
+    private final ProductionCatalogLoader catalogLoader;
+    private final ProductionStrategyRegistry strategyRegistry;
+    private final LiveProductionService liveProductionService;
+    private final ForkJoinPool productionPool;
+    private final CatalogVersion catalogVersion;
+    private final SingleFlight<SuggestionKey, ProductionSuggestionResponse> suggestionFlights = new SingleFlight<>();
+    private final ResultCache<SuggestionKey, ProductionSuggestionResponse> suggestionCache;
+
+    private volatile LiveSuggestion liveSuggestion;
 
     public ProductionCalculationService(
-        ProductService productService,
-        RawMaterialService rawMaterialService
+        ProductionCatalogLoader catalogLoader,
+        ProductionStrategyRegistry strategyRegistry,
+        LiveProductionService liveProductionService,
+        ForkJoinPool productionPool,
+        CatalogVersion catalogVersion,
+        @Value("${factory.production.cache.max-entries:256}") int cacheMaxEntries
     ) {
-        this.productService = productService;
-        this.rawMaterialService = rawMaterialService;
+        this.catalogLoader = catalogLoader;
+        this.strategyRegistry = strategyRegistry;
+        this.liveProductionService = liveProductionService;
+        this.productionPool = productionPool;
+        this.catalogVersion = catalogVersion;
+        this.suggestionCache = new ResultCache<>(cacheMaxEntries);
     }
 
     public ProductionSuggestionResponse calculateOptimalProduction() {
-        List<Product> allProducts = productService.getAllProducts();
-        Map<Long, Integer> currentStock = getCurrentStock();
-
-        if (allProducts.isEmpty()) {
-            return new ProductionSuggestionResponse(
-                new ArrayList<>(),
-                0.0,
-                "No products available for production"
+        return calculateOptimalProduction(strategyRegistry.defaultStrategy().name(), DEFAULT_TIME_BUDGET_MS);
+    }
+
+    public ProductionSuggestionResponse calculateOptimalProduction(String strategy, long timeBudgetMs) {
+        return calculateOptimalProduction(strategy, timeBudgetMs, 0);
+    }
+
+    public ProductionSuggestionResponse calculateOptimalProduction(String strategy, long timeBudgetMs, long maxIterations) {
+        String name = validatePlanningRequest(strategy, timeBudgetMs, maxIterations);
+        if (GREEDY_STRATEGY.equals(name)) {
+            return currentSuggestion();
+        }
+
+        long version = catalogVersion.current();
+        SuggestionKey key = new SuggestionKey(name, timeBudgetMs, maxIterations, version);
+
+        ProductionSuggestionResponse cached = suggestionCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        return suggestionFlights.execute(key, () -> {
+            ProductionSuggestionResponse response = calculateOptimalProduction(
+                name,
+                timeBudgetMs,
+                maxIterations,
+                new CancellationToken()
             );
+            suggestionCache.evictIf(stale -> stale.catalogVersion() < version);
+            suggestionCache.put(key, response);
+            return response;
+        });
+    }
+
+    public ProductionSuggestionResponse calculateOptimalProduction(
+        String strategy,
+        long timeBudgetMs,
+        long maxIterations,
+        CancellationToken cancellationToken
+    ) {
+        ProductionStrategy productionStrategy = strategyRegistry.get(strategy);
+        validateLimits(timeBudgetMs, maxIterations);
+
+        if (GREEDY_STRATEGY.equals(productionStrategy.name())) {
+            return currentSuggestion();
         }
 
-        List<ProductionItem> suggestions = new ArrayList<>();
-        Map<Long, Integer> workingStock = new HashMap<>(currentStock);
-        double totalValue = 0.0;
-
-        boolean productionFound;
-        do {
-            productionFound = false;
-            ProductionItem bestOption = null;
-            int bestProductIndex = -1;
-
-            for (int i = 0; i < allProducts.size(); i++) {
-                Product product = allProducts.get(i);
-                int maxQuantity = calculateMaxQuantity(product, workingStock);
-
-                if (maxQuantity > 0) {
-                    ProductionItem item = new ProductionItem(
-                        product.getCode(),
-                        product.getName(),
-                        maxQuantity,
-                        product.getValue(),
-                        product.getValue() * maxQuantity
-                    );
-
-                    if (bestOption == null || item.totalValue() > bestOption.totalValue()) {
-                        bestOption = item;
-                        bestProductIndex = i;
-                        productionFound = true;
-                    }
-                }
-            }
+        return toSuggestionResponse(planProduction(productionStrategy, timeBudgetMs, maxIterations, cancellationToken));
+    }
+
+    public ProductionStreamSummary streamOptimalProduction(
+        String strategy,
+        long timeBudgetMs,
+        long maxIterations,
+        CancellationToken cancellationToken,
+        Consumer<ProductionItem> sink
+    ) {
+        ProductionStrategy productionStrategy = strategyRegistry.get(strategy);
+        validateLimits(timeBudgetMs, maxIterations);
+
+        PlannedProduction planned;
+        if (GREEDY_STRATEGY.equals(productionStrategy.name())) {
+            LiveProductionPlan live = liveProductionService.peek();
+            planned = live != null
+                ? emit(livePlan(live), cancellationToken, sink)
+                : streamGreedy(cancellationToken, sink);
+        } else {
+            planned = emit(planProduction(productionStrategy, timeBudgetMs, maxIterations, cancellationToken), cancellationToken, sink);
+        }
+
+        if (planned == null) {
+            return new ProductionStreamSummary(0, 0.0, NO_PRODUCTS_MESSAGE, null, null, null);
+        }
+
+        ProductionPlan plan = planned.plan();
+
+        return new ProductionStreamSummary(
+            plan.size(),
+            plan.totalValue(),
+            generateMessage(plan.size(), plan.totalValue()),
+            planned.strategy(),
+            planned.optimalityGap(),
+            toPresolveSummary(planned.presolve())
+        );
+    }
 
-            if (productionFound && bestOption != null) {
-                suggestions.add(bestOption);
-                totalValue += bestOption.totalValue();
-                deductStock(allProducts.get(bestProductIndex), bestOption.quantityToProduce(), workingStock);
+    private PlannedProduction emit(PlannedProduction planned, CancellationToken cancellationToken, Consumer<ProductionItem> sink) {
+        if (planned != null) {
+            ProductionPlan plan = planned.plan();
+            for (int line = 0; line < plan.size() && !cancellationToken.isCancelled(); line++) {
+                sink.accept(toProductionItem(planned.catalog(), plan, line));
             }
-        } while (productionFound);
+        }
+        return planned;
+    }
+
+    /**
+     * Plans greedily while streaming, handing each line to the sink as the
+     * engine commits it instead of after the whole plan is solved.
+     */
+    private PlannedProduction streamGreedy(CancellationToken cancellationToken, Consumer<ProductionItem> sink) {
+        CompiledCatalog loaded = catalogLoader.load();
+        if (loaded.productCount() == 0) {
+            return null;
+        }
+
+        PresolveResult presolved = Presolver.presolve(loaded);
+        CompiledCatalog catalog = presolved.catalog();
+        ProductionPlan plan = GreedyProductionEngine.solve(catalog, (committed, line) -> {
+            sink.accept(toProductionItem(catalog, committed, line));
+            return !cancellationToken.isCancelled();
+        });
+
+        return new PlannedProduction(catalog, plan, GREEDY_STRATEGY, null, presolved);
+    }
+
+    private PlannedProduction planProduction(
+        ProductionStrategy productionStrategy,
+        long timeBudgetMs,
+        long maxIterations,
+        CancellationToken cancellationToken
+    ) {
+        PlanningOptions options = PlanningOptions.withTimeBudget(timeBudgetMs, maxIterations, cancellationToken);
+
+        CompiledCatalog loaded = catalogLoader.load();
+        if (loaded.productCount() == 0) {
+            return null;
+        }
+
+        PresolveResult presolved = Presolver.presolve(loaded);
+        CompiledCatalog catalog = presolved.catalog();
+        StrategyResult result = productionStrategy.plan(catalog, options);
+
+        return new PlannedProduction(catalog, result.plan(), productionStrategy.name(), result.optimalityGap(), presolved);
+    }
+
+    private PlannedProduction livePlan(LiveProductionPlan live) {
+        if (live.catalog().productCount() == 0) {
+            return null;
+        }
+        return new PlannedProduction(live.catalog(), live.plan(), GREEDY_STRATEGY, null, live.presolve());
+    }
+
+    private ProductionSuggestionResponse currentSuggestion() {
+        LiveProductionPlan live = liveProductionService.current();
+        LiveSuggestion cached = liveSuggestion;
+        if (cached != null && cached.source() == live) {
+            return cached.response();
+        }
+
+        ProductionSuggestionResponse response = toSuggestionResponse(livePlan(live));
+        liveSuggestion = new LiveSuggestion(live, response);
+        return response;
+    }
+
+    private ProductionSuggestionResponse toSuggestionResponse(PlannedProduction planned) {
+        if (planned == null) {
+            return new ProductionSuggestionResponse(new ArrayList<>(), 0.0, NO_PRODUCTS_MESSAGE);
+        }
+
+        ProductionPlan plan = planned.plan();
+        List<ProductionItem> suggestions = toProductionItems(planned.catalog(), plan);
 
         return new ProductionSuggestionResponse(
             suggestions,
-            totalValue,
-            generateMessage(suggestions, totalValue)
+            plan.totalValue(),
+            generateMessage(suggestions.size(), plan.totalValue()),
+            planned.strategy(),
+            planned.optimalityGap(),
+            toPresolveSummary(planned.presolve())
         );
     }
 
-    
-    private int calculateMaxQuantity(Product product, Map<Long, Integer> stock) {
-        if (product.getCompositions() == null || product.getCompositions().isEmpty()) {
-            return 0;
+    public ProductionComparisonResponse compareStrategies(List<String> strategies, long timeBudgetMs, long maxIterations) {
+        List<String> names = strategies == null || strategies.isEmpty() ? strategyRegistry.names() : strategies;
+        List<ProductionStrategy> productionStrategies = names.stream()
+            .distinct()
+            .map(strategyRegistry::get)
+            .toList();
+        validateLimits(timeBudgetMs, maxIterations);
+
+        PresolveResult presolved = Presolver.presolve(catalogLoader.load());
+        CompiledCatalog catalog = presolved.catalog();
+        List<StrategyComparison> comparisons = new ArrayList<>(productionStrategies.size());
+
+        for (ProductionStrategy productionStrategy : productionStrategies) {
+            PlanningOptions options = PlanningOptions.withTimeBudget(timeBudgetMs, maxIterations, new CancellationToken());
+            AllocationMeter allocations = AllocationMeter.start();
+            long started = System.nanoTime();
+
+            StrategyResult result = productionStrategy.plan(catalog, options);
+
+            long elapsed = System.nanoTime() - started;
+            comparisons.add(new StrategyComparison(
+                productionStrategy.name(),
+                result.plan().totalValue(),
+                result.plan().size(),
+                elapsed / 1_000_000.0,
+                allocations.allocatedBytes(),
+                result.optimalityGap()
+            ));
+        }
+
+        return new ProductionComparisonResponse(comparisons, toPresolveSummary(presolved));
+    }
+
+    public ScenarioBatchResponse evaluateScenarios(ScenarioBatchRequest request) {
+        ProductionStrategy productionStrategy = request.strategy() != null
+            ? strategyRegistry.get(request.strategy())
+            : strategyRegistry.defaultStrategy();
+        long timeBudgetMs = request.timeBudgetMs() != null ? request.timeBudgetMs() : DEFAULT_TIME_BUDGET_MS;
+        validateLimits(timeBudgetMs, 0);
+
+        LiveProductionPlan live = liveProductionService.current();
+        List<CompiledCatalog> catalogs = new ArrayList<>(request.scenarios().size());
+        for (ScenarioRequest scenario : request.scenarios()) {
+            catalogs.add(live.scenario(stockDeltas(scenario), valueOverrides(scenario)));
         }
 
-        int maxQuantity = Integer.MAX_VALUE;
+        PlanningOptions options = PlanningOptions.withTimeBudget(timeBudgetMs, 0, new CancellationToken());
+        double baseline = live.plan().totalValue();
 
-            for (ProductComposition composition : product.getCompositions()) {
-            Long rawMaterialCode = composition.getRawMaterial().getCode();
-            Integer availableStock = stock.getOrDefault(rawMaterialCode, 0);
-            Integer required = composition.getQuantityRequired();
+        List<Callable<ScenarioResult>> tasks = new ArrayList<>(catalogs.size());
+        for (int i = 0; i < catalogs.size(); i++) {
+            String name = request.scenarios().get(i).name() != null ? request.scenarios().get(i).name() : "Scenario " + (i + 1);
+            CompiledCatalog catalog = catalogs.get(i);
+            tasks.add(() -> evaluateScenario(name, catalog, productionStrategy, options, baseline));
+        }
 
-            int possibleQuantity = availableStock / required;
-            maxQuantity = Math.min(maxQuantity, possibleQuantity);
+        List<ScenarioResult> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<ScenarioResult> future : productionPool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            options.cancellationToken().cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scenario evaluation was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Scenario evaluation failed", e.getCause());
         }
 
-        return maxQuantity == Integer.MAX_VALUE ? 0 : maxQuantity;
+        return new ScenarioBatchResponse(productionStrategy.name(), baseline, results);
     }
 
-    
-    private void deductStock(Product product, Integer quantity, Map<Long, Integer> stock) {
-        for (ProductComposition composition : product.getCompositions()) {
-            Long rawMaterialCode = composition.getRawMaterial().getCode();
-            Integer currentStock = stock.getOrDefault(rawMaterialCode, 0);
-            Integer deduction = composition.getQuantityRequired() * quantity;
-            stock.put(rawMaterialCode, currentStock - deduction);
+    private ScenarioResult evaluateScenario(
+        String name,
+        CompiledCatalog scenario,
+        ProductionStrategy productionStrategy,
+        PlanningOptions options,
+        double baseline
+    ) {
+        CompiledCatalog catalog = Presolver.presolve(scenario).catalog();
+        StrategyResult result = productionStrategy.plan(catalog, options);
+        ProductionPlan plan = result.plan();
+        List<ProductionItem> suggestions = toProductionItems(catalog, plan);
+
+        return new ScenarioResult(
+            name,
+            suggestions,
+            plan.totalValue(),
+            plan.totalValue() - baseline,
+            generateMessage(suggestions.size(), plan.totalValue()),
+            result.optimalityGap()
+        );
+    }
+
+    private Map<Long, Integer> stockDeltas(ScenarioRequest scenario) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        if (scenario.stockDeltas() != null) {
+            for (StockDelta delta : scenario.stockDeltas()) {
+                deltas.merge(delta.rawMaterialCode(), delta.delta(), Integer::sum);
+            }
         }
+        return deltas;
     }
 
-    
-    private Map<Long, Integer> getCurrentStock() {
-        Map<Long, Integer> stock = new HashMap<>();
-        List<RawMaterial> rawMaterials = rawMaterialService.getAllRawMaterials();
+    private Map<Long, Double> valueOverrides(ScenarioRequest scenario) {
+        Map<Long, Double> overrides = new HashMap<>();
+        if (scenario.valueOverrides() != null) {
+            for (ValueOverride override : scenario.valueOverrides()) {
+                overrides.put(override.productCode(), override.value());
+            }
+        }
+        return overrides;
+    }
+
+    public BottleneckReportResponse analyzeBottlenecks() {
+        CompiledCatalog catalog = catalogLoader.load();
+        RelaxationResult relaxation = SimplexSolver.solve(catalog);
+        List<MaterialBottleneck> materials = new ArrayList<>(catalog.materialCount());
 
-        for (RawMaterial rawMaterial : rawMaterials) {
-            stock.put(rawMaterial.getCode(), rawMaterial.getStockQuantity());
+        for (int material = 0; material < catalog.materialCount(); material++) {
+            materials.add(new MaterialBottleneck(
+                catalog.materialCode(material),
+                catalog.materialName(material),
+                catalog.stock(material),
+                relaxation.usage()[material],
+                relaxation.slack()[material],
+                relaxation.isBinding(material),
+                relaxation.shadowPrices()[material]
+            ));
         }
 
-        return stock;
+        materials.sort(Comparator
+            .comparing(MaterialBottleneck::shadowPrice, Comparator.reverseOrder())
+            .thenComparing(MaterialBottleneck::rawMaterialCode));
+
+        return new BottleneckReportResponse(relaxation.objective(), relaxation.exact(), materials);
+    }
+
+    public ProductionStatsResponse getStats() {
+        return new ProductionStatsResponse(
+            catalogVersion.current(),
+            suggestionFlights.requests(),
+            suggestionFlights.computations(),
+            suggestionFlights.coalesced(),
+            suggestionFlights.inFlight(),
+            suggestionCache.hits(),
+            suggestionCache.misses(),
+            suggestionCache.evictions(),
+            suggestionCache.size()
+        );
+    }
+
+    public String validatePlanningRequest(String strategy, long timeBudgetMs, long maxIterations) {
+        ProductionStrategy productionStrategy = strategyRegistry.get(strategy);
+        validateLimits(timeBudgetMs, maxIterations);
+        return productionStrategy.name();
+    }
+
+    private void validateLimits(long timeBudgetMs, long maxIterations) {
+        if (timeBudgetMs < 1 || timeBudgetMs > MAX_TIME_BUDGET_MS) {
+            throw new ApiException("Time budget must be between 1 and " + MAX_TIME_BUDGET_MS + " ms");
+        }
+        if (maxIterations < 0) {
+            throw new ApiException("Max iterations must not be negative");
+        }
+    }
+
+    private PresolveSummary toPresolveSummary(PresolveResult presolved) {
+        return new PresolveSummary(
+            presolved.productsBefore(),
+            presolved.productsAfter(),
+            presolved.productsWithoutComposition(),
+            presolved.duplicateProducts(),
+            presolved.dominatedProducts(),
+            presolved.rawMaterialsBefore(),
+            presolved.rawMaterialsAfter()
+        );
     }
 
     
-    private String generateMessage(List<ProductionItem> suggestions, Double totalValue) {
-        if (suggestions.isEmpty()) {
+    private List<ProductionItem> toProductionItems(CompiledCatalog catalog, ProductionPlan plan) {
+        List<ProductionItem> items = new ArrayList<>(plan.size());
+
+        for (int line = 0; line < plan.size(); line++) {
+            items.add(toProductionItem(catalog, plan, line));
+        }
+
+        return items;
+    }
+
+    private ProductionItem toProductionItem(CompiledCatalog catalog, ProductionPlan plan, int line) {
+        int product = plan.product(line);
+        double unitValue = catalog.productValue(product);
+        int quantity = plan.quantity(line);
+
+        return new ProductionItem(
+            catalog.productCode(product),
+            catalog.productName(product),
+            quantity,
+            unitValue,
+            unitValue * quantity
+        );
+    }
+
+    private String generateMessage(int itemCount, Double totalValue) {
+        if (itemCount == 0) {
             return "Not enough raw materials to produce any product";
         }
 
         return String.format(
             "Production optimization suggests manufacturing %d product(s) for a total value of $%.2f",
-            suggestions.size(),
+            itemCount,
             totalValue
         );
     }
+
+    private record PlannedProduction(
+        CompiledCatalog catalog,
+        ProductionPlan plan,
+        String strategy,
+        Double optimalityGap,
+        PresolveResult presolve
+    ) {
+    }
+
+    private record SuggestionKey(String strategy, long timeBudgetMs, long maxIterations, long catalogVersion) {
+    }
+
+    private record LiveSuggestion(LiveProductionPlan source, ProductionSuggestionResponse response) {
+    }
 }
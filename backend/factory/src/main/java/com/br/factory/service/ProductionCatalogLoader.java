@@ -0,0 +1,38 @@
+package com.br.factory.service;
+
+import org.springframework.stereotype.Service;
+
+import com.br.factory.service.production.CompiledCatalog;
+
+/**
+ * Hands the solvers the compiled catalog of the current
+ * {@link CatalogSnapshot}, so planning never touches the database and never
+ * mixes requirements and stock from different commits. The stock includes
+ * the deltas still pending in the {@link StockAccumulator}, read settled
+ * against the snapshot so a flushing delta counts exactly once, less the
+ * active reservations.
+ */
+@Service
+public class ProductionCatalogLoader {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final StockAccumulator stockAccumulator;
+    private final StockReservationTable reservationTable;
+
+    public ProductionCatalogLoader(
+        CatalogSnapshotService catalogSnapshotService,
+        StockAccumulator stockAccumulator,
+        StockReservationTable reservationTable
+    ) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.stockAccumulator = stockAccumulator;
+        this.reservationTable = reservationTable;
+    }
+
+    public CompiledCatalog load() {
+        CompiledCatalog catalog = stockAccumulator.readSettled(
+            () -> stockAccumulator.withPending(catalogSnapshotService.current().catalog())
+        );
+        return reservationTable.available(catalog);
+    }
+}
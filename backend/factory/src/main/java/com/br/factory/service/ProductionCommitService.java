@@ -0,0 +1,122 @@
+package com.br.factory.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.br.factory.dto.production.MaterialConsumption;
+import com.br.factory.dto.production.ProductionCommitItem;
+import com.br.factory.dto.production.ProductionCommitResponse;
+import com.br.factory.dto.rawmaterial.StockAdjustment;
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.StockMovementReason;
+import com.br.factory.event.StockChangedEvent;
+import com.br.factory.exception.ConflictException;
+import com.br.factory.exception.ResourceNotFoundException;
+import com.br.factory.repository.ProductRepository;
+
+/**
+ * Deducts the raw materials of a production plan in one transaction. Every
+ * deduction is a ledger movement recorded only while enough stock is left,
+ * checked under per-material locks taken in raw material code order so
+ * concurrent commits lock in the same order. If any material falls short the whole commit is rolled
+ * back and reported as a conflict, so two commits can never over-consume a
+ * material between them. Reserved stock is not available to a commit: each
+ * deduction must leave the reserved quantity, less pending stock events, in
+ * place.
+ */
+@Service
+public class ProductionCommitService {
+
+    private final ProductRepository productRepository;
+    private final StockLedgerService stockLedgerService;
+    private final StockReservationTable reservationTable;
+    private final StockAccumulator stockAccumulator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductionCommitService(
+        ProductRepository productRepository,
+        StockLedgerService stockLedgerService,
+        StockReservationTable reservationTable,
+        StockAccumulator stockAccumulator,
+        ApplicationEventPublisher eventPublisher
+    ) {
+        this.productRepository = productRepository;
+        this.stockLedgerService = stockLedgerService;
+        this.reservationTable = reservationTable;
+        this.stockAccumulator = stockAccumulator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public ProductionCommitResponse commit(List<ProductionCommitItem> items) {
+        Map<Long, Long> quantityByProduct = new TreeMap<>();
+        for (ProductionCommitItem item : items) {
+            quantityByProduct.merge(item.productCode(), item.quantityToProduce().longValue(), Long::sum);
+        }
+
+        Map<Long, Product> products = productRepository.findByCodeInOrderByCode(quantityByProduct.keySet()).stream()
+            .collect(Collectors.toMap(Product::getCode, product -> product));
+
+        Map<Long, Long> requiredByMaterial = new TreeMap<>();
+        double totalValue = 0.0;
+        for (Map.Entry<Long, Long> entry : quantityByProduct.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", entry.getKey().toString());
+            }
+
+            totalValue += product.getValue() * entry.getValue();
+            for (ProductComposition composition : product.getCompositions()) {
+                requiredByMaterial.merge(
+                    composition.getRawMaterial().getCode(),
+                    entry.getValue() * composition.getQuantityRequired(),
+                    Long::sum
+                );
+            }
+        }
+
+        List<StockAdjustment> deductions = new ArrayList<>(requiredByMaterial.size());
+        List<Long> shortMaterials = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : requiredByMaterial.entrySet()) {
+            if (entry.getValue() > Integer.MAX_VALUE) {
+                shortMaterials.add(entry.getKey());
+            } else {
+                deductions.add(new StockAdjustment(entry.getKey(), -entry.getValue().intValue()));
+            }
+        }
+
+        if (shortMaterials.isEmpty() && !deductions.isEmpty()) {
+            int[] updated = stockLedgerService.apply(
+                deductions,
+                code -> reservationTable.minimumStock(code, stockAccumulator.pending(code)),
+                StockMovementReason.PRODUCTION
+            );
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    shortMaterials.add(deductions.get(i).rawMaterialCode());
+                }
+            }
+        }
+
+        if (!shortMaterials.isEmpty()) {
+            throw new ConflictException("Insufficient available stock to commit the plan for raw material(s) " + shortMaterials);
+        }
+
+        List<MaterialConsumption> consumedMaterials = deductions.stream()
+            .map(deduction -> new MaterialConsumption(deduction.rawMaterialCode(), -deduction.delta()))
+            .toList();
+        if (!requiredByMaterial.isEmpty()) {
+            eventPublisher.publishEvent(new StockChangedEvent(Set.copyOf(requiredByMaterial.keySet())));
+        }
+        return new ProductionCommitResponse(quantityByProduct.size(), totalValue, consumedMaterials);
+    }
+}
@@ -0,0 +1,114 @@
+package com.br.factory.service;
+
+import java.time.Instant;
+
+import com.br.factory.dto.production.ProductionJobStatus;
+import com.br.factory.dto.production.ProductionSuggestionResponse;
+import com.br.factory.service.production.CancellationToken;
+
+final class ProductionJob {
+
+    private final String id;
+    private final String strategy;
+    private final long timeBudgetMs;
+    private final long maxIterations;
+    private final Instant submittedAt;
+    private final CancellationToken cancellationToken = new CancellationToken();
+
+    private ProductionJobStatus status = ProductionJobStatus.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private ProductionSuggestionResponse result;
+    private String error;
+
+    ProductionJob(String id, String strategy, long timeBudgetMs, long maxIterations, Instant submittedAt) {
+        this.id = id;
+        this.strategy = strategy;
+        this.timeBudgetMs = timeBudgetMs;
+        this.maxIterations = maxIterations;
+        this.submittedAt = submittedAt;
+    }
+
+    synchronized boolean start(Instant now) {
+        if (status != ProductionJobStatus.QUEUED) {
+            return false;
+        }
+        status = ProductionJobStatus.RUNNING;
+        startedAt = now;
+        return true;
+    }
+
+    synchronized void succeed(ProductionSuggestionResponse result, Instant now) {
+        if (status == ProductionJobStatus.RUNNING) {
+            status = ProductionJobStatus.SUCCEEDED;
+            this.result = result;
+            finishedAt = now;
+        }
+    }
+
+    synchronized void fail(String error, Instant now) {
+        if (status == ProductionJobStatus.RUNNING) {
+            status = ProductionJobStatus.FAILED;
+            this.error = error;
+            finishedAt = now;
+        }
+    }
+
+    synchronized boolean cancel(Instant now) {
+        if (status != ProductionJobStatus.QUEUED && status != ProductionJobStatus.RUNNING) {
+            return false;
+        }
+        cancellationToken.cancel();
+        status = ProductionJobStatus.CANCELLED;
+        finishedAt = now;
+        return true;
+    }
+
+    synchronized boolean expiredBefore(Instant cutoff) {
+        return finishedAt != null && finishedAt.isBefore(cutoff);
+    }
+
+    String id() {
+        return id;
+    }
+
+    String strategy() {
+        return strategy;
+    }
+
+    long timeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    long maxIterations() {
+        return maxIterations;
+    }
+
+    Instant submittedAt() {
+        return submittedAt;
+    }
+
+    CancellationToken cancellationToken() {
+        return cancellationToken;
+    }
+
+    synchronized ProductionJobStatus status() {
+        return status;
+    }
+
+    synchronized Instant startedAt() {
+        return startedAt;
+    }
+
+    synchronized Instant finishedAt() {
+        return finishedAt;
+    }
+
+    synchronized ProductionSuggestionResponse result() {
+        return result;
+    }
+
+    synchronized String error() {
+        return error;
+    }
+}
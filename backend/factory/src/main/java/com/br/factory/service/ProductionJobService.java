@@ -0,0 +1,171 @@
+package com.br.factory.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.br.factory.dto.production.ProductionJobRequest;
+import com.br.factory.dto.production.ProductionJobResponse;
+import com.br.factory.dto.production.ProductionJobStatus;
+import com.br.factory.dto.production.ProductionSuggestionResponse;
+import com.br.factory.exception.ApiException;
+import com.br.factory.exception.ConflictException;
+import com.br.factory.exception.ResourceNotFoundException;
+import com.br.factory.exception.TooManyRequestsException;
+
+/**
+ * Runs production plans in the background, each job on its own virtual
+ * thread so a long plan never holds a request thread or a slot of the
+ * synchronous {@link PlanningBulkhead}. Jobs have their own admission
+ * control: the store caps how many jobs may be waiting or kept, and at most
+ * {@code max-running} of them plan at once while the rest stay queued.
+ */
+@Service
+public class ProductionJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductionJobService.class);
+
+    private final ProductionCalculationService productionCalculationService;
+    private final ExecutorService productionJobExecutor;
+    private final Semaphore runningJobs;
+    private final int maxStoredJobs;
+    private final Duration jobTtl;
+    private final Map<String, ProductionJob> jobs = new ConcurrentHashMap<>();
+
+    public ProductionJobService(
+        ProductionCalculationService productionCalculationService,
+        @Qualifier("productionJobExecutor") ExecutorService productionJobExecutor,
+        @Value("${factory.production.jobs.max-running:2}") int maxRunningJobs,
+        @Value("${factory.production.jobs.max-stored:1000}") int maxStoredJobs,
+        @Value("${factory.production.jobs.ttl-seconds:600}") long jobTtlSeconds
+    ) {
+        this.productionCalculationService = productionCalculationService;
+        this.productionJobExecutor = productionJobExecutor;
+        this.runningJobs = new Semaphore(maxRunningJobs, true);
+        this.maxStoredJobs = maxStoredJobs;
+        this.jobTtl = Duration.ofSeconds(jobTtlSeconds);
+    }
+
+    public ProductionJobResponse submit(ProductionJobRequest request) {
+        String requestedStrategy = request.strategy() != null
+            ? request.strategy()
+            : ProductionCalculationService.GREEDY_STRATEGY;
+        long timeBudgetMs = request.timeBudgetMs() != null
+            ? request.timeBudgetMs()
+            : ProductionCalculationService.DEFAULT_TIME_BUDGET_MS;
+        long maxIterations = request.maxIterations() != null ? request.maxIterations() : 0;
+        String strategy = productionCalculationService.validatePlanningRequest(requestedStrategy, timeBudgetMs, maxIterations);
+
+        if (jobs.size() >= maxStoredJobs) {
+            evictExpired();
+            if (jobs.size() >= maxStoredJobs) {
+                throw new TooManyRequestsException("Too many production jobs, try again later", jobTtl.toSeconds());
+            }
+        }
+
+        ProductionJob job = new ProductionJob(
+            UUID.randomUUID().toString(),
+            strategy,
+            timeBudgetMs,
+            maxIterations,
+            Instant.now()
+        );
+        jobs.put(job.id(), job);
+
+        try {
+            productionJobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.id());
+            throw new ApiException("Production job executor is not accepting jobs", HttpStatus.SERVICE_UNAVAILABLE, ex);
+        }
+
+        return toResponse(job);
+    }
+
+    public ProductionJobResponse getJob(String id) {
+        return toResponse(findJob(id));
+    }
+
+    public ProductionSuggestionResponse getResult(String id) {
+        ProductionJob job = findJob(id);
+        ProductionJobStatus status = job.status();
+        if (status != ProductionJobStatus.SUCCEEDED) {
+            throw new ConflictException("Production job " + id + " has no result, status is " + status);
+        }
+        return job.result();
+    }
+
+    public ProductionJobResponse cancel(String id) {
+        ProductionJob job = findJob(id);
+        job.cancel(Instant.now());
+        return toResponse(job);
+    }
+
+    @Scheduled(fixedDelayString = "${factory.production.jobs.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        Instant cutoff = Instant.now().minus(jobTtl);
+        jobs.values().removeIf(job -> job.expiredBefore(cutoff));
+    }
+
+    private void run(ProductionJob job) {
+        try {
+            runningJobs.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.cancel(Instant.now());
+            return;
+        }
+
+        try {
+            if (!job.start(Instant.now())) {
+                return;
+            }
+            ProductionSuggestionResponse result = productionCalculationService.calculateOptimalProduction(
+                job.strategy(),
+                job.timeBudgetMs(),
+                job.maxIterations(),
+                job.cancellationToken()
+            );
+            job.succeed(result, Instant.now());
+        } catch (RuntimeException ex) {
+            log.warn("Production job {} failed", job.id(), ex);
+            job.fail(ex.getMessage(), Instant.now());
+        } finally {
+            runningJobs.release();
+        }
+    }
+
+    private ProductionJob findJob(String id) {
+        ProductionJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("ProductionJob", id);
+        }
+        return job;
+    }
+
+    private ProductionJobResponse toResponse(ProductionJob job) {
+        return new ProductionJobResponse(
+            job.id(),
+            job.status(),
+            job.strategy(),
+            job.timeBudgetMs(),
+            job.submittedAt(),
+            job.startedAt(),
+            job.finishedAt(),
+            job.error()
+        );
+    }
+}
@@ -1,36 +1,77 @@
 package com.br.factory.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.br.factory.dto.rawmaterial.RawMaterialRequest;
 import com.br.factory.dto.rawmaterial.RawMaterialUpdate;
+import com.br.factory.dto.rawmaterial.StockAdjustment;
+import com.br.factory.dto.rawmaterial.StockAdjustmentResponse;
+import com.br.factory.dto.rawmaterial.StockAdjustmentResult;
+import com.br.factory.dto.rawmaterial.StockAdjustmentStatus;
 import com.br.factory.entity.RawMaterial;
+import com.br.factory.entity.StockMovementReason;
+import com.br.factory.event.CatalogChangedEvent;
+import com.br.factory.event.StockChangedEvent;
 import com.br.factory.exception.ConflictException;
 import com.br.factory.exception.ResourceNotFoundException;
 import com.br.factory.repository.ProductCompositionRepository;
 import com.br.factory.repository.RawMaterialRepository;
+import com.br.factory.repository.RawMaterialStockRepository;
 
 @Service
 public class RawMaterialService {
     
     private final RawMaterialRepository rawMaterialRepository;
+    private final RawMaterialStockRepository rawMaterialStockRepository;
     private final ProductCompositionRepository productCompositionRepository;
-
-    public RawMaterialService(RawMaterialRepository rawMaterialRepository, ProductCompositionRepository productCompositionRepository) {
+    private final StockLedgerService stockLedgerService;
+    private final StockReservationTable reservationTable;
+    private final ObjectProvider<StockAccumulator> stockAccumulator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RawMaterialService(
+        RawMaterialRepository rawMaterialRepository,
+        RawMaterialStockRepository rawMaterialStockRepository,
+        ProductCompositionRepository productCompositionRepository,
+        StockLedgerService stockLedgerService,
+        StockReservationTable reservationTable,
+        ObjectProvider<StockAccumulator> stockAccumulator,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.rawMaterialRepository = rawMaterialRepository;
+        this.rawMaterialStockRepository = rawMaterialStockRepository;
         this.productCompositionRepository = productCompositionRepository;
+        this.stockLedgerService = stockLedgerService;
+        this.reservationTable = reservationTable;
+        this.stockAccumulator = stockAccumulator;
+        this.eventPublisher = eventPublisher;
     }
 
 
+    @Transactional
     public RawMaterial createRawMaterial(RawMaterialRequest dto) {
-        RawMaterial rawMaterial = dto.toEntity();
-        return rawMaterialRepository.save(rawMaterial);
+        RawMaterial rawMaterial = rawMaterialRepository.save(dto.toEntity());
+        stockLedgerService.record(Map.of(rawMaterial.getCode(), rawMaterial.getStockQuantity()), StockMovementReason.OPENING);
+        eventPublisher.publishEvent(new StockChangedEvent(Set.of(rawMaterial.getCode())));
+        return rawMaterial;
     }
 
 
+    @Transactional
     public RawMaterial updateRawMaterial(RawMaterialUpdate dto, Long code) {
         Optional<RawMaterial> optional = rawMaterialRepository.findById(code);
 
@@ -43,9 +84,92 @@ public class RawMaterialService {
             rawMaterial.setName(dto.name());
         }
 
-        rawMaterial.setStockQuantity(dto.stockQuantity());
-        
-        return rawMaterialRepository.save(rawMaterial);
+        RawMaterial savedRawMaterial = rawMaterialRepository.save(rawMaterial);
+        if (dto.stockQuantity() != null) {
+            stockLedgerService.correct(code, dto.stockQuantity());
+            savedRawMaterial.setStockQuantity(dto.stockQuantity());
+            eventPublisher.publishEvent(new StockChangedEvent(Set.of(code)));
+        }
+        return savedRawMaterial;
+    }
+
+
+    @Transactional
+    public StockAdjustmentResponse adjustStock(List<StockAdjustment> adjustments) {
+        return applyStockDeltas(adjustments, this::minimumStock);
+    }
+
+
+    @Transactional
+    public StockAdjustmentResponse recordStockEvents(List<StockAdjustment> events) {
+        return applyStockDeltas(events, code -> 0L);
+    }
+
+
+    private StockAdjustmentResponse applyStockDeltas(List<StockAdjustment> adjustments, ToLongFunction<Long> minimumStock) {
+        Map<Long, Long> netDeltas = new TreeMap<>();
+        for (StockAdjustment adjustment : adjustments) {
+            netDeltas.merge(adjustment.rawMaterialCode(), adjustment.delta().longValue(), Long::sum);
+        }
+
+        List<StockAdjustment> deltas = new ArrayList<>(netDeltas.size());
+        Set<Long> rejectedCodes = new HashSet<>();
+        for (Map.Entry<Long, Long> entry : netDeltas.entrySet()) {
+            long delta = entry.getValue();
+            if (delta < Integer.MIN_VALUE || delta > Integer.MAX_VALUE) {
+                rejectedCodes.add(entry.getKey());
+            } else {
+                deltas.add(new StockAdjustment(entry.getKey(), (int) delta));
+            }
+        }
+
+        int[] updated = deltas.isEmpty() ? new int[0] : stockLedgerService.apply(deltas, minimumStock, StockMovementReason.ADJUSTMENT);
+
+        Map<Long, Integer> appliedDeltas = new HashMap<>(deltas.size() * 2);
+        for (int i = 0; i < updated.length; i++) {
+            StockAdjustment delta = deltas.get(i);
+            if (updated[i] > 0) {
+                appliedDeltas.put(delta.rawMaterialCode(), delta.delta());
+            } else {
+                rejectedCodes.add(delta.rawMaterialCode());
+            }
+        }
+
+        Map<Long, Long> rejectedStock = rawMaterialStockRepository.currentStock(rejectedCodes);
+
+        List<StockAdjustmentResult> results = new ArrayList<>(adjustments.size());
+        int applied = 0;
+        for (StockAdjustment adjustment : adjustments) {
+            StockAdjustmentStatus status;
+            if (appliedDeltas.containsKey(adjustment.rawMaterialCode())) {
+                status = StockAdjustmentStatus.APPLIED;
+                applied++;
+            } else if (rejectedStock.containsKey(adjustment.rawMaterialCode())) {
+                long netStock = rejectedStock.get(adjustment.rawMaterialCode()) + netDeltas.get(adjustment.rawMaterialCode());
+                status = netStock >= 0 && netStock <= Integer.MAX_VALUE
+                    ? StockAdjustmentStatus.RESERVED
+                    : StockAdjustmentStatus.OUT_OF_RANGE;
+            } else {
+                status = StockAdjustmentStatus.NOT_FOUND;
+            }
+            results.add(new StockAdjustmentResult(
+                adjustment.rawMaterialCode(),
+                adjustment.delta(),
+                netDeltas.get(adjustment.rawMaterialCode()),
+                status
+            ));
+        }
+
+        if (!appliedDeltas.isEmpty()) {
+            eventPublisher.publishEvent(new StockChangedEvent(Set.copyOf(appliedDeltas.keySet())));
+        }
+        return new StockAdjustmentResponse(applied, adjustments.size() - applied, results);
+    }
+
+
+    private long minimumStock(Long code) {
+        StockAccumulator accumulator = stockAccumulator.getIfAvailable();
+        return reservationTable.minimumStock(code, accumulator != null ? accumulator.pending(code) : 0L);
     }
 
 
@@ -60,6 +184,11 @@ public class RawMaterialService {
     }
 
 
+    public List<RawMaterial> getRawMaterialsByCodes(Collection<Long> codes) {
+        return rawMaterialRepository.findAllById(codes);
+    }
+
+
     public void deleteRawMaterial(Long code) {
         if (!rawMaterialRepository.existsById(code)) {
             throw new ResourceNotFoundException("RawMaterial", code.toString());
@@ -71,5 +200,6 @@ public class RawMaterialService {
         }
         
         rawMaterialRepository.deleteById(code);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Set.of(), Set.of(code)));
     }
 }
@@ -0,0 +1,72 @@
+package com.br.factory.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Bounded least-recently-used map with hit, miss and eviction counts. Keys
+ * carry the catalog version they were computed at, so entries are never
+ * updated in place; a change simply makes new keys and the old ones age out
+ * or are dropped with {@link #evictIf}.
+ */
+final class ResultCache<K, V> {
+
+    private final int maxEntries;
+    private final LinkedHashMap<K, V> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    ResultCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > ResultCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    synchronized void put(K key, V value) {
+        if (maxEntries > 0) {
+            entries.put(key, value);
+        }
+    }
+
+    synchronized void evictIf(Predicate<K> stale) {
+        int before = entries.size();
+        entries.keySet().removeIf(stale);
+        evictions += before - entries.size();
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    synchronized long evictions() {
+        return evictions;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
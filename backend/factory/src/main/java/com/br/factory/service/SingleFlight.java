@@ -0,0 +1,73 @@
+package com.br.factory.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one computation per key at a time; callers arriving while it
+ * runs wait for it and share its result or exception instead of starting
+ * their own. Nothing is kept once the computation finishes.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    V execute(K key, Supplier<V> computation) {
+        requests.increment();
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, created);
+
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        computations.increment();
+        try {
+            V value = computation.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            created.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long computations() {
+        return computations.sum();
+    }
+
+    long coalesced() {
+        return coalesced.sum();
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.br.factory.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.br.factory.dto.rawmaterial.StockAdjustment;
+import com.br.factory.dto.rawmaterial.StockAdjustmentResponse;
+import com.br.factory.dto.rawmaterial.StockAdjustmentResult;
+import com.br.factory.dto.rawmaterial.StockAdjustmentStatus;
+import com.br.factory.event.AvailableStockChangedEvent;
+import com.br.factory.event.StockChangedEvent;
+import com.br.factory.service.production.CompiledCatalog;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Absorbs high-rate stock events in memory and writes them behind. Each raw
+ * material has a {@link LongAdder}, so concurrent events on one material
+ * never contend on a lock or a row. A flush takes the current sum of every
+ * counter and applies the coalesced deltas as one stock adjustment batch.
+ * Deltas the range check rejects stay pending and are retried, while deltas
+ * for a deleted raw material are dropped. A flush runs on an interval, when
+ * the pending event count reaches the threshold, and on shutdown.
+ * <p>
+ * Planning adds the pending deltas to the stored stock, so an applied delta
+ * must leave the counters exactly when the stored stock takes it in. The
+ * flush takes a settle lock just before its batch commits and subtracts the
+ * applied deltas right after the catalog snapshot has reloaded them, then
+ * releases it; events added meanwhile stay pending. Readers that combine
+ * stored stock with the pending deltas do so through
+ * {@link #readSettled(Supplier)}, which never sees the commit without the
+ * subtraction or the other way round.
+ * <p>
+ * Every accepted batch and every flush publishes an
+ * {@link AvailableStockChangedEvent}, so the live plan and the cached
+ * suggestions follow the pending deltas too.
+ */
+@Service
+public class StockAccumulator {
+
+    private static final Logger log = LoggerFactory.getLogger(StockAccumulator.class);
+
+    private final RawMaterialService rawMaterialService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long flushThreshold;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final LongAdder eventsSinceFlush = new LongAdder();
+    private final LongAdder rejectedDeltas = new LongAdder();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final StampedLock settleLock = new StampedLock();
+    private Map<Long, Integer> settling;
+    private long settleStamp;
+
+    public StockAccumulator(
+        RawMaterialService rawMaterialService,
+        ApplicationEventPublisher eventPublisher,
+        @Value("${factory.stock-accumulator.flush-threshold:10000}") long flushThreshold
+    ) {
+        this.rawMaterialService = rawMaterialService;
+        this.eventPublisher = eventPublisher;
+        this.flushThreshold = flushThreshold;
+    }
+
+    public void add(List<StockAdjustment> events) {
+        Set<Long> codes = new HashSet<>();
+        for (StockAdjustment event : events) {
+            pending.computeIfAbsent(event.rawMaterialCode(), code -> new LongAdder()).add(event.delta());
+            codes.add(event.rawMaterialCode());
+        }
+        eventsSinceFlush.add(events.size());
+        if (!codes.isEmpty()) {
+            eventPublisher.publishEvent(new AvailableStockChangedEvent(codes));
+        }
+
+        if (eventsSinceFlush.sum() >= flushThreshold) {
+            flush();
+        }
+    }
+
+    public long pending(Long code) {
+        LongAdder counter = pending.get(code);
+        return counter != null ? counter.sum() : 0L;
+    }
+
+    public int withPending(Long code, int stock) {
+        return (int) Math.max(0L, Math.min(Integer.MAX_VALUE, stock + pending(code)));
+    }
+
+    public CompiledCatalog withPending(CompiledCatalog catalog) {
+        int[] stock = null;
+        for (int material = 0; material < catalog.materialCount(); material++) {
+            long delta = pending(catalog.materialCode(material));
+            if (delta != 0) {
+                if (stock == null) {
+                    stock = catalog.copyStock();
+                }
+                stock[material] = withPending(catalog.materialCode(material), stock[material]);
+            }
+        }
+        return stock != null ? catalog.withStock(stock) : catalog;
+    }
+
+    /**
+     * Runs a read of stored stock plus pending deltas so that it does not
+     * overlap a flush between its commit and the subtraction of what it
+     * applied. The read is retried under the lock if a flush interleaved.
+     */
+    public <T> T readSettled(Supplier<T> read) {
+        long stamp = settleLock.tryOptimisticRead();
+        if (stamp != 0) {
+            T result = read.get();
+            if (settleLock.validate(stamp)) {
+                return result;
+            }
+        }
+
+        stamp = settleLock.readLock();
+        try {
+            return read.get();
+        } finally {
+            settleLock.unlockRead(stamp);
+        }
+    }
+
+    public long rejectedDeltas() {
+        return rejectedDeltas.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${factory.stock-accumulator.flush-interval-ms:500}")
+    public void flush() {
+        if (flushLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLock.lock();
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drain() {
+        eventsSinceFlush.reset();
+
+        List<StockAdjustment> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long sum = entry.getValue().sum();
+            if (sum == 0) {
+                continue;
+            }
+            int delta = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, sum));
+            batch.add(new StockAdjustment(entry.getKey(), delta));
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        settling = new HashMap<>(batch.size() * 2);
+        batch.forEach(adjustment -> settling.put(adjustment.rawMaterialCode(), adjustment.delta()));
+
+        StockAdjustmentResponse response;
+        try {
+            response = rawMaterialService.recordStockEvents(batch);
+        } catch (RuntimeException e) {
+            settling = null;
+            log.warn("Failed to flush {} pending stock delta(s), retrying on the next flush", batch.size(), e);
+            return;
+        } finally {
+            releaseSettleLock();
+        }
+
+        Set<Long> settled = new HashSet<>();
+        try {
+            for (StockAdjustmentResult result : response.results()) {
+                switch (result.status()) {
+                    case APPLIED -> {
+                        settle(result.rawMaterialCode());
+                        settled.add(result.rawMaterialCode());
+                    }
+                    case NOT_FOUND -> {
+                        settle(result.rawMaterialCode());
+                        settled.add(result.rawMaterialCode());
+                        rejectedDeltas.increment();
+                        log.warn("Dropped pending stock delta {} for deleted raw material {}", result.delta(), result.rawMaterialCode());
+                    }
+                    default -> {
+                        rejectedDeltas.increment();
+                        log.warn(
+                            "Stock delta {} for raw material {} was rejected ({}); keeping it pending",
+                            result.delta(),
+                            result.rawMaterialCode(),
+                            result.status()
+                        );
+                    }
+                }
+            }
+        } finally {
+            settling = null;
+        }
+
+        if (!settled.isEmpty()) {
+            eventPublisher.publishEvent(new AvailableStockChangedEvent(settled));
+        }
+    }
+
+    /**
+     * Takes the settle lock as the flush's batch is about to commit, so no
+     * settled read can see the committed stock before the subtraction.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onFlushCommitting(StockChangedEvent event) {
+        if (isFlushing() && settleStamp == 0) {
+            settleStamp = settleLock.writeLock();
+        }
+    }
+
+    /**
+     * Subtracts the applied deltas once the snapshot listener, which runs
+     * first, has reloaded their stock, and before the live plan rebuilds.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener
+    public void onFlushCommitted(StockChangedEvent event) {
+        if (!isFlushing()) {
+            return;
+        }
+
+        try {
+            event.rawMaterialCodes().forEach(this::settle);
+        } finally {
+            releaseSettleLock();
+        }
+    }
+
+    private boolean isFlushing() {
+        return flushLock.isHeldByCurrentThread() && settling != null;
+    }
+
+    private void settle(Long code) {
+        Integer delta = settling.remove(code);
+        if (delta != null) {
+            subtract(code, delta);
+        }
+    }
+
+    private void releaseSettleLock() {
+        if (settleStamp != 0) {
+            settleLock.unlockWrite(settleStamp);
+            settleStamp = 0;
+        }
+    }
+
+    private void subtract(Long code, int delta) {
+        LongAdder counter = pending.get(code);
+        if (counter != null) {
+            counter.add(-delta);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.br.factory.service;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record StockHold(String orderId, Map<Long, Integer> quantities, Instant expiresAt) {
+    
+}
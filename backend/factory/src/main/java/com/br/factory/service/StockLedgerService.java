@@ -0,0 +1,239 @@
+package com.br.factory.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.factory.dto.page.CursorPage;
+import com.br.factory.dto.rawmaterial.StockAdjustment;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.entity.StockMovement;
+import com.br.factory.entity.StockMovementReason;
+import com.br.factory.entity.StockSnapshot;
+import com.br.factory.exception.ResourceNotFoundException;
+import com.br.factory.repository.MaterialDelta;
+import com.br.factory.repository.RawMaterialRepository;
+import com.br.factory.repository.RawMaterialStockRepository;
+import com.br.factory.repository.StockMovementRepository;
+import com.br.factory.repository.StockSnapshotRepository;
+
+/**
+ * Append-only ledger of stock movements with periodic snapshots. Every stock
+ * change is a signed delta appended to {@code stock_movements}; the current
+ * stock is what the compactor last folded into the raw material row plus the
+ * movements recorded since, so concurrent writers insert rows of their own
+ * instead of updating one hot row. Openings are recorded already folded, as
+ * the row is created with them.
+ * <p>
+ * The compactor also folds the movements older than a safety lag into one
+ * history snapshot per touched material, all covering up to the same
+ * instant. The stock at any past instant is the last snapshot covering it
+ * plus the movements after it. The lag keeps a movement from committing
+ * behind a snapshot that already covers its timestamp; on PostgreSQL an
+ * advisory lock lets one node compact at a time.
+ */
+@Service
+public class StockLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedgerService.class);
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final long LEDGER_LOCK_KEY = 0x5354_4f43_4bL;
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final RawMaterialStockRepository rawMaterialStockRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration compactionLag;
+    private volatile Boolean postgresql;
+
+    public StockLedgerService(
+        StockMovementRepository stockMovementRepository,
+        StockSnapshotRepository stockSnapshotRepository,
+        RawMaterialRepository rawMaterialRepository,
+        RawMaterialStockRepository rawMaterialStockRepository,
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        @Value("${factory.stock-ledger.compaction-lag-seconds:60}") long compactionLagSeconds
+    ) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.stockSnapshotRepository = stockSnapshotRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.rawMaterialStockRepository = rawMaterialStockRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.compactionLag = Duration.ofSeconds(compactionLagSeconds);
+    }
+
+    /**
+     * Records each delta that keeps its material's stock between zero and
+     * the column range, and returns 1 for a recorded delta and 0 for a
+     * rejected or unknown one, like a batch update count. A deduction must
+     * also leave {@code minimumStock} in place, so it cannot consume
+     * reserved stock. Callers pass at most one delta per code.
+     */
+    @Transactional
+    public int[] apply(List<StockAdjustment> adjustments, ToLongFunction<Long> minimumStock, StockMovementReason reason) {
+        rawMaterialStockRepository.lock(adjustments.stream()
+            .filter(adjustment -> adjustment.delta() < 0)
+            .map(StockAdjustment::rawMaterialCode)
+            .toList());
+        Map<Long, Long> stock = rawMaterialStockRepository.currentStock(adjustments.stream()
+            .map(StockAdjustment::rawMaterialCode)
+            .toList());
+
+        int[] applied = new int[adjustments.size()];
+        Map<Long, Integer> recorded = new LinkedHashMap<>(adjustments.size() * 2);
+        for (int i = 0; i < applied.length; i++) {
+            StockAdjustment adjustment = adjustments.get(i);
+            Long current = stock.get(adjustment.rawMaterialCode());
+            if (current == null) {
+                continue;
+            }
+
+            long next = current + adjustment.delta();
+            long minimum = adjustment.delta() < 0 ? minimumStock.applyAsLong(adjustment.rawMaterialCode()) : 0L;
+            if (next >= minimum && next <= Integer.MAX_VALUE) {
+                applied[i] = 1;
+                recorded.put(adjustment.rawMaterialCode(), adjustment.delta());
+            }
+        }
+        record(recorded, reason);
+        return applied;
+    }
+
+    @Transactional
+    public void correct(Long code, int stockQuantity) {
+        rawMaterialStockRepository.lock(List.of(code));
+        long current = rawMaterialStockRepository.currentStock(List.of(code)).getOrDefault(code, 0L);
+        record(Map.of(code, (int) (stockQuantity - current)), StockMovementReason.CORRECTION);
+    }
+
+    public void record(Map<Long, Integer> deltas, StockMovementReason reason) {
+        Instant now = Instant.now();
+        boolean folded = reason == StockMovementReason.OPENING;
+        List<StockMovement> movements = new ArrayList<>(deltas.size());
+        deltas.forEach((code, delta) -> {
+            if (delta != 0) {
+                movements.add(new StockMovement(code, delta, reason, now, folded));
+            }
+        });
+        if (!movements.isEmpty()) {
+            stockMovementRepository.saveAllAndFlush(movements);
+        }
+    }
+
+    public long stockAt(Long code, Instant at) {
+        if (!rawMaterialRepository.existsById(code)) {
+            throw new ResourceNotFoundException("RawMaterial", code.toString());
+        }
+
+        StockSnapshot snapshot = stockSnapshotRepository
+            .findFirstByRawMaterialCodeAndCoveredUntilLessThanEqualOrderByCoveredUntilDesc(code, at)
+            .orElse(null);
+        long base = snapshot != null ? snapshot.getQuantity() : 0L;
+        Instant from = snapshot != null ? snapshot.getCoveredUntil() : Instant.EPOCH;
+        return base + stockMovementRepository.sumDeltas(code, from, at);
+    }
+
+    public CursorPage<StockMovement> getMovementPage(Long code, Long after, int limit) {
+        KeysetPage.validateLimit(limit);
+        if (!rawMaterialRepository.existsById(code)) {
+            throw new ResourceNotFoundException("RawMaterial", code.toString());
+        }
+
+        List<StockMovement> movements = stockMovementRepository.findByRawMaterialCodeAndIdGreaterThanOrderById(
+            code,
+            KeysetPage.after(after),
+            Limit.of(limit + 1)
+        );
+        return KeysetPage.of(movements, limit, StockMovement::getId);
+    }
+
+    @Scheduled(fixedDelayString = "${factory.stock-ledger.compaction-interval-ms:60000}")
+    public void compact() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tryLockLedger()) {
+                return;
+            }
+
+            int folded = rawMaterialStockRepository.fold();
+            if (folded > 0) {
+                log.debug("Folded {} stock movement(s) into the raw material rows", folded);
+            }
+
+            Instant cutoff = Instant.now().minus(compactionLag).truncatedTo(ChronoUnit.MICROS);
+            Instant from = stockSnapshotRepository.findLatestCoveredUntil().orElse(Instant.EPOCH);
+            if (!cutoff.isAfter(from)) {
+                return;
+            }
+
+            List<MaterialDelta> deltas = stockMovementRepository.sumDeltasByMaterial(from, cutoff);
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            Map<Long, Long> previous = new HashMap<>(deltas.size() * 2);
+            List<Long> codes = deltas.stream().map(MaterialDelta::rawMaterialCode).toList();
+            for (StockSnapshot snapshot : stockSnapshotRepository.findLatestByRawMaterialCodeIn(codes)) {
+                previous.put(snapshot.getRawMaterialCode(), snapshot.getQuantity());
+            }
+
+            List<StockSnapshot> snapshots = new ArrayList<>(deltas.size());
+            for (MaterialDelta delta : deltas) {
+                long quantity = previous.getOrDefault(delta.rawMaterialCode(), 0L) + delta.delta();
+                snapshots.add(new StockSnapshot(delta.rawMaterialCode(), quantity, cutoff));
+            }
+            stockSnapshotRepository.saveAll(snapshots);
+            log.debug("Compacted stock movements up to {} into {} snapshot(s)", cutoff, snapshots.size());
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void openLedgers() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tryLockLedger()) {
+                return;
+            }
+
+            Map<Long, Integer> openings = new HashMap<>();
+            for (RawMaterial rawMaterial : rawMaterialRepository.findWithoutStockLedger()) {
+                openings.put(rawMaterial.getCode(), rawMaterial.getStockQuantity());
+            }
+            if (!openings.isEmpty()) {
+                record(openings, StockMovementReason.OPENING);
+                log.info("Opened the stock ledger of {} raw material(s)", openings.size());
+            }
+        });
+    }
+
+    private boolean tryLockLedger() {
+        if (postgresql == null) {
+            postgresql = POSTGRESQL.equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+            ));
+        }
+        return !postgresql
+            || Boolean.TRUE.equals(jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, LEDGER_LOCK_KEY));
+    }
+}
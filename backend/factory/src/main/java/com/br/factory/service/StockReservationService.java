@@ -0,0 +1,186 @@
+package com.br.factory.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.factory.dto.reservation.ReservationLine;
+import com.br.factory.dto.reservation.ReservationRequest;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.entity.StockReservation;
+import com.br.factory.event.AvailableStockChangedEvent;
+import com.br.factory.exception.ResourceNotFoundException;
+import com.br.factory.repository.StockReservationRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Places and releases time-limited stock holds for orders. Holds live in the
+ * {@link StockReservationTable}; expiry is driven by a timer wheel ticking on
+ * the scheduler, and changed orders are written to {@code stock_reservations}
+ * in batches behind the request path, then read back on startup. A hold is
+ * checked against stored stock plus pending stock events. Every change is
+ * published as an available stock change so the planner sees the new
+ * available stock without reloading the stored rows.
+ */
+@Service
+public class StockReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+    private static final int WHEEL_SLOTS = 512;
+
+    private final StockReservationTable reservationTable;
+    private final RawMaterialService rawMaterialService;
+    private final StockAccumulator stockAccumulator;
+    private final StockReservationRepository stockReservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TimerWheel<StockHold> expiryWheel;
+    private final Set<String> dirtyOrders = ConcurrentHashMap.newKeySet();
+
+    public StockReservationService(
+        StockReservationTable reservationTable,
+        RawMaterialService rawMaterialService,
+        StockAccumulator stockAccumulator,
+        StockReservationRepository stockReservationRepository,
+        TransactionTemplate transactionTemplate,
+        ApplicationEventPublisher eventPublisher,
+        @Value("${factory.reservations.tick-ms:1000}") long tickMillis
+    ) {
+        this.reservationTable = reservationTable;
+        this.rawMaterialService = rawMaterialService;
+        this.stockAccumulator = stockAccumulator;
+        this.stockReservationRepository = stockReservationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.expiryWheel = new TimerWheel<>(tickMillis, WHEEL_SLOTS, System.currentTimeMillis());
+    }
+
+    public StockHold reserve(ReservationRequest request) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (ReservationLine line : request.lines()) {
+            quantities.merge(line.rawMaterialCode(), line.quantity(), (held, added) -> (int) Math.min(Integer.MAX_VALUE, (long) held + added));
+        }
+
+        Map<Long, Integer> stock = stockAccumulator.readSettled(() -> {
+            Map<Long, Integer> settled = new HashMap<>();
+            for (RawMaterial rawMaterial : rawMaterialService.getRawMaterialsByCodes(quantities.keySet())) {
+                settled.put(rawMaterial.getCode(), stockAccumulator.withPending(rawMaterial.getCode(), rawMaterial.getStockQuantity()));
+            }
+            return settled;
+        });
+        for (Long code : quantities.keySet()) {
+            if (!stock.containsKey(code)) {
+                throw new ResourceNotFoundException("RawMaterial", code.toString());
+            }
+        }
+
+        StockHold hold = reservationTable.place(
+            new StockHold(request.orderId(), Map.copyOf(quantities), Instant.now().plusSeconds(request.ttlSeconds())),
+            stock
+        );
+        expiryWheel.schedule(hold, hold.expiresAt().toEpochMilli());
+        changed(hold);
+        return hold;
+    }
+
+    public StockHold getReservation(String orderId) {
+        return reservationTable.find(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Reservation", orderId));
+    }
+
+    public void release(String orderId) {
+        StockHold hold = reservationTable.release(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Reservation", orderId));
+        changed(hold);
+    }
+
+    @Scheduled(fixedRateString = "${factory.reservations.tick-ms:1000}")
+    public void expireDue() {
+        for (StockHold hold : expiryWheel.advance(System.currentTimeMillis())) {
+            if (reservationTable.expire(hold)) {
+                changed(hold);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${factory.reservations.flush-interval-ms:1000}")
+    public void flush() {
+        if (dirtyOrders.isEmpty()) {
+            return;
+        }
+
+        List<String> orderIds = new ArrayList<>();
+        for (String orderId : dirtyOrders) {
+            if (dirtyOrders.remove(orderId)) {
+                orderIds.add(orderId);
+            }
+        }
+
+        List<StockReservation> rows = new ArrayList<>();
+        for (String orderId : orderIds) {
+            reservationTable.find(orderId).ifPresent(hold -> hold.quantities().forEach((code, quantity) ->
+                rows.add(new StockReservation(orderId, code, quantity, hold.expiresAt()))
+            ));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                stockReservationRepository.deleteByOrderIds(orderIds);
+                stockReservationRepository.saveAll(rows);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist {} reservation change(s), retrying on the next flush", orderIds.size(), e);
+            dirtyOrders.addAll(orderIds);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        Map<String, List<StockReservation>> rowsByOrder = new HashMap<>();
+        for (StockReservation row : stockReservationRepository.findByExpiresAtAfter(Instant.now())) {
+            rowsByOrder.computeIfAbsent(row.getOrderId(), orderId -> new ArrayList<>()).add(row);
+        }
+
+        Set<Long> codes = new HashSet<>();
+        rowsByOrder.forEach((orderId, rows) -> {
+            Map<Long, Integer> quantities = new HashMap<>();
+            rows.forEach(row -> quantities.merge(row.getRawMaterialCode(), row.getQuantity(), Integer::sum));
+            StockHold hold = new StockHold(orderId, Map.copyOf(quantities), rows.get(0).getExpiresAt());
+            reservationTable.restore(hold);
+            expiryWheel.schedule(hold, hold.expiresAt().toEpochMilli());
+            codes.addAll(quantities.keySet());
+        });
+
+        if (!codes.isEmpty()) {
+            log.info("Restored {} stock reservation(s)", rowsByOrder.size());
+            eventPublisher.publishEvent(new AvailableStockChangedEvent(codes));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void changed(StockHold hold) {
+        dirtyOrders.add(hold.orderId());
+        eventPublisher.publishEvent(new AvailableStockChangedEvent(hold.quantities().keySet()));
+    }
+}
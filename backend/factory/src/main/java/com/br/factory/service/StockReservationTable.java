@@ -0,0 +1,118 @@
+package com.br.factory.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.br.factory.exception.ConflictException;
+import com.br.factory.service.production.CompiledCatalog;
+
+/**
+ * In-memory stock holds by order, with the reserved total per raw material.
+ * Each material's total is checked and raised in one
+ * {@link ConcurrentHashMap#compute} call, so placing a hold only contends
+ * with holds on the same materials and never touches the raw material rows.
+ * An order's materials are taken in code order and given back if one falls
+ * short. Deductions keep stored stock at or above {@link #minimumStock}, so
+ * they cannot consume what is held.
+ */
+@Component
+public class StockReservationTable {
+
+    private final Map<String, StockHold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> reserved = new ConcurrentHashMap<>();
+
+    public StockHold place(StockHold hold, Map<Long, Integer> stockByCode) {
+        if (holds.putIfAbsent(hold.orderId(), hold) != null) {
+            throw new ConflictException("Order " + hold.orderId() + " already holds a reservation");
+        }
+
+        List<Map.Entry<Long, Integer>> taken = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : new TreeMap<>(hold.quantities()).entrySet()) {
+            int stock = stockByCode.getOrDefault(line.getKey(), 0);
+            boolean[] granted = new boolean[1];
+            reserved.compute(line.getKey(), (code, current) -> {
+                int held = current != null ? current : 0;
+                if ((long) stock - held < line.getValue()) {
+                    return current;
+                }
+                granted[0] = true;
+                return held + line.getValue();
+            });
+
+            if (!granted[0]) {
+                taken.forEach(entry -> give(entry.getKey(), entry.getValue()));
+                holds.remove(hold.orderId(), hold);
+                throw new ConflictException("Insufficient available stock for raw material " + line.getKey());
+            }
+            taken.add(line);
+        }
+
+        return hold;
+    }
+
+    public Optional<StockHold> find(String orderId) {
+        return Optional.ofNullable(holds.get(orderId));
+    }
+
+    public Optional<StockHold> release(String orderId) {
+        StockHold hold = holds.remove(orderId);
+        if (hold == null) {
+            return Optional.empty();
+        }
+        hold.quantities().forEach(this::give);
+        return Optional.of(hold);
+    }
+
+    public boolean expire(StockHold hold) {
+        if (!holds.remove(hold.orderId(), hold)) {
+            return false;
+        }
+        hold.quantities().forEach(this::give);
+        return true;
+    }
+
+    public void restore(StockHold hold) {
+        if (holds.putIfAbsent(hold.orderId(), hold) == null) {
+            hold.quantities().forEach((code, quantity) -> reserved.merge(code, quantity, Integer::sum));
+        }
+    }
+
+    public Collection<StockHold> holds() {
+        return holds.values();
+    }
+
+    public int reserved(Long code) {
+        return reserved.getOrDefault(code, 0);
+    }
+
+    public int available(Long code, int stock) {
+        return Math.max(0, stock - reserved(code));
+    }
+
+    public long minimumStock(Long code, long pending) {
+        return Math.max(0L, reserved(code) - pending);
+    }
+
+    public CompiledCatalog available(CompiledCatalog catalog) {
+        if (reserved.isEmpty()) {
+            return catalog;
+        }
+
+        int[] stock = catalog.copyStock();
+        for (int material = 0; material < catalog.materialCount(); material++) {
+            stock[material] = available(catalog.materialCode(material), stock[material]);
+        }
+        return catalog.withStock(stock);
+    }
+
+    private void give(Long code, Integer quantity) {
+        reserved.computeIfPresent(code, (key, current) -> current > quantity ? current - quantity : null);
+    }
+}
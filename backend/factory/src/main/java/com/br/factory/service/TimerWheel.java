@@ -0,0 +1,75 @@
+package com.br.factory.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Hashed timer wheel: deadlines are bucketed into a ring of slots one tick
+ * wide, and each tick drains only its own slot, so expiring entries never
+ * scans the ones still pending. A deadline more than one turn away stays in
+ * its slot until the turn it falls in. Scheduling and each tick of
+ * {@link #advance} hold the same lock, so an entry never lands in a slot the
+ * cursor has already drained; the lock is held for one slot at a time.
+ */
+final class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final Queue<Entry<T>>[] slots;
+    private final Object lock = new Object();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int slotCount, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new Queue[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            slots[slot] = new ArrayDeque<>();
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    void schedule(T item, long deadlineMillis) {
+        long deadlineTick = ceilDiv(deadlineMillis, tickMillis);
+        synchronized (lock) {
+            long tick = Math.max(deadlineTick, currentTick + 1);
+            slots[slot(tick)].add(new Entry<>(item, tick));
+        }
+    }
+
+    List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long target = nowMillis / tickMillis;
+
+        while (true) {
+            synchronized (lock) {
+                if (currentTick >= target) {
+                    return due;
+                }
+                long tick = currentTick + 1;
+                Queue<Entry<T>> slot = slots[slot(tick)];
+                for (int pending = slot.size(); pending > 0; pending--) {
+                    Entry<T> entry = slot.poll();
+                    if (entry.tick() <= tick) {
+                        due.add(entry.item());
+                    } else {
+                        slot.add(entry);
+                    }
+                }
+                currentTick = tick;
+            }
+        }
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.length);
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    private record Entry<T>(T item, long tick) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.br.factory.service.production;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Heap bytes allocated by all live threads between {@link #start()} and
+ * {@link #allocatedBytes()}, so work handed to the production pool is counted
+ * along with the calling thread. Threads that end in between are not counted
+ * and concurrent requests add noise. Returns {@code null} when the JVM cannot
+ * report per-thread allocation.
+ */
+public final class AllocationMeter {
+
+    private final com.sun.management.ThreadMXBean threads;
+    private final Map<Long, Long> baseline;
+
+    private AllocationMeter(com.sun.management.ThreadMXBean threads) {
+        this.threads = threads;
+        this.baseline = threads != null ? snapshot(threads) : Map.of();
+    }
+
+    public static AllocationMeter start() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+            && threads.isThreadAllocatedMemorySupported()) {
+            if (!threads.isThreadAllocatedMemoryEnabled()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+            }
+            return new AllocationMeter(threads);
+        }
+        return new AllocationMeter(null);
+    }
+
+    public Long allocatedBytes() {
+        if (threads == null) {
+            return null;
+        }
+
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : snapshot(threads).entrySet()) {
+            total += Math.max(0, entry.getValue() - baseline.getOrDefault(entry.getKey(), 0L));
+        }
+        return total;
+    }
+
+    private static Map<Long, Long> snapshot(com.sun.management.ThreadMXBean threads) {
+        long[] ids = threads.getAllThreadIds();
+        long[] bytes = threads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> allocated = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) {
+                allocated.put(ids[i], bytes[i]);
+            }
+        }
+        return allocated;
+    }
+}
@@ -0,0 +1,314 @@
+package com.br.factory.service.production;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Depth-first branch-and-bound for max sum(value * quantity) subject to the
+ * raw-material stock. Products are branched in decreasing value density, the
+ * greedy plan seeds the incumbent and nodes are pruned with a relaxation that
+ * keeps a single material constraint at a time. The LP relaxation closes the
+ * search immediately when the greedy plan already reaches it and otherwise
+ * tightens the reported bound. The deadline and cancellation are checked
+ * between simplex pivots as well as between search nodes; when the time
+ * budget runs out or the search is cancelled the best plan found so far, at
+ * worst the greedy one, is returned with an upper bound on the optimum.
+ */
+public final class BranchAndBoundEngine {
+
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+    private static final double PRUNE_TOLERANCE = 1e-9;
+
+    private final CompiledCatalog catalog;
+    private final int[] stock;
+    private final int[] order;
+    private final long deadline;
+    private final CancellationToken cancellationToken;
+
+    private final int[] upper;
+    private final int[] choice;
+    private final boolean[] applied;
+    private final int[] best;
+    private double bestValue;
+    private double value;
+
+    private final double[] materialRatio;
+    private final double[] materialValue;
+    private final long[] materialStamp;
+    private final long[] materialSeen;
+    private final int[] touched;
+    private long stamp;
+    private long seen;
+
+    private BranchAndBoundEngine(CompiledCatalog catalog, long deadline, CancellationToken cancellationToken) {
+        this.catalog = catalog;
+        this.stock = catalog.copyStock();
+        this.deadline = deadline;
+        this.cancellationToken = cancellationToken;
+        this.order = branchingOrder(catalog, stock);
+
+        int levels = order.length;
+        this.upper = new int[levels];
+        this.choice = new int[levels];
+        this.applied = new boolean[levels];
+        this.best = new int[levels];
+
+        int materialCount = catalog.materialCount();
+        this.materialRatio = new double[materialCount];
+        this.materialValue = new double[materialCount];
+        this.materialStamp = new long[materialCount];
+        this.materialSeen = new long[materialCount];
+        this.touched = new int[materialCount];
+    }
+
+    public static SolverResult solve(CompiledCatalog catalog, long timeBudgetMillis) {
+        return solveUntil(catalog, System.nanoTime() + timeBudgetMillis * 1_000_000L);
+    }
+
+    public static SolverResult solveUntil(CompiledCatalog catalog, long deadline) {
+        return solveUntil(catalog, deadline, new CancellationToken());
+    }
+
+    public static SolverResult solveUntil(CompiledCatalog catalog, long deadline, CancellationToken cancellationToken) {
+        ProductionPlan greedy = GreedyProductionEngine.solve(catalog);
+        double relaxationBound = SimplexSolver.solve(catalog, deadline, cancellationToken).objective();
+
+        if (greedy.totalValue() >= relaxationBound - PRUNE_TOLERANCE * Math.max(1.0, relaxationBound)) {
+            return new SolverResult(greedy, greedy.totalValue(), true);
+        }
+        if (System.nanoTime() - deadline >= 0 || cancellationToken.isCancelled()) {
+            return new SolverResult(greedy, relaxationBound, false);
+        }
+
+        SolverResult result = new BranchAndBoundEngine(catalog, deadline, cancellationToken).run(greedy);
+        if (result.optimal()) {
+            return result;
+        }
+        return new SolverResult(result.plan(), Math.min(result.upperBound(), relaxationBound), false);
+    }
+
+    private SolverResult run(ProductionPlan seed) {
+        seedIncumbent(seed);
+
+        int levels = order.length;
+        int level = 0;
+        long iterations = 0;
+        boolean exhausted = levels == 0;
+
+        if (!exhausted) {
+            enterLevel(0);
+        }
+
+        while (!exhausted) {
+            if (level == levels) {
+                if (value > bestValue) {
+                    bestValue = value;
+                    System.arraycopy(choice, 0, best, 0, levels);
+                }
+                level--;
+                continue;
+            }
+
+            if (++iterations % CLOCK_CHECK_INTERVAL == 0
+                && (System.nanoTime() - deadline >= 0 || cancellationToken.isCancelled())) {
+                return interrupted(level);
+            }
+
+            int product = order[level];
+            if (applied[level]) {
+                undo(product, choice[level]);
+                applied[level] = false;
+            }
+
+            int quantity = --choice[level];
+            if (quantity < 0 || (quantity > 0 && quantity < upper[level] && value + bound(level, quantity) <= pruneThreshold())) {
+                choice[level] = 0;
+                if (level == 0) {
+                    exhausted = true;
+                } else {
+                    level--;
+                }
+                continue;
+            }
+
+            apply(product, quantity);
+            applied[level] = true;
+
+            if (level + 1 < levels && value + bound(level + 1, Integer.MAX_VALUE) <= pruneThreshold()) {
+                continue;
+            }
+
+            level++;
+            if (level < levels) {
+                enterLevel(level);
+            }
+        }
+
+        return new SolverResult(bestPlan(), bestValue, true);
+    }
+
+    private void seedIncumbent(ProductionPlan seed) {
+        int[] levelOf = new int[catalog.productCount()];
+        Arrays.fill(levelOf, -1);
+        for (int level = 0; level < order.length; level++) {
+            levelOf[order[level]] = level;
+        }
+
+        for (int line = 0; line < seed.size(); line++) {
+            int level = levelOf[seed.product(line)];
+            if (level >= 0) {
+                best[level] += seed.quantity(line);
+            }
+        }
+
+        bestValue = 0.0;
+        for (int level = 0; level < order.length; level++) {
+            bestValue += catalog.productValues[order[level]] * best[level];
+        }
+    }
+
+    private void enterLevel(int level) {
+        upper[level] = GreedyProductionEngine.maxQuantity(catalog, order[level], stock);
+        choice[level] = upper[level] + 1;
+        applied[level] = false;
+    }
+
+    private SolverResult interrupted(int level) {
+        double upperBound = bestValue;
+
+        if (applied[level]) {
+            undo(order[level], choice[level]);
+            upperBound = Math.max(upperBound, value + bound(level, choice[level]));
+        } else {
+            upperBound = Math.max(upperBound, value + bound(level, Integer.MAX_VALUE));
+        }
+
+        for (int open = level - 1; open >= 0; open--) {
+            undo(order[open], choice[open]);
+            if (choice[open] > 0) {
+                upperBound = Math.max(upperBound, value + bound(open, choice[open] - 1));
+            }
+        }
+
+        return new SolverResult(bestPlan(), upperBound, false);
+    }
+
+    private double pruneThreshold() {
+        return bestValue + PRUNE_TOLERANCE * Math.max(1.0, Math.abs(bestValue));
+    }
+
+    private void apply(int product, int quantity) {
+        if (quantity > 0) {
+            GreedyProductionEngine.deductStock(catalog, product, quantity, stock);
+            value += catalog.productValues[product] * quantity;
+        }
+    }
+
+    private void undo(int product, int quantity) {
+        if (quantity > 0) {
+            GreedyProductionEngine.deductStock(catalog, product, -quantity, stock);
+            value -= catalog.productValues[product] * quantity;
+        }
+    }
+
+    /**
+     * Upper bound for the products from {@code level} onwards under the current
+     * stock, with the first of them capped at {@code cap} units. Each material
+     * constraint is relaxed on its own: the products using it are valued at the
+     * best value per unit of that material, every other product at its own
+     * maximum quantity. The smallest of these bounds is returned.
+     */
+    private double bound(int level, int cap) {
+        stamp++;
+        int touchedCount = 0;
+        double total = 0.0;
+
+        for (int l = level; l < order.length; l++) {
+            int product = order[l];
+            int limit = GreedyProductionEngine.maxQuantity(catalog, product, stock);
+            if (l == level && cap < limit) {
+                limit = cap;
+            }
+            if (limit <= 0) {
+                continue;
+            }
+
+            double unitValue = catalog.productValues[product];
+            double lineValue = unitValue * limit;
+            total += lineValue;
+            seen++;
+
+            for (int k = catalog.requirementStart[product]; k < catalog.requirementStart[product + 1]; k++) {
+                int material = catalog.requirementMaterial[k];
+                if (materialStamp[material] != stamp) {
+                    materialStamp[material] = stamp;
+                    materialRatio[material] = 0.0;
+                    materialValue[material] = 0.0;
+                    touched[touchedCount++] = material;
+                }
+                if (materialSeen[material] != seen) {
+                    materialSeen[material] = seen;
+                    materialValue[material] += lineValue;
+                }
+                double ratio = unitValue / catalog.requirementQuantity[k];
+                if (ratio > materialRatio[material]) {
+                    materialRatio[material] = ratio;
+                }
+            }
+        }
+
+        double bound = total;
+        for (int t = 0; t < touchedCount; t++) {
+            int material = touched[t];
+            double relaxed = Math.max(0, stock[material]) * materialRatio[material] + (total - materialValue[material]);
+            if (relaxed < bound) {
+                bound = relaxed;
+            }
+        }
+
+        return bound;
+    }
+
+    private ProductionPlan bestPlan() {
+        Integer[] lines = IntStream.range(0, order.length)
+            .filter(level -> best[level] > 0)
+            .boxed()
+            .toArray(Integer[]::new);
+
+        Arrays.sort(lines, Comparator
+            .comparingDouble((Integer level) -> -catalog.productValues[order[level]] * best[level])
+            .thenComparingInt(level -> order[level]));
+
+        ProductionPlan plan = new ProductionPlan(lines.length);
+        for (int level : lines) {
+            int product = order[level];
+            plan.add(product, best[level], catalog.productValues[product] * best[level]);
+        }
+        return plan;
+    }
+
+    private static int[] branchingOrder(CompiledCatalog catalog, int[] stock) {
+        int productCount = catalog.productCount();
+        double[] density = new double[productCount];
+
+        int[] candidates = IntStream.range(0, productCount)
+            .filter(product -> catalog.productValues[product] > 0
+                && GreedyProductionEngine.maxQuantity(catalog, product, stock) > 0)
+            .toArray();
+
+        for (int product : candidates) {
+            double usage = 0.0;
+            for (int k = catalog.requirementStart[product]; k < catalog.requirementStart[product + 1]; k++) {
+                usage += (double) catalog.requirementQuantity[k] / Math.max(1, stock[catalog.requirementMaterial[k]]);
+            }
+            density[product] = catalog.productValues[product] / usage;
+        }
+
+        return IntStream.of(candidates)
+            .boxed()
+            .sorted(Comparator.comparingDouble((Integer product) -> -density[product]).thenComparingInt(product -> product))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+}
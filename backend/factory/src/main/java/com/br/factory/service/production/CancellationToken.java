@@ -0,0 +1,17 @@
+package com.br.factory.service.production;
+
+/**
+ * Cooperative cancellation flag polled by the long running engines.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
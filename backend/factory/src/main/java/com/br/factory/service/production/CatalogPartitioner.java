@@ -0,0 +1,80 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a catalog into groups of products that share raw materials, using
+ * union-find over the product-material edges. Groups never compete for stock,
+ * so they can be solved independently. Products without requirements can
+ * never be produced and are left out.
+ */
+public final class CatalogPartitioner {
+
+    private CatalogPartitioner() {
+    }
+
+    public static List<int[]> components(CompiledCatalog catalog) {
+        int productCount = catalog.productCount();
+        int[] parent = new int[productCount];
+        for (int product = 0; product < productCount; product++) {
+            parent[product] = product;
+        }
+
+        for (int material = 0; material < catalog.materialCount(); material++) {
+            int start = catalog.consumerStart[material];
+            int end = catalog.consumerStart[material + 1];
+            for (int c = start + 1; c < end; c++) {
+                union(parent, catalog.consumerProduct[start], catalog.consumerProduct[c]);
+            }
+        }
+
+        int[] componentOf = new int[productCount];
+        int[] sizes = new int[productCount];
+        List<Integer> roots = new ArrayList<>();
+        for (int product = 0; product < productCount; product++) {
+            componentOf[product] = -1;
+            if (catalog.requirementStart[product] == catalog.requirementStart[product + 1]) {
+                continue;
+            }
+            int root = find(parent, product);
+            if (sizes[root]++ == 0) {
+                roots.add(root);
+            }
+        }
+
+        List<int[]> components = new ArrayList<>(roots.size());
+        int[] componentIndex = new int[productCount];
+        for (int root : roots) {
+            componentIndex[root] = components.size();
+            components.add(new int[sizes[root]]);
+        }
+
+        int[] fill = new int[roots.size()];
+        for (int product = 0; product < productCount; product++) {
+            if (catalog.requirementStart[product] == catalog.requirementStart[product + 1]) {
+                continue;
+            }
+            int component = componentIndex[find(parent, product)];
+            components.get(component)[fill[component]++] = product;
+        }
+
+        return components;
+    }
+
+    private static int find(int[] parent, int product) {
+        while (parent[product] != product) {
+            parent[product] = parent[parent[product]];
+            product = parent[product];
+        }
+        return product;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+}
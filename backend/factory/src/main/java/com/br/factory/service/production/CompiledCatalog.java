@@ -0,0 +1,312 @@
+package com.br.factory.service.production;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+
+/**
+ * Primitive, index-based view of the catalog used by the production engines.
+ * Raw materials are mapped to dense indexes and every product keeps its
+ * requirements as a slice of the CSR arrays {@code requirementMaterial} and
+ * {@code requirementQuantity}, delimited by {@code requirementStart}. The
+ * transposed index ({@code consumerStart} / {@code consumerProduct}) lists, for
+ * every material, the products that consume it.
+ */
+public final class CompiledCatalog {
+
+    final long[] materialCodes;
+    final String[] materialNames;
+    final int[] stock;
+
+    final long[] productCodes;
+    final String[] productNames;
+    final double[] productValues;
+
+    final int[] requirementStart;
+    final int[] requirementMaterial;
+    final int[] requirementQuantity;
+
+    final int[] consumerStart;
+    final int[] consumerProduct;
+
+    CompiledCatalog(
+        long[] materialCodes,
+        String[] materialNames,
+        int[] stock,
+        long[] productCodes,
+        String[] productNames,
+        double[] productValues,
+        int[] requirementStart,
+        int[] requirementMaterial,
+        int[] requirementQuantity
+    ) {
+        this.materialCodes = materialCodes;
+        this.materialNames = materialNames;
+        this.stock = stock;
+        this.productCodes = productCodes;
+        this.productNames = productNames;
+        this.productValues = productValues;
+        this.requirementStart = requirementStart;
+        this.requirementMaterial = requirementMaterial;
+        this.requirementQuantity = requirementQuantity;
+
+        int materialCount = materialCodes.length;
+        this.consumerStart = new int[materialCount + 1];
+        this.consumerProduct = new int[requirementMaterial.length];
+
+        for (int material : requirementMaterial) {
+            consumerStart[material + 1]++;
+        }
+        for (int material = 0; material < materialCount; material++) {
+            consumerStart[material + 1] += consumerStart[material];
+        }
+
+        int[] fill = Arrays.copyOf(consumerStart, materialCount);
+        for (int product = 0; product < productCodes.length; product++) {
+            for (int k = requirementStart[product]; k < requirementStart[product + 1]; k++) {
+                consumerProduct[fill[requirementMaterial[k]]++] = product;
+            }
+        }
+    }
+
+    private CompiledCatalog(CompiledCatalog source, int[] stock, double[] productValues) {
+        this.materialCodes = source.materialCodes;
+        this.materialNames = source.materialNames;
+        this.stock = stock;
+        this.productCodes = source.productCodes;
+        this.productNames = source.productNames;
+        this.productValues = productValues;
+        this.requirementStart = source.requirementStart;
+        this.requirementMaterial = source.requirementMaterial;
+        this.requirementQuantity = source.requirementQuantity;
+        this.consumerStart = source.consumerStart;
+        this.consumerProduct = source.consumerProduct;
+    }
+
+    public static CompiledCatalog compile(List<Product> products, List<RawMaterial> rawMaterials) {
+        Map<Long, Integer> materialIndex = new HashMap<>();
+        long[] materialCodes = new long[rawMaterials.size()];
+        String[] materialNames = new String[rawMaterials.size()];
+        int[] stock = new int[rawMaterials.size()];
+        int materialCount = 0;
+
+        for (RawMaterial rawMaterial : rawMaterials) {
+            Integer existing = materialIndex.putIfAbsent(rawMaterial.getCode(), materialCount);
+            int index = existing != null ? existing : materialCount++;
+            materialCodes[index] = rawMaterial.getCode();
+            materialNames[index] = rawMaterial.getName();
+            stock[index] = rawMaterial.getStockQuantity() != null ? rawMaterial.getStockQuantity() : 0;
+        }
+
+        int productCount = products.size();
+        long[] productCodes = new long[productCount];
+        String[] productNames = new String[productCount];
+        double[] productValues = new double[productCount];
+        int[] requirementStart = new int[productCount + 1];
+
+        int requirementCount = 0;
+        for (Product product : products) {
+            if (product.getCompositions() != null) {
+                requirementCount += product.getCompositions().size();
+            }
+        }
+
+        int[] requirementMaterial = new int[requirementCount];
+        int[] requirementQuantity = new int[requirementCount];
+        int cursor = 0;
+
+        for (int i = 0; i < productCount; i++) {
+            Product product = products.get(i);
+            productCodes[i] = product.getCode();
+            productNames[i] = product.getName();
+            productValues[i] = product.getValue();
+            requirementStart[i] = cursor;
+
+            if (product.getCompositions() == null) {
+                continue;
+            }
+
+            for (ProductComposition composition : product.getCompositions()) {
+                Long rawMaterialCode = composition.getRawMaterial().getCode();
+                Integer index = materialIndex.get(rawMaterialCode);
+
+                if (index == null) {
+                    index = materialCount++;
+                    materialIndex.put(rawMaterialCode, index);
+                    if (index == materialCodes.length) {
+                        materialCodes = Arrays.copyOf(materialCodes, Math.max(4, index * 2));
+                        materialNames = Arrays.copyOf(materialNames, materialCodes.length);
+                        stock = Arrays.copyOf(stock, materialCodes.length);
+                    }
+                    materialCodes[index] = rawMaterialCode;
+                    materialNames[index] = composition.getRawMaterial().getName();
+                }
+
+                requirementMaterial[cursor] = index;
+                requirementQuantity[cursor] = composition.getQuantityRequired();
+                cursor++;
+            }
+        }
+        requirementStart[productCount] = cursor;
+
+        return new CompiledCatalog(
+            Arrays.copyOf(materialCodes, materialCount),
+            Arrays.copyOf(materialNames, materialCount),
+            Arrays.copyOf(stock, materialCount),
+            productCodes,
+            productNames,
+            productValues,
+            requirementStart,
+            requirementMaterial,
+            requirementQuantity
+        );
+    }
+
+    /**
+     * Catalog over arrays that are already in compiled form, such as the ones
+     * read back from a stored snapshot. The arrays are used as given; only the
+     * consumer index is rebuilt.
+     */
+    public static CompiledCatalog of(
+        long[] materialCodes,
+        String[] materialNames,
+        int[] stock,
+        long[] productCodes,
+        String[] productNames,
+        double[] productValues,
+        int[] requirementStart,
+        int[] requirementMaterial,
+        int[] requirementQuantity
+    ) {
+        return new CompiledCatalog(
+            materialCodes,
+            materialNames,
+            stock,
+            productCodes,
+            productNames,
+            productValues,
+            requirementStart,
+            requirementMaterial,
+            requirementQuantity
+        );
+    }
+
+    public CompiledCatalog subset(int[] products) {
+        int[] materialMap = new int[materialCodes.length];
+        Arrays.fill(materialMap, -1);
+        int[] materials = new int[materialCodes.length];
+        int materialCount = 0;
+        int requirementCount = 0;
+
+        for (int product : products) {
+            for (int k = requirementStart[product]; k < requirementStart[product + 1]; k++) {
+                int material = requirementMaterial[k];
+                if (materialMap[material] < 0) {
+                    materialMap[material] = materialCount;
+                    materials[materialCount++] = material;
+                }
+                requirementCount++;
+            }
+        }
+
+        long[] subsetMaterialCodes = new long[materialCount];
+        String[] subsetMaterialNames = new String[materialCount];
+        int[] subsetStock = new int[materialCount];
+        for (int m = 0; m < materialCount; m++) {
+            subsetMaterialCodes[m] = materialCodes[materials[m]];
+            subsetMaterialNames[m] = materialNames[materials[m]];
+            subsetStock[m] = stock[materials[m]];
+        }
+
+        long[] subsetProductCodes = new long[products.length];
+        String[] subsetProductNames = new String[products.length];
+        double[] subsetProductValues = new double[products.length];
+        int[] subsetRequirementStart = new int[products.length + 1];
+        int[] subsetRequirementMaterial = new int[requirementCount];
+        int[] subsetRequirementQuantity = new int[requirementCount];
+        int cursor = 0;
+
+        for (int i = 0; i < products.length; i++) {
+            int product = products[i];
+            subsetProductCodes[i] = productCodes[product];
+            subsetProductNames[i] = productNames[product];
+            subsetProductValues[i] = productValues[product];
+            subsetRequirementStart[i] = cursor;
+            for (int k = requirementStart[product]; k < requirementStart[product + 1]; k++) {
+                subsetRequirementMaterial[cursor] = materialMap[requirementMaterial[k]];
+                subsetRequirementQuantity[cursor] = requirementQuantity[k];
+                cursor++;
+            }
+        }
+        subsetRequirementStart[products.length] = cursor;
+
+        return new CompiledCatalog(
+            subsetMaterialCodes,
+            subsetMaterialNames,
+            subsetStock,
+            subsetProductCodes,
+            subsetProductNames,
+            subsetProductValues,
+            subsetRequirementStart,
+            subsetRequirementMaterial,
+            subsetRequirementQuantity
+        );
+    }
+
+    public CompiledCatalog withStock(int[] stock) {
+        return new CompiledCatalog(this, stock, productValues);
+    }
+
+    public CompiledCatalog withProductValues(double[] productValues) {
+        return new CompiledCatalog(this, stock, productValues);
+    }
+
+    public int requirementCount() {
+        return requirementMaterial.length;
+    }
+
+    public int productCount() {
+        return productCodes.length;
+    }
+
+    public int materialCount() {
+        return materialCodes.length;
+    }
+
+    public long productCode(int product) {
+        return productCodes[product];
+    }
+
+    public String productName(int product) {
+        return productNames[product];
+    }
+
+    public double productValue(int product) {
+        return productValues[product];
+    }
+
+    public long materialCode(int material) {
+        return materialCodes[material];
+    }
+
+    public String materialName(int material) {
+        return materialNames[material];
+    }
+
+    public int stock(int material) {
+        return stock[material];
+    }
+
+    public int[] copyStock() {
+        return stock.clone();
+    }
+
+    public double[] copyProductValues() {
+        return productValues.clone();
+    }
+}
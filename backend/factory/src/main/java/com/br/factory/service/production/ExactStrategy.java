@@ -0,0 +1,26 @@
+package com.br.factory.service.production;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExactStrategy implements ProductionStrategy {
+
+    public static final String NAME = "exact";
+
+    private final ProductionEngine productionEngine;
+
+    public ExactStrategy(ProductionEngine productionEngine) {
+        this.productionEngine = productionEngine;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public StrategyResult plan(CompiledCatalog catalog, PlanningOptions options) {
+        SolverResult result = productionEngine.exact(catalog, options.deadline(), options.cancellationToken());
+        return new StrategyResult(result.plan(), result.optimalityGap());
+    }
+}
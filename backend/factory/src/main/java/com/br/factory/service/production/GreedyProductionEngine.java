@@ -0,0 +1,191 @@
+package com.br.factory.service.production;
+
+/**
+ * Repeatedly commits the product whose maximum producible quantity yields the
+ * highest total value, deducting its requirements from a working copy of the
+ * stock until nothing else can be produced. Candidates live in an indexed
+ * max-heap; after each commit only the products sharing a deducted material
+ * are re-scored. Ties go to the lowest product index, as a full rescan would.
+ * A line is final the moment it is committed, so a {@link CommitListener}
+ * can hand each one on before the rest of the plan exists.
+ */
+public final class GreedyProductionEngine {
+
+    /**
+     * Told about each line as it is committed; returning {@code false} stops
+     * the engine with the lines committed so far.
+     */
+    @FunctionalInterface
+    public interface CommitListener {
+        boolean committed(ProductionPlan plan, int line);
+    }
+
+    private final CompiledCatalog catalog;
+    private final int[] stock;
+
+    private final int[] heap;
+    private final int[] position;
+    private final double[] score;
+    private final int[] quantity;
+    private final int[] visited;
+    private int heapSize;
+
+    private GreedyProductionEngine(CompiledCatalog catalog) {
+        int productCount = catalog.productCount();
+        this.catalog = catalog;
+        this.stock = catalog.copyStock();
+        this.heap = new int[productCount];
+        this.position = new int[productCount];
+        this.score = new double[productCount];
+        this.quantity = new int[productCount];
+        this.visited = new int[productCount];
+    }
+
+    public static ProductionPlan solve(CompiledCatalog catalog) {
+        return new GreedyProductionEngine(catalog).run((plan, line) -> true);
+    }
+
+    public static ProductionPlan solve(CompiledCatalog catalog, CommitListener listener) {
+        return new GreedyProductionEngine(catalog).run(listener);
+    }
+
+    private ProductionPlan run(CommitListener listener) {
+        int productCount = catalog.productCount();
+        ProductionPlan plan = new ProductionPlan(productCount);
+
+        for (int product = 0; product < productCount; product++) {
+            position[product] = -1;
+            int maxQuantity = maxQuantity(catalog, product, stock);
+
+            if (maxQuantity > 0) {
+                quantity[product] = maxQuantity;
+                score[product] = catalog.productValues[product] * maxQuantity;
+                position[product] = heapSize;
+                heap[heapSize++] = product;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+
+        int round = 0;
+        while (heapSize > 0) {
+            int best = heap[0];
+            int bestQuantity = quantity[best];
+
+            plan.add(best, bestQuantity, score[best]);
+            if (!listener.committed(plan, plan.size() - 1)) {
+                break;
+            }
+            deductStock(catalog, best, bestQuantity, stock);
+            rescoreConsumers(best, ++round);
+        }
+
+        return plan;
+    }
+
+    private void rescoreConsumers(int committed, int round) {
+        for (int k = catalog.requirementStart[committed]; k < catalog.requirementStart[committed + 1]; k++) {
+            int material = catalog.requirementMaterial[k];
+
+            for (int c = catalog.consumerStart[material]; c < catalog.consumerStart[material + 1]; c++) {
+                int product = catalog.consumerProduct[c];
+
+                if (visited[product] == round || position[product] < 0) {
+                    continue;
+                }
+                visited[product] = round;
+
+                int maxQuantity = maxQuantity(catalog, product, stock);
+                if (maxQuantity <= 0) {
+                    remove(product);
+                } else if (maxQuantity != quantity[product]) {
+                    quantity[product] = maxQuantity;
+                    score[product] = catalog.productValues[product] * maxQuantity;
+                    siftUp(position[product]);
+                    siftDown(position[product]);
+                }
+            }
+        }
+    }
+
+    private boolean ranksAbove(int a, int b) {
+        return score[a] > score[b] || (score[a] == score[b] && a < b);
+    }
+
+    private void remove(int product) {
+        int index = position[product];
+        int last = heap[--heapSize];
+        position[product] = -1;
+
+        if (index < heapSize) {
+            heap[index] = last;
+            position[last] = index;
+            siftUp(index);
+            siftDown(position[last]);
+        }
+    }
+
+    private void siftUp(int index) {
+        int product = heap[index];
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            int parent = heap[parentIndex];
+            if (!ranksAbove(product, parent)) {
+                break;
+            }
+            heap[index] = parent;
+            position[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = product;
+        position[product] = index;
+    }
+
+    private void siftDown(int index) {
+        int product = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            int child = heap[childIndex];
+            int rightIndex = childIndex + 1;
+            if (rightIndex < heapSize && ranksAbove(heap[rightIndex], child)) {
+                childIndex = rightIndex;
+                child = heap[childIndex];
+            }
+            if (!ranksAbove(child, product)) {
+                break;
+            }
+            heap[index] = child;
+            position[child] = index;
+            index = childIndex;
+        }
+        heap[index] = product;
+        position[product] = index;
+    }
+
+    static int maxQuantity(CompiledCatalog catalog, int product, int[] stock) {
+        int start = catalog.requirementStart[product];
+        int end = catalog.requirementStart[product + 1];
+
+        if (start == end) {
+            return 0;
+        }
+
+        int maxQuantity = Integer.MAX_VALUE;
+        for (int k = start; k < end; k++) {
+            int possibleQuantity = stock[catalog.requirementMaterial[k]] / catalog.requirementQuantity[k];
+            if (possibleQuantity < maxQuantity) {
+                maxQuantity = possibleQuantity;
+            }
+        }
+
+        return maxQuantity == Integer.MAX_VALUE ? 0 : maxQuantity;
+    }
+
+    static void deductStock(CompiledCatalog catalog, int product, int quantity, int[] stock) {
+        for (int k = catalog.requirementStart[product]; k < catalog.requirementStart[product + 1]; k++) {
+            stock[catalog.requirementMaterial[k]] -= catalog.requirementQuantity[k] * quantity;
+        }
+    }
+}
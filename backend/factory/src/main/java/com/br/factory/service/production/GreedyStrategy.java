@@ -0,0 +1,25 @@
+package com.br.factory.service.production;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class GreedyStrategy implements ProductionStrategy {
+
+    public static final String NAME = "greedy";
+
+    private final ProductionEngine productionEngine;
+
+    public GreedyStrategy(ProductionEngine productionEngine) {
+        this.productionEngine = productionEngine;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public StrategyResult plan(CompiledCatalog catalog, PlanningOptions options) {
+        return new StrategyResult(productionEngine.greedy(catalog));
+    }
+}
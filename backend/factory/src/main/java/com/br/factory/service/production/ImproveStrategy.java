@@ -0,0 +1,34 @@
+package com.br.factory.service.production;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class ImproveStrategy implements ProductionStrategy {
+
+    public static final String NAME = "improve";
+
+    private final ProductionEngine productionEngine;
+    private final ProductionImprover productionImprover;
+
+    public ImproveStrategy(ProductionEngine productionEngine, ProductionImprover productionImprover) {
+        this.productionEngine = productionEngine;
+        this.productionImprover = productionImprover;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public StrategyResult plan(CompiledCatalog catalog, PlanningOptions options) {
+        ProductionPlan plan = productionImprover.improve(
+            catalog,
+            productionEngine.greedy(catalog),
+            options.deadline(),
+            options.maxIterations(),
+            options.cancellationToken()
+        );
+        return new StrategyResult(plan);
+    }
+}
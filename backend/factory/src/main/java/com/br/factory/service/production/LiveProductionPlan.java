@@ -0,0 +1,245 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.br.factory.exception.ResourceNotFoundException;
+
+/**
+ * Immutable greedy plan over a whole catalog, kept per independent product
+ * family so that a change only re-plans the families it reaches. A stock
+ * change re-solves the families consuming the changed materials, found
+ * through the material to product index; a catalog rebuild reuses the plan of
+ * every family whose products, requirements and stock are unchanged. The
+ * merged plan is the one {@link ProductionEngine#greedy} returns.
+ */
+public final class LiveProductionPlan {
+
+    private final CompiledCatalog catalog;
+    private final Map<Long, Integer> materialIndex;
+    private final Map<Long, Integer> productIndex;
+    private final List<int[]> components;
+    private final int[] componentOf;
+    private final List<ProductionPlan> componentPlans;
+    private final ProductionPlan plan;
+    private final PresolveResult presolve;
+
+    private LiveProductionPlan(
+        CompiledCatalog catalog,
+        Map<Long, Integer> materialIndex,
+        Map<Long, Integer> productIndex,
+        List<int[]> components,
+        int[] componentOf,
+        List<ProductionPlan> componentPlans,
+        ProductionPlan plan,
+        PresolveResult presolve
+    ) {
+        this.catalog = catalog;
+        this.materialIndex = materialIndex;
+        this.productIndex = productIndex;
+        this.components = components;
+        this.componentOf = componentOf;
+        this.componentPlans = componentPlans;
+        this.plan = plan;
+        this.presolve = presolve;
+    }
+
+    public static LiveProductionPlan build(CompiledCatalog catalog, LiveProductionPlan previous, ProductionEngine engine) {
+        List<int[]> components = CatalogPartitioner.components(catalog);
+        int[] componentOf = new int[catalog.productCount()];
+        Arrays.fill(componentOf, -1);
+        for (int c = 0; c < components.size(); c++) {
+            for (int product : components.get(c)) {
+                componentOf[product] = c;
+            }
+        }
+
+        Map<ComponentKey, ProductionPlan> reusable = previous != null ? previous.plansByKey() : Map.of();
+        List<ProductionPlan> componentPlans = new ArrayList<>(components.size());
+        List<int[]> stale = new ArrayList<>();
+        List<Integer> staleIndexes = new ArrayList<>();
+
+        for (int c = 0; c < components.size(); c++) {
+            ProductionPlan reused = reusable.get(key(catalog, components.get(c)));
+            componentPlans.add(reused);
+            if (reused == null) {
+                stale.add(components.get(c));
+                staleIndexes.add(c);
+            }
+        }
+
+        List<ProductionPlan> solved = engine.greedyPlans(catalog, stale);
+        for (int s = 0; s < solved.size(); s++) {
+            componentPlans.set(staleIndexes.get(s), solved.get(s));
+        }
+
+        Map<Long, Integer> materialIndex = new HashMap<>(catalog.materialCount() * 2);
+        for (int material = 0; material < catalog.materialCount(); material++) {
+            materialIndex.put(catalog.materialCodes[material], material);
+        }
+        Map<Long, Integer> productIndex = new HashMap<>(catalog.productCount() * 2);
+        for (int product = 0; product < catalog.productCount(); product++) {
+            productIndex.put(catalog.productCodes[product], product);
+        }
+
+        return new LiveProductionPlan(
+            catalog,
+            materialIndex,
+            productIndex,
+            components,
+            componentOf,
+            componentPlans,
+            engine.mergeInCommitOrder(catalog, components, componentPlans),
+            Presolver.presolve(catalog)
+        );
+    }
+
+    public LiveProductionPlan withStock(Map<Long, Integer> stockByCode, ProductionEngine engine) {
+        int[] stock = catalog.copyStock();
+        boolean[] affected = new boolean[components.size()];
+        boolean changed = false;
+
+        for (Map.Entry<Long, Integer> entry : stockByCode.entrySet()) {
+            Integer material = materialIndex.get(entry.getKey());
+            int quantity = entry.getValue() != null ? entry.getValue() : 0;
+            if (material == null || stock[material] == quantity) {
+                continue;
+            }
+
+            stock[material] = quantity;
+            changed = true;
+            for (int c = catalog.consumerStart[material]; c < catalog.consumerStart[material + 1]; c++) {
+                int component = componentOf[catalog.consumerProduct[c]];
+                if (component >= 0) {
+                    affected[component] = true;
+                }
+            }
+        }
+
+        if (!changed) {
+            return this;
+        }
+
+        CompiledCatalog updated = catalog.withStock(stock);
+        List<int[]> stale = new ArrayList<>();
+        for (int c = 0; c < components.size(); c++) {
+            if (affected[c]) {
+                stale.add(components.get(c));
+            }
+        }
+
+        List<ProductionPlan> solved = engine.greedyPlans(updated, stale);
+        List<ProductionPlan> componentPlans = new ArrayList<>(this.componentPlans);
+        int next = 0;
+        for (int c = 0; c < components.size(); c++) {
+            if (affected[c]) {
+                componentPlans.set(c, solved.get(next++));
+            }
+        }
+
+        return new LiveProductionPlan(
+            updated,
+            materialIndex,
+            productIndex,
+            components,
+            componentOf,
+            componentPlans,
+            engine.mergeInCommitOrder(updated, components, componentPlans),
+            presolve
+        );
+    }
+
+    /**
+     * The current catalog with the stock shifted by {@code stockDeltas} (never
+     * below zero) and the given product values replaced. Shares every array it
+     * does not change with the live catalog.
+     */
+    public CompiledCatalog scenario(Map<Long, Integer> stockDeltas, Map<Long, Double> valueOverrides) {
+        CompiledCatalog scenario = catalog;
+
+        if (!stockDeltas.isEmpty()) {
+            int[] stock = catalog.copyStock();
+            for (Map.Entry<Long, Integer> entry : stockDeltas.entrySet()) {
+                Integer material = materialIndex.get(entry.getKey());
+                if (material == null) {
+                    throw new ResourceNotFoundException("RawMaterial", entry.getKey().toString());
+                }
+                stock[material] = (int) Math.max(0L, Math.min(Integer.MAX_VALUE, (long) stock[material] + entry.getValue()));
+            }
+            scenario = scenario.withStock(stock);
+        }
+
+        if (!valueOverrides.isEmpty()) {
+            double[] values = catalog.copyProductValues();
+            for (Map.Entry<Long, Double> entry : valueOverrides.entrySet()) {
+                Integer product = productIndex.get(entry.getKey());
+                if (product == null) {
+                    throw new ResourceNotFoundException("Product", entry.getKey().toString());
+                }
+                values[product] = entry.getValue();
+            }
+            scenario = scenario.withProductValues(values);
+        }
+
+        return scenario;
+    }
+
+    public CompiledCatalog catalog() {
+        return catalog;
+    }
+
+    public ProductionPlan plan() {
+        return plan;
+    }
+
+    public PresolveResult presolve() {
+        return presolve;
+    }
+
+    private Map<ComponentKey, ProductionPlan> plansByKey() {
+        Map<ComponentKey, ProductionPlan> plans = new HashMap<>(components.size() * 2);
+        for (int c = 0; c < components.size(); c++) {
+            plans.put(key(catalog, components.get(c)), componentPlans.get(c));
+        }
+        return plans;
+    }
+
+    private static ComponentKey key(CompiledCatalog catalog, int[] products) {
+        int length = 1;
+        for (int product : products) {
+            length += 3 + 2 * (catalog.requirementStart[product + 1] - catalog.requirementStart[product]);
+        }
+
+        long[] signature = new long[length];
+        int cursor = 0;
+        signature[cursor++] = products.length;
+        for (int product : products) {
+            signature[cursor++] = catalog.productCodes[product];
+            signature[cursor++] = Double.doubleToLongBits(catalog.productValues[product]);
+            signature[cursor++] = catalog.requirementStart[product + 1] - catalog.requirementStart[product];
+            for (int k = catalog.requirementStart[product]; k < catalog.requirementStart[product + 1]; k++) {
+                int material = catalog.requirementMaterial[k];
+                signature[cursor++] = catalog.materialCodes[material];
+                signature[cursor++] = ((long) catalog.requirementQuantity[k] << 32) | (catalog.stock[material] & 0xffffffffL);
+            }
+        }
+
+        return new ComponentKey(signature);
+    }
+
+    private record ComponentKey(long[] signature) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ComponentKey key && Arrays.equals(signature, key.signature);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(signature);
+        }
+    }
+}
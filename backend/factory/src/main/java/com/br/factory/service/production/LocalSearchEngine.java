@@ -0,0 +1,187 @@
+package com.br.factory.service.production;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Local search over production quantities, starting from a given plan. A
+ * shift move returns units of one planned product to stock, spends the freed
+ * stock on a random product and refills the product it took from; a swap move
+ * does the same taking from two planned products. Only the stock rows of the
+ * touched products are updated, and a move that loses value is undone from
+ * its change log. Moves that keep the value are accepted so the search can
+ * cross plateaus. Runs until the deadline, {@code maxIterations} moves (when
+ * positive) or cancellation, and returns the best plan seen.
+ */
+public final class LocalSearchEngine {
+
+    private static final int CLOCK_CHECK_INTERVAL = 256;
+    private static final int MAX_CHANGES = 6;
+
+    private final CompiledCatalog catalog;
+    private final SplittableRandom random;
+    private final int[] stock;
+    private final int[] quantity;
+    private final int[] candidates;
+
+    private final int[] active;
+    private final int[] activePosition;
+    private int activeCount;
+
+    private final int[] changedProduct = new int[MAX_CHANGES];
+    private final int[] changedQuantity = new int[MAX_CHANGES];
+    private int changeCount;
+    private double delta;
+
+    private double value;
+    private final int[] best;
+    private double bestValue;
+
+    private LocalSearchEngine(CompiledCatalog catalog, ProductionPlan start, SplittableRandom random) {
+        int productCount = catalog.productCount();
+        this.catalog = catalog;
+        this.random = random;
+        this.stock = catalog.copyStock();
+        this.quantity = new int[productCount];
+        this.active = new int[productCount];
+        this.activePosition = new int[productCount];
+        Arrays.fill(activePosition, -1);
+
+        this.candidates = IntStream.range(0, productCount)
+            .filter(product -> catalog.productValues[product] > 0
+                && GreedyProductionEngine.maxQuantity(catalog, product, stock) > 0)
+            .toArray();
+
+        for (int line = 0; line < start.size(); line++) {
+            apply(start.product(line), start.quantity(line));
+        }
+        this.value = start.totalValue();
+        this.best = quantity.clone();
+        this.bestValue = value;
+    }
+
+    public static ProductionPlan improve(
+        CompiledCatalog catalog,
+        ProductionPlan start,
+        SplittableRandom random,
+        long deadline,
+        long maxIterations,
+        CancellationToken token
+    ) {
+        LocalSearchEngine engine = new LocalSearchEngine(catalog, start, random);
+        if (engine.candidates.length == 0 || !engine.run(deadline, maxIterations, token)) {
+            return start;
+        }
+        ProductionPlan improved = engine.bestPlan();
+        return improved.totalValue() > start.totalValue() ? improved : start;
+    }
+
+    private boolean run(long deadline, long maxIterations, CancellationToken token) {
+        double startValue = bestValue;
+
+        for (long iteration = 0; maxIterations <= 0 || iteration < maxIterations; iteration++) {
+            if (iteration % CLOCK_CHECK_INTERVAL == 0 && (token.isCancelled() || System.nanoTime() - deadline >= 0)) {
+                break;
+            }
+
+            changeCount = 0;
+            delta = 0.0;
+            move();
+
+            if (delta < 0) {
+                undo();
+                continue;
+            }
+
+            value += delta;
+            if (value > bestValue) {
+                bestValue = value;
+                System.arraycopy(quantity, 0, best, 0, best.length);
+            }
+        }
+
+        return bestValue > startValue;
+    }
+
+    private void move() {
+        if (activeCount == 0) {
+            fill(candidates[random.nextInt(candidates.length)]);
+            return;
+        }
+
+        int first = active[random.nextInt(activeCount)];
+        record(first, -(1 + random.nextInt(quantity[first])));
+
+        int second = -1;
+        if (activeCount > 0 && random.nextBoolean()) {
+            second = active[random.nextInt(activeCount)];
+            if (second == first) {
+                second = -1;
+            } else {
+                record(second, -(1 + random.nextInt(quantity[second])));
+            }
+        }
+
+        fill(candidates[random.nextInt(candidates.length)]);
+        fill(first);
+        if (second >= 0) {
+            fill(second);
+        }
+        fill(candidates[random.nextInt(candidates.length)]);
+    }
+
+    private void fill(int product) {
+        int units = GreedyProductionEngine.maxQuantity(catalog, product, stock);
+        if (units > 0) {
+            record(product, units);
+        }
+    }
+
+    private void record(int product, int units) {
+        changedProduct[changeCount] = product;
+        changedQuantity[changeCount] = units;
+        changeCount++;
+        delta += catalog.productValues[product] * units;
+        apply(product, units);
+    }
+
+    private void undo() {
+        for (int c = changeCount - 1; c >= 0; c--) {
+            apply(changedProduct[c], -changedQuantity[c]);
+        }
+    }
+
+    private void apply(int product, int units) {
+        GreedyProductionEngine.deductStock(catalog, product, units, stock);
+        quantity[product] += units;
+
+        if (quantity[product] > 0 && activePosition[product] < 0) {
+            activePosition[product] = activeCount;
+            active[activeCount++] = product;
+        } else if (quantity[product] == 0 && activePosition[product] >= 0) {
+            int last = active[--activeCount];
+            active[activePosition[product]] = last;
+            activePosition[last] = activePosition[product];
+            activePosition[product] = -1;
+        }
+    }
+
+    private ProductionPlan bestPlan() {
+        Integer[] lines = IntStream.range(0, best.length)
+            .filter(product -> best[product] > 0)
+            .boxed()
+            .toArray(Integer[]::new);
+
+        Arrays.sort(lines, Comparator
+            .comparingDouble((Integer product) -> -catalog.productValues[product] * best[product])
+            .thenComparingInt(product -> product));
+
+        ProductionPlan plan = new ProductionPlan(lines.length);
+        for (int product : lines) {
+            plan.add(product, best[product], catalog.productValues[product] * best[product]);
+        }
+        return plan;
+    }
+}
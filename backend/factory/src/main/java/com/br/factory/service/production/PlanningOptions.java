@@ -0,0 +1,8 @@
+package com.br.factory.service.production;
+
+public record PlanningOptions(long deadline, long maxIterations, CancellationToken cancellationToken) {
+
+    public static PlanningOptions withTimeBudget(long timeBudgetMs, long maxIterations, CancellationToken cancellationToken) {
+        return new PlanningOptions(System.nanoTime() + timeBudgetMs * 1_000_000L, maxIterations, cancellationToken);
+    }
+}
@@ -0,0 +1,16 @@
+package com.br.factory.service.production;
+
+public record PresolveResult(
+    CompiledCatalog catalog,
+    int productsBefore,
+    int productsWithoutComposition,
+    int duplicateProducts,
+    int dominatedProducts,
+    int rawMaterialsBefore,
+    int rawMaterialsAfter
+) {
+
+    public int productsAfter() {
+        return catalog.productCount();
+    }
+}
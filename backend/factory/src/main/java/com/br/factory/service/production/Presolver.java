@@ -0,0 +1,185 @@
+package com.br.factory.service.production;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shrinks a catalog before any strategy runs. Products without requirements
+ * are dropped, products with the same requirements collapse onto one of them
+ * and products dominated by another (needing no more of any material while
+ * being worth at least as much, and not less than zero) are removed; the raw
+ * materials left without consumers disappear with them. A product is only
+ * dropped in favour of one the greedy would always pick first (higher value,
+ * or equal value and lower index), so the greedy plan is unchanged and no
+ * optimal plan is lost.
+ */
+public final class Presolver {
+
+    private Presolver() {
+    }
+
+    public static PresolveResult presolve(CompiledCatalog catalog) {
+        int productCount = catalog.productCount();
+        boolean[] removed = new boolean[productCount];
+        boolean[] repeatsMaterial = new boolean[productCount];
+        int withoutRequirements = 0;
+
+        int[][] canonical = new int[productCount][];
+        for (int product = 0; product < productCount; product++) {
+            int start = catalog.requirementStart[product];
+            int end = catalog.requirementStart[product + 1];
+            if (start == end) {
+                removed[product] = true;
+                withoutRequirements++;
+                continue;
+            }
+
+            long[] entries = new long[end - start];
+            for (int k = start; k < end; k++) {
+                entries[k - start] = ((long) catalog.requirementMaterial[k] << 32) | catalog.requirementQuantity[k];
+            }
+            Arrays.sort(entries);
+
+            int[] bom = new int[entries.length * 2];
+            for (int e = 0; e < entries.length; e++) {
+                bom[2 * e] = (int) (entries[e] >>> 32);
+                bom[2 * e + 1] = (int) entries[e];
+                if (e > 0 && bom[2 * e] == bom[2 * e - 2]) {
+                    repeatsMaterial[product] = true;
+                }
+            }
+            canonical[product] = bom;
+        }
+
+        int duplicates = collapseDuplicates(catalog, canonical, removed);
+        int dominated = removeDominated(catalog, canonical, removed, repeatsMaterial);
+
+        int kept = 0;
+        int[] products = new int[productCount];
+        for (int product = 0; product < productCount; product++) {
+            if (!removed[product]) {
+                products[kept++] = product;
+            }
+        }
+
+        CompiledCatalog reduced = catalog.subset(Arrays.copyOf(products, kept));
+
+        return new PresolveResult(
+            reduced,
+            productCount,
+            withoutRequirements,
+            duplicates,
+            dominated,
+            catalog.materialCount(),
+            reduced.materialCount()
+        );
+    }
+
+    private static int collapseDuplicates(CompiledCatalog catalog, int[][] canonical, boolean[] removed) {
+        Map<BomKey, Integer> survivors = new HashMap<>();
+        int duplicates = 0;
+
+        for (int product = 0; product < canonical.length; product++) {
+            if (removed[product]) {
+                continue;
+            }
+            BomKey key = new BomKey(canonical[product]);
+            Integer survivor = survivors.putIfAbsent(key, product);
+            if (survivor == null) {
+                continue;
+            }
+
+            duplicates++;
+            if (catalog.productValues[product] > catalog.productValues[survivor]) {
+                removed[survivor] = true;
+                survivors.put(key, product);
+            } else {
+                removed[product] = true;
+            }
+        }
+
+        return duplicates;
+    }
+
+    private static int removeDominated(
+        CompiledCatalog catalog,
+        int[][] canonical,
+        boolean[] removed,
+        boolean[] repeatsMaterial
+    ) {
+        int productCount = canonical.length;
+        int[] need = new int[catalog.materialCount()];
+        boolean[] dominated = new boolean[productCount];
+        int count = 0;
+
+        for (int product = 0; product < productCount; product++) {
+            if (removed[product] || repeatsMaterial[product]) {
+                continue;
+            }
+
+            int[] bom = canonical[product];
+            for (int e = 0; e < bom.length; e += 2) {
+                need[bom[e]] = bom[e + 1];
+            }
+
+            search:
+            for (int e = 0; e < bom.length; e += 2) {
+                int material = bom[e];
+                for (int c = catalog.consumerStart[material]; c < catalog.consumerStart[material + 1]; c++) {
+                    int candidate = catalog.consumerProduct[c];
+                    if (candidate == product || removed[candidate] || repeatsMaterial[candidate]
+                        || canonical[candidate][0] != material) {
+                        continue;
+                    }
+                    if (winsTie(catalog, candidate, product) && fitsWithin(canonical[candidate], need)) {
+                        dominated[product] = true;
+                        count++;
+                        break search;
+                    }
+                }
+            }
+
+            for (int e = 0; e < bom.length; e += 2) {
+                need[bom[e]] = 0;
+            }
+        }
+
+        for (int product = 0; product < productCount; product++) {
+            removed[product] |= dominated[product];
+        }
+
+        return count;
+    }
+
+    private static boolean winsTie(CompiledCatalog catalog, int candidate, int product) {
+        double candidateValue = catalog.productValues[candidate];
+        double productValue = catalog.productValues[product];
+        if (candidateValue < 0) {
+            return false;
+        }
+        return candidateValue > productValue || (candidateValue == productValue && candidate < product);
+    }
+
+    private static boolean fitsWithin(int[] bom, int[] need) {
+        for (int e = 0; e < bom.length; e += 2) {
+            if (bom[e + 1] > need[bom[e]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record BomKey(int[] bom) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof BomKey key && Arrays.equals(bom, key.bom);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bom);
+        }
+    }
+}
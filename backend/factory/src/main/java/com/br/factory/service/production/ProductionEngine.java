@@ -0,0 +1,158 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the production engines per independent product family (see
+ * {@link CatalogPartitioner}) on the production ForkJoinPool and merges the
+ * partial plans back into plans over the whole catalog. The merge only
+ * depends on the partial results, never on scheduling, so the output is the
+ * same for any number of threads.
+ */
+@Component
+public class ProductionEngine {
+
+    private final ForkJoinPool productionPool;
+    private final int parallelThreshold;
+
+    public ProductionEngine(
+        ForkJoinPool productionPool,
+        @Value("${factory.production.parallel-threshold:2000}") int parallelThreshold
+    ) {
+        this.productionPool = productionPool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public ProductionPlan greedy(CompiledCatalog catalog) {
+        List<int[]> components = CatalogPartitioner.components(catalog);
+        List<ProductionPlan> plans = greedyPlans(catalog, components);
+        return mergeInCommitOrder(catalog, components, plans);
+    }
+
+    List<ProductionPlan> greedyPlans(CompiledCatalog catalog, List<int[]> components) {
+        return solveComponents(catalog, components, GreedyProductionEngine::solve);
+    }
+
+    public SolverResult exact(CompiledCatalog catalog, long deadline) {
+        return exact(catalog, deadline, new CancellationToken());
+    }
+
+    public SolverResult exact(CompiledCatalog catalog, long deadline, CancellationToken cancellationToken) {
+        List<int[]> components = CatalogPartitioner.components(catalog);
+        List<SolverResult> results = solveComponents(
+            catalog,
+            components,
+            component -> BranchAndBoundEngine.solveUntil(component, deadline, cancellationToken)
+        );
+
+        List<int[]> lines = new ArrayList<>();
+        double upperBound = 0.0;
+        boolean optimal = true;
+
+        for (int c = 0; c < components.size(); c++) {
+            int[] products = components.get(c);
+            SolverResult result = results.get(c);
+            for (int line = 0; line < result.plan().size(); line++) {
+                lines.add(new int[] { products[result.plan().product(line)], result.plan().quantity(line) });
+            }
+            upperBound += result.upperBound();
+            optimal &= result.optimal();
+        }
+
+        lines.sort(Comparator
+            .comparingDouble((int[] line) -> -catalog.productValues[line[0]] * line[1])
+            .thenComparingInt(line -> line[0]));
+
+        ProductionPlan plan = new ProductionPlan(lines.size());
+        for (int[] line : lines) {
+            plan.add(line[0], line[1], catalog.productValues[line[0]] * line[1]);
+        }
+
+        return new SolverResult(plan, optimal ? plan.totalValue() : Math.max(upperBound, plan.totalValue()), optimal);
+    }
+
+    private <T> List<T> solveComponents(
+        CompiledCatalog catalog,
+        List<int[]> components,
+        Function<CompiledCatalog, T> solver
+    ) {
+        List<T> results = new ArrayList<>(components.size());
+
+        if (components.size() < 2 || catalog.requirementCount() < parallelThreshold) {
+            for (int[] products : components) {
+                results.add(solver.apply(catalog.subset(products)));
+            }
+            return results;
+        }
+
+        List<Callable<T>> tasks = new ArrayList<>(components.size());
+        for (int[] products : components) {
+            tasks.add(() -> solver.apply(catalog.subset(products)));
+        }
+
+        try {
+            for (Future<T> future : productionPool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Production planning was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Production planning failed", e.getCause());
+        }
+
+        return results;
+    }
+
+    ProductionPlan mergeInCommitOrder(CompiledCatalog catalog, List<int[]> components, List<ProductionPlan> plans) {
+        int[] head = new int[components.size()];
+        PriorityQueue<Integer> queue = new PriorityQueue<>((a, b) -> {
+            int productA = components.get(a)[plans.get(a).product(head[a])];
+            int productB = components.get(b)[plans.get(b).product(head[b])];
+            double totalA = catalog.productValues[productA] * plans.get(a).quantity(head[a]);
+            double totalB = catalog.productValues[productB] * plans.get(b).quantity(head[b]);
+            if (totalA != totalB) {
+                return totalA > totalB ? -1 : 1;
+            }
+            return Integer.compare(productA, productB);
+        });
+
+        int lineCount = 0;
+        for (int c = 0; c < components.size(); c++) {
+            lineCount += plans.get(c).size();
+            if (!plans.get(c).isEmpty()) {
+                queue.add(c);
+            }
+        }
+
+        ProductionPlan merged = new ProductionPlan(lineCount);
+        while (!queue.isEmpty()) {
+            int c = queue.poll();
+            ProductionPlan plan = plans.get(c);
+            int product = components.get(c)[plan.product(head[c])];
+            int quantity = plan.quantity(head[c]);
+
+            merged.add(product, quantity, catalog.productValues[product] * quantity);
+
+            if (++head[c] < plan.size()) {
+                queue.add(c);
+            }
+        }
+
+        return merged;
+    }
+}
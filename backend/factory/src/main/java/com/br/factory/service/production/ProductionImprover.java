@@ -0,0 +1,74 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs independent {@link LocalSearchEngine} workers from the same starting
+ * plan on the production ForkJoinPool and keeps the best result. Every worker
+ * draws from its own stream split off the configured seed, so runs bounded by
+ * an iteration count are reproducible.
+ */
+@Component
+public class ProductionImprover {
+
+    private final ForkJoinPool productionPool;
+    private final int workers;
+    private final long seed;
+
+    public ProductionImprover(
+        ForkJoinPool productionPool,
+        @Value("${factory.production.improve.workers:0}") int workers,
+        @Value("${factory.production.improve.seed:42}") long seed
+    ) {
+        this.productionPool = productionPool;
+        this.workers = workers;
+        this.seed = seed;
+    }
+
+    public ProductionPlan improve(
+        CompiledCatalog catalog,
+        ProductionPlan start,
+        long deadline,
+        long maxIterations,
+        CancellationToken token
+    ) {
+        int workerCount = workers > 0 ? workers : productionPool.getParallelism();
+        SplittableRandom root = new SplittableRandom(seed);
+
+        List<Callable<ProductionPlan>> tasks = new ArrayList<>(workerCount);
+        for (int worker = 0; worker < workerCount; worker++) {
+            SplittableRandom random = root.split();
+            tasks.add(() -> LocalSearchEngine.improve(catalog, start, random, deadline, maxIterations, token));
+        }
+
+        ProductionPlan best = start;
+        try {
+            for (Future<ProductionPlan> future : productionPool.invokeAll(tasks)) {
+                ProductionPlan plan = future.get();
+                if (plan.totalValue() > best.totalValue()) {
+                    best = plan;
+                }
+            }
+        } catch (InterruptedException e) {
+            token.cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Production planning was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Production planning failed", e.getCause());
+        }
+
+        return best;
+    }
+}
@@ -0,0 +1,51 @@
+package com.br.factory.service.production;
+
+import java.util.Arrays;
+
+/**
+ * Ordered list of (product index, quantity) pairs produced by an engine, kept
+ * in primitive arrays so that building it does not allocate per line.
+ */
+public final class ProductionPlan {
+
+    private int[] productIndexes;
+    private int[] quantities;
+    private int size;
+    private double totalValue;
+
+    public ProductionPlan(int capacity) {
+        this.productIndexes = new int[Math.max(capacity, 1)];
+        this.quantities = new int[productIndexes.length];
+    }
+
+    public void add(int product, int quantity, double lineValue) {
+        if (size == productIndexes.length) {
+            productIndexes = Arrays.copyOf(productIndexes, size * 2);
+            quantities = Arrays.copyOf(quantities, size * 2);
+        }
+        productIndexes[size] = product;
+        quantities[size] = quantity;
+        size++;
+        totalValue += lineValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int product(int line) {
+        return productIndexes[line];
+    }
+
+    public int quantity(int line) {
+        return quantities[line];
+    }
+
+    public double totalValue() {
+        return totalValue;
+    }
+}
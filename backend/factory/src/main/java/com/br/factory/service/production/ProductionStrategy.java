@@ -0,0 +1,13 @@
+package com.br.factory.service.production;
+
+/**
+ * A way of turning a compiled catalog into a production plan. Implementations
+ * are Spring beans collected by {@link ProductionStrategyRegistry} and must not
+ * modify the catalog, so several strategies can run against the same snapshot.
+ */
+public interface ProductionStrategy {
+
+    String name();
+
+    StrategyResult plan(CompiledCatalog catalog, PlanningOptions options);
+}
@@ -0,0 +1,39 @@
+package com.br.factory.service.production;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+
+import com.br.factory.exception.ApiException;
+
+@Component
+public class ProductionStrategyRegistry {
+
+    private final Map<String, ProductionStrategy> strategies = new TreeMap<>();
+
+    public ProductionStrategyRegistry(List<ProductionStrategy> strategies) {
+        for (ProductionStrategy strategy : strategies) {
+            if (this.strategies.putIfAbsent(strategy.name(), strategy) != null) {
+                throw new IllegalStateException("Duplicate production strategy '" + strategy.name() + "'");
+            }
+        }
+    }
+
+    public ProductionStrategy get(String name) {
+        ProductionStrategy strategy = strategies.get(name);
+        if (strategy == null) {
+            throw new ApiException("Unknown production strategy '" + name + "'");
+        }
+        return strategy;
+    }
+
+    public ProductionStrategy defaultStrategy() {
+        return get(GreedyStrategy.NAME);
+    }
+
+    public List<String> names() {
+        return List.copyOf(strategies.keySet());
+    }
+}
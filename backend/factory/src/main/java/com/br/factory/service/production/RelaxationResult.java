@@ -0,0 +1,15 @@
+package com.br.factory.service.production;
+
+public record RelaxationResult(
+    double objective,
+    double[] quantities,
+    double[] shadowPrices,
+    double[] usage,
+    double[] slack,
+    boolean exact
+) {
+
+    public boolean isBinding(int material) {
+        return slack[material] == 0.0 && (shadowPrices[material] > 0.0 || usage[material] > 0.0);
+    }
+}
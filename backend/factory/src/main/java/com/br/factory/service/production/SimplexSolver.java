@@ -0,0 +1,465 @@
+package com.br.factory.service.production;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Primal simplex for the continuous relaxation max sum(value * quantity)
+ * subject to the raw-material stock. Only materials consumed by some product
+ * become rows. Uses Dantzig pricing and falls back to Bland's rule after a
+ * run of degenerate pivots so it cannot cycle.
+ * <p>
+ * Up to {@link #MAX_TABLEAU_CELLS} cells the LP is pivoted on a dense
+ * tableau, skipping the zero entries of the pivot row. Larger catalogs keep
+ * the product columns sparse and pivot only an explicit basis inverse, one
+ * row per material, with the same pricing and ratio test. When even the
+ * inverse is too large, or the pivots do not converge, the result is a
+ * dual-feasible upper bound on the objective that takes one pass over the
+ * requirements, with no plan or shadow prices, and is not exact. The same
+ * bound is returned when a deadline passes or the solve is cancelled between
+ * pivots.
+ */
+public final class SimplexSolver {
+
+    private static final double EPSILON = 1e-9;
+    private static final int DEGENERATE_PIVOTS_BEFORE_BLAND = 50;
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+    static final long MAX_TABLEAU_CELLS = 4_000_000L;
+
+    private SimplexSolver() {
+    }
+
+    public static RelaxationResult solve(CompiledCatalog catalog) {
+        return solve(catalog, MAX_TABLEAU_CELLS, () -> false);
+    }
+
+    public static RelaxationResult solve(CompiledCatalog catalog, long deadline, CancellationToken cancellationToken) {
+        return solve(
+            catalog,
+            MAX_TABLEAU_CELLS,
+            () -> System.nanoTime() - deadline >= 0 || cancellationToken.isCancelled()
+        );
+    }
+
+    static RelaxationResult solve(CompiledCatalog catalog, long maxTableauCells) {
+        return solve(catalog, maxTableauCells, () -> false);
+    }
+
+    private static RelaxationResult solve(CompiledCatalog catalog, long maxTableauCells, BooleanSupplier expired) {
+        int productCount = catalog.productCount();
+        int materialCount = catalog.materialCount();
+
+        int[] columns = new int[productCount];
+        int n = 0;
+        for (int product = 0; product < productCount; product++) {
+            if (catalog.productValues[product] > 0
+                && catalog.requirementStart[product] < catalog.requirementStart[product + 1]) {
+                columns[n++] = product;
+            }
+        }
+
+        int[] rowOf = new int[materialCount];
+        int[] rows = new int[materialCount];
+        Arrays.fill(rowOf, -1);
+        int m = 0;
+        for (int c = 0; c < n; c++) {
+            int product = columns[c];
+            for (int k = catalog.requirementStart[product]; k < catalog.requirementStart[product + 1]; k++) {
+                int material = catalog.requirementMaterial[k];
+                if (rowOf[material] < 0) {
+                    rowOf[material] = m;
+                    rows[m++] = material;
+                }
+            }
+        }
+
+        if ((long) (m + 1) * (n + m + 1) <= maxTableauCells) {
+            return dense(catalog, columns, n, rows, rowOf, m, expired);
+        }
+        if ((long) m * m <= maxTableauCells) {
+            return revised(catalog, columns, n, rows, rowOf, m, expired);
+        }
+        return bound(catalog, columns, n);
+    }
+
+    private static RelaxationResult dense(
+        CompiledCatalog catalog, int[] columns, int n, int[] rows, int[] rowOf, int m, BooleanSupplier expired
+    ) {
+        int width = n + m + 1;
+        int rhs = n + m;
+        double[][] tableau = new double[m + 1][width];
+        int[] basis = new int[m];
+
+        for (int c = 0; c < n; c++) {
+            int product = columns[c];
+            for (int k = catalog.requirementStart[product]; k < catalog.requirementStart[product + 1]; k++) {
+                tableau[rowOf[catalog.requirementMaterial[k]]][c] += catalog.requirementQuantity[k];
+            }
+            tableau[m][c] = -catalog.productValues[product];
+        }
+        for (int r = 0; r < m; r++) {
+            tableau[r][n + r] = 1.0;
+            tableau[r][rhs] = Math.max(0, catalog.stock[rows[r]]);
+            basis[r] = n + r;
+        }
+
+        if (!pivotToOptimum(tableau, basis, m, n + m, rhs, expired)) {
+            return bound(catalog, columns, n);
+        }
+
+        double[] quantities = new double[catalog.productCount()];
+        for (int r = 0; r < m; r++) {
+            if (basis[r] < n) {
+                quantities[columns[basis[r]]] = tableau[r][rhs];
+            }
+        }
+
+        double[] shadowPrices = new double[catalog.materialCount()];
+        for (int r = 0; r < m; r++) {
+            shadowPrices[rows[r]] = Math.max(0.0, tableau[m][n + r]);
+        }
+
+        return result(catalog, tableau[m][rhs], quantities, shadowPrices);
+    }
+
+    /**
+     * Revised simplex for catalogs whose tableau would not fit: the product
+     * columns stay in compressed form and only the m x m basis inverse is
+     * dense. Each iteration prices every nonbasic column against the duals
+     * of the current basis, then updates the inverse and the basic values.
+     */
+    private static RelaxationResult revised(
+        CompiledCatalog catalog, int[] columns, int n, int[] rows, int[] rowOf, int m, BooleanSupplier expired
+    ) {
+        int[] columnStart = new int[n + 1];
+        for (int c = 0; c < n; c++) {
+            int product = columns[c];
+            columnStart[c + 1] = columnStart[c] + catalog.requirementStart[product + 1] - catalog.requirementStart[product];
+        }
+        int[] columnRow = new int[columnStart[n]];
+        double[] columnValue = new double[columnStart[n]];
+        double[] cost = new double[n];
+        int[] slot = new int[m];
+        Arrays.fill(slot, -1);
+        for (int c = 0; c < n; c++) {
+            int product = columns[c];
+            int end = columnStart[c];
+            for (int k = catalog.requirementStart[product]; k < catalog.requirementStart[product + 1]; k++) {
+                int row = rowOf[catalog.requirementMaterial[k]];
+                if (slot[row] < 0) {
+                    slot[row] = end;
+                    columnRow[end++] = row;
+                }
+                columnValue[slot[row]] += catalog.requirementQuantity[k];
+            }
+            for (int t = columnStart[c]; t < end; t++) {
+                slot[columnRow[t]] = -1;
+            }
+            columnStart[c + 1] = end;
+            cost[c] = catalog.productValues[product];
+        }
+
+        double[][] inverse = new double[m][m];
+        double[] values = new double[m];
+        int[] basis = new int[m];
+        int[] basicRow = new int[n + m];
+        Arrays.fill(basicRow, -1);
+        for (int r = 0; r < m; r++) {
+            inverse[r][r] = 1.0;
+            values[r] = Math.max(0, catalog.stock[rows[r]]);
+            basis[r] = n + r;
+            basicRow[n + r] = r;
+        }
+
+        double[] duals = new double[m];
+        double[] direction = new double[m];
+        int degeneratePivots = 0;
+        boolean bland = false;
+        long maxIterations = 50L * (m + n + m) + 1000;
+        boolean optimal = false;
+
+        for (long iteration = 0; iteration < maxIterations; iteration++) {
+            if (iteration % CLOCK_CHECK_INTERVAL == 0 && expired.getAsBoolean()) {
+                break;
+            }
+
+            Arrays.fill(duals, 0.0);
+            for (int r = 0; r < m; r++) {
+                double basicCost = basis[r] < n ? cost[basis[r]] : 0.0;
+                if (basicCost != 0.0) {
+                    double[] inverseRow = inverse[r];
+                    for (int i = 0; i < m; i++) {
+                        duals[i] += basicCost * inverseRow[i];
+                    }
+                }
+            }
+
+            int entering = -1;
+            double mostPositive = EPSILON;
+            for (int j = 0; j < n + m && !(bland && entering >= 0); j++) {
+                if (basicRow[j] >= 0) {
+                    continue;
+                }
+                double reducedCost;
+                if (j < n) {
+                    reducedCost = cost[j];
+                    for (int t = columnStart[j]; t < columnStart[j + 1]; t++) {
+                        reducedCost -= duals[columnRow[t]] * columnValue[t];
+                    }
+                } else {
+                    reducedCost = -duals[j - n];
+                }
+                if (reducedCost > mostPositive) {
+                    entering = j;
+                    if (!bland) {
+                        mostPositive = reducedCost;
+                    }
+                }
+            }
+            if (entering < 0) {
+                optimal = true;
+                break;
+            }
+
+            for (int r = 0; r < m; r++) {
+                double[] inverseRow = inverse[r];
+                double coefficient;
+                if (entering < n) {
+                    coefficient = 0.0;
+                    for (int t = columnStart[entering]; t < columnStart[entering + 1]; t++) {
+                        coefficient += inverseRow[columnRow[t]] * columnValue[t];
+                    }
+                } else {
+                    coefficient = inverseRow[entering - n];
+                }
+                direction[r] = coefficient;
+            }
+
+            int leaving = -1;
+            double bestRatio = Double.POSITIVE_INFINITY;
+            for (int r = 0; r < m; r++) {
+                double coefficient = direction[r];
+                if (coefficient > EPSILON) {
+                    double ratio = values[r] / coefficient;
+                    if (ratio < bestRatio - EPSILON || (ratio <= bestRatio + EPSILON && leaving >= 0 && basis[r] < basis[leaving])) {
+                        bestRatio = ratio;
+                        leaving = r;
+                    }
+                }
+            }
+            if (leaving < 0) {
+                throw new ArithmeticException("Production relaxation is unbounded");
+            }
+
+            if (values[leaving] <= EPSILON) {
+                bland = bland || ++degeneratePivots >= DEGENERATE_PIVOTS_BEFORE_BLAND;
+            } else {
+                degeneratePivots = 0;
+            }
+
+            double pivot = direction[leaving];
+            double step = values[leaving] / pivot;
+            double[] pivotRow = inverse[leaving];
+            for (int i = 0; i < m; i++) {
+                pivotRow[i] /= pivot;
+            }
+            for (int r = 0; r < m; r++) {
+                double factor = direction[r];
+                if (r == leaving || factor == 0.0) {
+                    continue;
+                }
+                double[] inverseRow = inverse[r];
+                for (int i = 0; i < m; i++) {
+                    inverseRow[i] -= factor * pivotRow[i];
+                }
+                values[r] = Math.max(0.0, values[r] - factor * step);
+            }
+            values[leaving] = step;
+
+            basicRow[basis[leaving]] = -1;
+            basis[leaving] = entering;
+            basicRow[entering] = leaving;
+        }
+
+        if (!optimal) {
+            return bound(catalog, columns, n);
+        }
+
+        double objective = 0.0;
+        double[] quantities = new double[catalog.productCount()];
+        for (int r = 0; r < m; r++) {
+            if (basis[r] < n) {
+                quantities[columns[basis[r]]] = values[r];
+                objective += cost[basis[r]] * values[r];
+            }
+        }
+
+        double[] shadowPrices = new double[catalog.materialCount()];
+        for (int r = 0; r < m; r++) {
+            shadowPrices[rows[r]] = Math.max(0.0, duals[r]);
+        }
+
+        return result(catalog, objective, quantities, shadowPrices);
+    }
+
+    private static RelaxationResult result(CompiledCatalog catalog, double objective, double[] quantities, double[] shadowPrices) {
+        int productCount = catalog.productCount();
+        int materialCount = catalog.materialCount();
+        double[] usage = new double[materialCount];
+        double[] slack = new double[materialCount];
+
+        for (int product = 0; product < productCount; product++) {
+            if (quantities[product] > 0) {
+                for (int k = catalog.requirementStart[product]; k < catalog.requirementStart[product + 1]; k++) {
+                    usage[catalog.requirementMaterial[k]] += catalog.requirementQuantity[k] * quantities[product];
+                }
+            }
+        }
+        for (int material = 0; material < materialCount; material++) {
+            slack[material] = Math.max(0, catalog.stock[material]) - usage[material];
+            if (Math.abs(slack[material]) <= EPSILON * Math.max(1.0, catalog.stock[material])) {
+                slack[material] = 0.0;
+            }
+        }
+
+        return new RelaxationResult(objective, quantities, shadowPrices, usage, slack, true);
+    }
+
+    /**
+     * Bounds the LP without solving it. Each product is charged to the
+     * material that limits it most, at its value per unit of that material;
+     * those prices are dual feasible, so the stock they price bounds the LP,
+     * and so does the sum of every product's value at its own limit.
+     */
+    private static RelaxationResult bound(CompiledCatalog catalog, int[] columns, int n) {
+        int materialCount = catalog.materialCount();
+        double[] prices = new double[materialCount];
+        double columnBound = 0.0;
+
+        for (int c = 0; c < n; c++) {
+            int product = columns[c];
+            int limiting = -1;
+            double limit = Double.POSITIVE_INFINITY;
+            for (int k = catalog.requirementStart[product]; k < catalog.requirementStart[product + 1]; k++) {
+                if (catalog.requirementQuantity[k] <= 0) {
+                    continue;
+                }
+                double units = (double) Math.max(0, catalog.stock[catalog.requirementMaterial[k]]) / catalog.requirementQuantity[k];
+                if (units < limit) {
+                    limit = units;
+                    limiting = k;
+                }
+            }
+            if (limiting < 0) {
+                throw new ArithmeticException("Production relaxation is unbounded");
+            }
+
+            double value = catalog.productValues[product];
+            columnBound += value * limit;
+            int material = catalog.requirementMaterial[limiting];
+            prices[material] = Math.max(prices[material], value / catalog.requirementQuantity[limiting]);
+        }
+
+        double rowBound = 0.0;
+        double[] slack = new double[materialCount];
+        for (int material = 0; material < materialCount; material++) {
+            slack[material] = Math.max(0, catalog.stock[material]);
+            rowBound += prices[material] * slack[material];
+        }
+
+        return new RelaxationResult(
+            Math.min(columnBound, rowBound),
+            new double[catalog.productCount()],
+            new double[materialCount],
+            new double[materialCount],
+            slack,
+            false
+        );
+    }
+
+    private static boolean pivotToOptimum(double[][] tableau, int[] basis, int m, int variables, int rhs, BooleanSupplier expired) {
+        double[] objective = tableau[m];
+        int[] nonZero = new int[rhs + 1];
+        int degeneratePivots = 0;
+        boolean bland = false;
+        long maxIterations = 50L * (m + variables) + 1000;
+
+        for (long iteration = 0; iteration < maxIterations; iteration++) {
+            if (iteration % CLOCK_CHECK_INTERVAL == 0 && expired.getAsBoolean()) {
+                return false;
+            }
+
+            int entering = -1;
+            double mostNegative = -EPSILON;
+            for (int j = 0; j < variables; j++) {
+                if (objective[j] < mostNegative) {
+                    entering = j;
+                    if (bland) {
+                        break;
+                    }
+                    mostNegative = objective[j];
+                }
+            }
+            if (entering < 0) {
+                return true;
+            }
+
+            int leaving = -1;
+            double bestRatio = Double.POSITIVE_INFINITY;
+            for (int r = 0; r < m; r++) {
+                double coefficient = tableau[r][entering];
+                if (coefficient > EPSILON) {
+                    double ratio = tableau[r][rhs] / coefficient;
+                    if (ratio < bestRatio - EPSILON || (ratio <= bestRatio + EPSILON && leaving >= 0 && basis[r] < basis[leaving])) {
+                        bestRatio = ratio;
+                        leaving = r;
+                    }
+                }
+            }
+            if (leaving < 0) {
+                throw new ArithmeticException("Production relaxation is unbounded");
+            }
+
+            if (tableau[leaving][rhs] <= EPSILON) {
+                bland = bland || ++degeneratePivots >= DEGENERATE_PIVOTS_BEFORE_BLAND;
+            } else {
+                degeneratePivots = 0;
+            }
+
+            pivot(tableau, leaving, entering, nonZero);
+            basis[leaving] = entering;
+        }
+
+        return false;
+    }
+
+    private static void pivot(double[][] tableau, int pivotRow, int pivotColumn, int[] nonZero) {
+        double[] row = tableau[pivotRow];
+        double pivot = row[pivotColumn];
+        int count = 0;
+
+        for (int j = 0; j < row.length; j++) {
+            if (row[j] != 0.0) {
+                row[j] /= pivot;
+                nonZero[count++] = j;
+            }
+        }
+        row[pivotColumn] = 1.0;
+
+        for (int r = 0; r < tableau.length; r++) {
+            if (r == pivotRow) {
+                continue;
+            }
+            double[] target = tableau[r];
+            double factor = target[pivotColumn];
+            if (factor == 0.0) {
+                continue;
+            }
+            for (int t = 0; t < count; t++) {
+                int j = nonZero[t];
+                target[j] -= factor * row[j];
+            }
+            target[pivotColumn] = 0.0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.br.factory.service.production;
+
+public record SolverResult(ProductionPlan plan, double upperBound, boolean optimal) {
+
+    public double optimalityGap() {
+        if (optimal || upperBound <= 0.0) {
+            return 0.0;
+        }
+        return Math.max(0.0, (upperBound - plan.totalValue()) / upperBound);
+    }
+}
@@ -0,0 +1,8 @@
+package com.br.factory.service.production;
+
+public record StrategyResult(ProductionPlan plan, Double optimalityGap) {
+
+    public StrategyResult(ProductionPlan plan) {
+        this(plan, null);
+    }
+}
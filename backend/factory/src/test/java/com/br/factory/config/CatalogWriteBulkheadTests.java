@@ -0,0 +1,46 @@
+package com.br.factory.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.br.factory.exception.TooManyRequestsException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogWriteBulkhead Tests")
+class CatalogWriteBulkheadTests {
+
+    @Test
+    @DisplayName("Should cap concurrent writes, let reads through and release the permit on completion")
+    void testCapsConcurrentWrites() throws Exception {
+        CatalogWriteBulkhead bulkhead = new CatalogWriteBulkhead(1, 10, 3);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/products");
+        MockHttpServletRequest second = new MockHttpServletRequest("PUT", "/raw-materials/1");
+
+        assertThat(bulkhead.preHandle(first, response, null)).isTrue();
+        assertThat(bulkhead.availableWrites()).isZero();
+        assertThat(bulkhead.preHandle(new MockHttpServletRequest("GET", "/products"), response, null)).isTrue();
+
+        TooManyRequestsException rejected = null;
+        try {
+            bulkhead.preHandle(second, response, null);
+        } catch (TooManyRequestsException ex) {
+            rejected = ex;
+        }
+        assertThat(rejected).isNotNull();
+        assertThat(rejected.getRetryAfterSeconds()).isEqualTo(3L);
+
+        bulkhead.afterCompletion(second, response, null, rejected);
+        assertThat(bulkhead.availableWrites()).isZero();
+        bulkhead.afterCompletion(first, response, null, null);
+        assertThat(bulkhead.availableWrites()).isEqualTo(1);
+
+        assertThat(bulkhead.preHandle(second, response, null)).isTrue();
+        bulkhead.afterCompletion(second, response, null, null);
+        bulkhead.afterCompletion(second, response, null, null);
+        assertThat(bulkhead.availableWrites()).isEqualTo(1);
+    }
+}
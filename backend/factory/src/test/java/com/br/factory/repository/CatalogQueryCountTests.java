@@ -0,0 +1,213 @@
+package com.br.factory.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.br.factory.dto.product.ProductRequest;
+import com.br.factory.dto.product.ProductResponse;
+import com.br.factory.dto.productcomposition.ProductCompositionRequest;
+import com.br.factory.dto.productcomposition.ProductCompositionResponse;
+import com.br.factory.dto.rawmaterial.StockAdjustment;
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.service.CatalogSnapshot;
+import com.br.factory.service.CatalogSnapshotLoader;
+import com.br.factory.service.CatalogSnapshotService;
+import com.br.factory.service.CatalogSnapshotStore;
+import com.br.factory.service.ProductCompositionService;
+import com.br.factory.service.ProductService;
+import com.br.factory.service.ProductionCatalogLoader;
+import com.br.factory.service.RawMaterialService;
+import com.br.factory.service.StockAccumulator;
+import com.br.factory.service.StockLedgerService;
+import com.br.factory.service.StockReservationTable;
+import com.br.factory.service.production.CompiledCatalog;
+
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+    ProductService.class,
+    ProductCompositionService.class,
+    RawMaterialService.class,
+    RawMaterialStockRepository.class,
+    ProductionCatalogLoader.class,
+    CatalogSnapshotService.class,
+    CatalogSnapshotLoader.class,
+    CatalogSnapshotStore.class,
+    CatalogStampRepository.class,
+    StockAccumulator.class,
+    StockReservationTable.class,
+    StockLedgerService.class
+})
+@DisplayName("Catalog query count Tests")
+class CatalogQueryCountTests {
+
+    private static final int PRODUCTS = 10;
+    private static final int RAW_MATERIALS = 5;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private ProductCompositionRepository productCompositionRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RawMaterialService rawMaterialService;
+
+    @Autowired
+    private ProductionCatalogLoader catalogLoader;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private CatalogSnapshotLoader catalogSnapshotLoader;
+
+    @Autowired
+    private CatalogStampRepository catalogStampRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private List<Long> rawMaterialCodes;
+    private Long productCode;
+
+    @BeforeEach
+    void setUp() {
+        List<RawMaterial> rawMaterials = new ArrayList<>();
+        for (int m = 0; m < RAW_MATERIALS; m++) {
+            rawMaterials.add(rawMaterialRepository.save(new RawMaterial("Material " + m, 100)));
+        }
+        rawMaterialCodes = rawMaterials.stream().map(RawMaterial::getCode).toList();
+
+        for (int p = 0; p < PRODUCTS; p++) {
+            Product product = new Product("Product " + p, 10.0 + p);
+            for (int r = 0; r < 3; r++) {
+                RawMaterial rawMaterial = rawMaterials.get((p + r) % RAW_MATERIALS);
+                product.getCompositions().add(new ProductComposition(null, product, rawMaterial, 1 + r));
+            }
+            productCode = productRepository.save(product).getCode();
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        catalogSnapshotService.invalidate();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("GET /products?all=true should load products, compositions and raw materials in one statement")
+    void testListProducts() {
+        List<ProductResponse> products = productService.getAllProducts().stream()
+            .map(ProductResponse::fromEntity)
+            .toList();
+
+        assertThat(products).hasSize(PRODUCTS);
+        assertThat(products.get(0).compositions()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("GET /products/{code} should load one product with its compositions in one statement")
+    void testGetProduct() {
+        ProductResponse product = ProductResponse.fromEntity(productService.findProductByCode(productCode));
+
+        assertThat(product.compositions()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Composition lookups by product should load their raw materials in the same statement")
+    void testListCompositions() {
+        List<ProductCompositionResponse> compositions = productCompositionRepository.findByProductCode(productCode).stream()
+            .map(ProductCompositionResponse::fromEntity)
+            .toList();
+
+        assertThat(compositions).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Production planning should read the whole catalog in two statements")
+    void testLoadProductionCatalog() {
+        CompiledCatalog catalog = catalogLoader.load();
+
+        assertThat(catalog.productCount()).isEqualTo(PRODUCTS);
+        assertThat(catalog.materialCount()).isEqualTo(RAW_MATERIALS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Catalog reads and planning should not touch the database once the snapshot is loaded")
+    void testReadsFromSnapshot() {
+        catalogSnapshotService.current();
+        statistics.clear();
+
+        assertThat(catalogSnapshotService.getAllProducts()).hasSize(PRODUCTS);
+        assertThat(catalogSnapshotService.findProductByCode(productCode).compositions()).hasSize(3);
+        assertThat(catalogSnapshotService.getRawMaterialPage(null, 2, "material").items()).hasSize(2);
+        assertThat(catalogLoader.load().productCount()).isEqualTo(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("The snapshot stamp should match the database until a row changes and again once it is reloaded")
+    void testSnapshotStampFollowsDatabase() {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        assertThat(snapshot.stamp()).isEqualTo(catalogStampRepository.current());
+
+        rawMaterialService.adjustStock(List.of(new StockAdjustment(rawMaterialCodes.get(0), -5)));
+        entityManager.clear();
+        assertThat(catalogStampRepository.current()).isNotEqualTo(snapshot.stamp());
+
+        CatalogSnapshot next = catalogSnapshotLoader.reload(snapshot, Set.of(), Set.of(rawMaterialCodes.get(0)));
+        assertThat(next.findRawMaterial(rawMaterialCodes.get(0)).orElseThrow().stockQuantity()).isEqualTo(95);
+        assertThat(next.stamp()).isEqualTo(catalogStampRepository.current());
+    }
+
+    @Test
+    @DisplayName("POST /products/batch should look raw materials up once and insert in JDBC batches")
+    void testCreateProductsInBatches() {
+        List<ProductRequest> requests = new ArrayList<>();
+        for (int p = 0; p < 100; p++) {
+            List<ProductCompositionRequest> compositions = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                compositions.add(new ProductCompositionRequest(rawMaterialCodes.get((p + r) % RAW_MATERIALS), 1 + r));
+            }
+            requests.add(new ProductRequest("Imported " + p, 5.0 + p, compositions));
+        }
+
+        List<Product> products = productService.createProducts(requests);
+        entityManager.flush();
+
+        assertThat(products).hasSize(100);
+        assertThat(products.get(0).getCode()).isNotNull();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(400L);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(40L);
+
+        entityManager.clear();
+        assertThat(productService.findProductByCode(products.get(99).getCode()).getCompositions()).hasSize(3);
+    }
+}
@@ -0,0 +1,157 @@
+package com.br.factory.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.br.factory.dto.production.ProductionCommitItem;
+import com.br.factory.dto.production.ProductionCommitResponse;
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.exception.ConflictException;
+import com.br.factory.service.CatalogSnapshotLoader;
+import com.br.factory.service.CatalogSnapshotService;
+import com.br.factory.service.CatalogSnapshotStore;
+import com.br.factory.service.ProductService;
+import com.br.factory.service.ProductionCommitService;
+import com.br.factory.service.RawMaterialService;
+import com.br.factory.service.StockAccumulator;
+import com.br.factory.service.StockHold;
+import com.br.factory.service.StockLedgerService;
+import com.br.factory.service.StockReservationTable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+    ProductionCommitService.class,
+    ProductService.class,
+    RawMaterialService.class,
+    CatalogSnapshotService.class,
+    CatalogSnapshotLoader.class,
+    CatalogSnapshotStore.class,
+    CatalogStampRepository.class,
+    RawMaterialStockRepository.class,
+    StockLedgerService.class,
+    StockReservationTable.class,
+    StockAccumulator.class
+})
+@DisplayName("Production commit Tests")
+class ProductionCommitTests {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private ProductionCommitService productionCommitService;
+
+    @Autowired
+    private StockReservationTable reservationTable;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    private Long ironCode;
+    private Long copperCode;
+    private Long plateCode;
+    private Long wireCode;
+
+    @BeforeEach
+    void setUp() {
+        RawMaterial iron = rawMaterialRepository.save(new RawMaterial("Iron", 100));
+        RawMaterial copper = rawMaterialRepository.save(new RawMaterial("Copper", 10));
+        ironCode = iron.getCode();
+        copperCode = copper.getCode();
+
+        Product plate = new Product("Plate", 20.0);
+        plate.getCompositions().add(new ProductComposition(null, plate, iron, 5));
+        plateCode = productRepository.save(plate).getCode();
+
+        Product wire = new Product("Wire", 12.0);
+        wire.getCompositions().add(new ProductComposition(null, wire, iron, 1));
+        wire.getCompositions().add(new ProductComposition(null, wire, copper, 3));
+        wireCode = productRepository.save(wire).getCode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationTable.release("order-1");
+        productRepository.deleteAll();
+        rawMaterialRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should deduct the materials of every item in one commit")
+    void testCommit() {
+        ProductionCommitResponse response = productionCommitService.commit(List.of(
+            new ProductionCommitItem(plateCode, 4),
+            new ProductionCommitItem(wireCode, 2),
+            new ProductionCommitItem(plateCode, 1)
+        ));
+
+        assertThat(response.itemCount()).isEqualTo(2);
+        assertThat(response.totalValue()).isEqualTo(124.0);
+        assertThat(response.consumedMaterials()).hasSize(2);
+        assertThat(stock(ironCode)).isEqualTo(73);
+        assertThat(stock(copperCode)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should roll back every deduction when one material is short")
+    void testCommitConflict() {
+        assertThatThrownBy(() -> productionCommitService.commit(List.of(
+            new ProductionCommitItem(plateCode, 2),
+            new ProductionCommitItem(wireCode, 4)
+        ))).isInstanceOf(ConflictException.class);
+
+        assertThat(stock(ironCode)).isEqualTo(100);
+        assertThat(stock(copperCode)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should not deduct stock that is reserved for an order")
+    void testCommitRespectsReservations() {
+        reservationTable.place(
+            new StockHold("order-1", Map.of(copperCode, 5), Instant.now().plusSeconds(60)),
+            Map.of(copperCode, 10)
+        );
+
+        assertThatThrownBy(() -> productionCommitService.commit(List.of(new ProductionCommitItem(wireCode, 2))))
+            .isInstanceOf(ConflictException.class);
+        assertThat(stock(copperCode)).isEqualTo(10);
+
+        productionCommitService.commit(List.of(new ProductionCommitItem(wireCode, 1)));
+        assertThat(stock(copperCode)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should show the deducted stock in the catalog snapshot once the commit returns")
+    void testCommitRefreshesSnapshot() {
+        catalogSnapshotService.invalidate();
+        assertThat(catalogSnapshotService.findRawMaterialByCode(ironCode).stockQuantity()).isEqualTo(100);
+
+        productionCommitService.commit(List.of(new ProductionCommitItem(plateCode, 4)));
+
+        assertThat(catalogSnapshotService.findRawMaterialByCode(ironCode).stockQuantity()).isEqualTo(80);
+    }
+
+    private Integer stock(Long code) {
+        return rawMaterialRepository.findById(code).orElseThrow().getStockQuantity();
+    }
+}
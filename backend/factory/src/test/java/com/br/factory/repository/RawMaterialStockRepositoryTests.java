@@ -0,0 +1,124 @@
+package com.br.factory.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.br.factory.dto.rawmaterial.StockAdjustment;
+import com.br.factory.dto.rawmaterial.StockAdjustmentResponse;
+import com.br.factory.dto.rawmaterial.StockAdjustmentStatus;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.service.RawMaterialService;
+import com.br.factory.service.StockHold;
+import com.br.factory.service.StockLedgerService;
+import com.br.factory.service.StockReservationTable;
+
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ RawMaterialService.class, RawMaterialStockRepository.class, StockLedgerService.class, StockReservationTable.class })
+@DisplayName("RawMaterialStockRepository Tests")
+class RawMaterialStockRepositoryTests {
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private RawMaterialService rawMaterialService;
+
+    @Autowired
+    private StockReservationTable reservationTable;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long ironCode;
+    private Long copperCode;
+
+    @BeforeEach
+    void setUp() {
+        ironCode = rawMaterialRepository.save(new RawMaterial("Iron", 10)).getCode();
+        copperCode = rawMaterialRepository.save(new RawMaterial("Copper", 5)).getCode();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should apply each code's net delta and reject the ones that would leave stock negative")
+    void testAdjustStock() {
+        StockAdjustmentResponse response = rawMaterialService.adjustStock(List.of(
+            new StockAdjustment(ironCode, -4),
+            new StockAdjustment(copperCode, 3),
+            new StockAdjustment(ironCode, -7),
+            new StockAdjustment(copperCode, -6),
+            new StockAdjustment(999_999L, 1),
+            new StockAdjustment(ironCode, 5)
+        ));
+
+        assertThat(response.applied()).isEqualTo(3);
+        assertThat(response.rejected()).isEqualTo(3);
+        assertThat(response.results().get(0).status()).isEqualTo(StockAdjustmentStatus.APPLIED);
+        assertThat(response.results().get(1).status()).isEqualTo(StockAdjustmentStatus.OUT_OF_RANGE);
+        assertThat(response.results().get(2).status()).isEqualTo(StockAdjustmentStatus.APPLIED);
+        assertThat(response.results().get(2).delta()).isEqualTo(-7);
+        assertThat(response.results().get(2).netDelta()).isEqualTo(-6L);
+        assertThat(response.results().get(1).netDelta()).isEqualTo(-3L);
+        assertThat(response.results().get(3).status()).isEqualTo(StockAdjustmentStatus.OUT_OF_RANGE);
+        assertThat(response.results().get(4).status()).isEqualTo(StockAdjustmentStatus.NOT_FOUND);
+        assertThat(response.results().get(5).status()).isEqualTo(StockAdjustmentStatus.APPLIED);
+
+        entityManager.clear();
+        assertThat(rawMaterialRepository.findById(ironCode).orElseThrow().getStockQuantity()).isEqualTo(4);
+        assertThat(rawMaterialRepository.findById(copperCode).orElseThrow().getStockQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should reject a delta that would overflow the stock column")
+    void testAdjustStockOverflow() {
+        StockAdjustmentResponse response = rawMaterialService.adjustStock(List.of(
+            new StockAdjustment(ironCode, Integer.MAX_VALUE)
+        ));
+
+        assertThat(response.results().get(0).status()).isEqualTo(StockAdjustmentStatus.OUT_OF_RANGE);
+        entityManager.clear();
+        assertThat(rawMaterialRepository.findById(ironCode).orElseThrow().getStockQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should reject a deduction into reserved stock but still accept restocking")
+    void testAdjustStockRespectsReservations() {
+        reservationTable.place(
+            new StockHold("order-1", Map.of(ironCode, 8), Instant.now().plusSeconds(60)),
+            Map.of(ironCode, 10)
+        );
+
+        try {
+            StockAdjustmentResponse response = rawMaterialService.adjustStock(List.of(
+                new StockAdjustment(ironCode, -3),
+                new StockAdjustment(copperCode, 2)
+            ));
+            assertThat(response.results().get(0).status()).isEqualTo(StockAdjustmentStatus.RESERVED);
+            assertThat(response.results().get(1).status()).isEqualTo(StockAdjustmentStatus.APPLIED);
+
+            StockAdjustmentResponse within = rawMaterialService.adjustStock(List.of(new StockAdjustment(ironCode, -2)));
+            assertThat(within.results().get(0).status()).isEqualTo(StockAdjustmentStatus.APPLIED);
+
+            StockAdjustmentResponse events = rawMaterialService.recordStockEvents(List.of(new StockAdjustment(ironCode, -3)));
+            assertThat(events.results().get(0).status()).isEqualTo(StockAdjustmentStatus.APPLIED);
+        } finally {
+            reservationTable.release("order-1");
+        }
+
+        entityManager.clear();
+        assertThat(rawMaterialRepository.findById(ironCode).orElseThrow().getStockQuantity()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,147 @@
+package com.br.factory.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.br.factory.dto.page.CursorPage;
+import com.br.factory.dto.rawmaterial.StockAdjustment;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.entity.StockMovement;
+import com.br.factory.entity.StockMovementReason;
+import com.br.factory.service.StockLedgerService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "factory.stock-ledger.compaction-lag-seconds=0")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ StockLedgerService.class, RawMaterialStockRepository.class })
+@DisplayName("StockLedgerService Tests")
+class StockLedgerTests {
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private StockSnapshotRepository stockSnapshotRepository;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long code;
+
+    @BeforeEach
+    void setUp() {
+        code = rawMaterialRepository.save(new RawMaterial("Iron", 0)).getCode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockSnapshotRepository.deleteAll();
+        stockMovementRepository.deleteAll();
+        rawMaterialRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should answer point-in-time stock from snapshots plus the movements after them")
+    void testStockAtBeforeAndAfterCompaction() throws InterruptedException {
+        Instant beforeLedger = tick();
+        stockLedgerService.record(Map.of(code, 10), StockMovementReason.ADJUSTMENT);
+        stockLedgerService.record(Map.of(code, -3), StockMovementReason.ADJUSTMENT);
+        Instant afterAdjustment = tick();
+
+        stockLedgerService.compact();
+        stockLedgerService.record(Map.of(code, 5), StockMovementReason.ADJUSTMENT);
+        Instant now = tick();
+
+        assertThat(stockSnapshotRepository.count()).isEqualTo(1L);
+        assertThat(stockLedgerService.stockAt(code, beforeLedger)).isZero();
+        assertThat(stockLedgerService.stockAt(code, afterAdjustment)).isEqualTo(7L);
+        assertThat(stockLedgerService.stockAt(code, now)).isEqualTo(12L);
+
+        stockLedgerService.compact();
+
+        assertThat(stockSnapshotRepository.count()).isEqualTo(2L);
+        assertThat(stockLedgerService.stockAt(code, afterAdjustment)).isEqualTo(7L);
+        assertThat(stockLedgerService.stockAt(code, tick())).isEqualTo(12L);
+    }
+
+    @Test
+    @DisplayName("Should derive stock from the folded row plus the ledger tail without updating the row")
+    void testStockFromLedgerTail() {
+        int[] applied = stockLedgerService.apply(
+            List.of(new StockAdjustment(code, 10)),
+            material -> 0L,
+            StockMovementReason.ADJUSTMENT
+        );
+        int[] rejected = stockLedgerService.apply(
+            List.of(new StockAdjustment(code, -11)),
+            material -> 0L,
+            StockMovementReason.PRODUCTION
+        );
+        int[] reserved = stockLedgerService.apply(
+            List.of(new StockAdjustment(code, -4)),
+            material -> 7L,
+            StockMovementReason.PRODUCTION
+        );
+        stockLedgerService.apply(List.of(new StockAdjustment(code, -3)), material -> 0L, StockMovementReason.PRODUCTION);
+
+        assertThat(applied).containsExactly(1);
+        assertThat(rejected).containsExactly(0);
+        assertThat(reserved).containsExactly(0);
+        assertThat(foldedStock()).isZero();
+        RawMaterial beforeFold = rawMaterialRepository.findById(code).orElseThrow();
+        assertThat(beforeFold.getStockQuantity()).isEqualTo(7);
+
+        stockLedgerService.compact();
+
+        RawMaterial afterFold = rawMaterialRepository.findById(code).orElseThrow();
+        assertThat(foldedStock()).isEqualTo(7);
+        assertThat(afterFold.getStockQuantity()).isEqualTo(7);
+        assertThat(afterFold.getRevision()).isEqualTo(beforeFold.getRevision());
+    }
+
+    @Test
+    @DisplayName("Should page a material's movements in order")
+    void testMovementPage() {
+        stockLedgerService.record(Map.of(code, 4), StockMovementReason.OPENING);
+        stockLedgerService.record(Map.of(code, -1), StockMovementReason.PRODUCTION);
+        stockLedgerService.record(Map.of(code, 0), StockMovementReason.ADJUSTMENT);
+
+        CursorPage<StockMovement> first = stockLedgerService.getMovementPage(code, null, 1);
+        CursorPage<StockMovement> rest = stockLedgerService.getMovementPage(code, first.nextCursor(), 50);
+
+        assertThat(first.items().get(0).getDelta()).isEqualTo(4);
+        assertThat(rest.items()).hasSize(1);
+        assertThat(rest.items().get(0).getReason()).isEqualTo(StockMovementReason.PRODUCTION);
+        assertThat(rest.nextCursor()).isNull();
+    }
+
+    private Integer foldedStock() {
+        return jdbcTemplate.queryForObject("select stock_quantity from raw_materials where code = ?", Integer.class, code);
+    }
+
+    private Instant tick() throws InterruptedException {
+        Thread.sleep(5);
+        Instant instant = Instant.now();
+        Thread.sleep(5);
+        return instant;
+    }
+}
@@ -0,0 +1,131 @@
+package com.br.factory.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.factory.dto.rawmaterial.StockAdjustment;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.entity.StockMovementReason;
+import com.br.factory.service.StockLedgerService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with -Dbenchmark=true; add -Dspring.test.database.replace=none and a PostgreSQL datasource for real numbers.
+// Restocks append without locking; deductions still serialize on the material's lock to keep stock non-negative.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ RawMaterialStockRepository.class, StockLedgerService.class })
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Stock write benchmark")
+class StockWriteBenchmarkTests {
+
+    private static final int WRITERS = 16;
+    private static final int WRITES_PER_WRITER = 500;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long code;
+
+    @BeforeEach
+    void setUp() {
+        code = rawMaterialRepository.save(new RawMaterial("Hot material", 0)).getCode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockMovementRepository.deleteAll();
+        rawMaterialRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Concurrent writers on one material: update in place vs ledger restocks and deductions")
+    void benchmarkHotMaterialWrites() throws Exception {
+        Runnable updateInPlace = () -> transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update("update raw_materials set stock_quantity = stock_quantity + 1, version = version + 1 where code = ?", code)
+        );
+        Runnable restock = () -> transactionTemplate.executeWithoutResult(status ->
+            stockLedgerService.apply(List.of(new StockAdjustment(code, 1)), material -> 0L, StockMovementReason.ADJUSTMENT)
+        );
+        Runnable deduct = () -> transactionTemplate.executeWithoutResult(status ->
+            stockLedgerService.apply(List.of(new StockAdjustment(code, -1)), material -> 0L, StockMovementReason.PRODUCTION)
+        );
+
+        run(updateInPlace, 50);
+        run(restock, 50);
+        run(deduct, 50);
+
+        long inPlaceNanos = run(updateInPlace, WRITES_PER_WRITER);
+        long restockNanos = run(restock, WRITES_PER_WRITER);
+        long deductNanos = run(deduct, WRITES_PER_WRITER);
+
+        int writes = WRITERS * WRITES_PER_WRITER;
+        System.out.printf(
+            "%d writers x %d writes: update in place %.0f writes/s, ledger restock %.0f writes/s, ledger deduction %.0f writes/s%n",
+            WRITERS,
+            WRITES_PER_WRITER,
+            writes / (inPlaceNanos / 1e9),
+            writes / (restockNanos / 1e9),
+            writes / (deductNanos / 1e9)
+        );
+
+        assertThat(rawMaterialRepository.findById(code).orElseThrow().getStockQuantity())
+            .isEqualTo(WRITERS * (50 + WRITES_PER_WRITER));
+        assertThat(stockMovementRepository.count()).isEqualTo(2L * WRITERS * (50 + WRITES_PER_WRITER));
+    }
+
+    private long run(Runnable write, int writesPerWriter) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < writesPerWriter; i++) {
+                        write.run();
+                    }
+                    return null;
+                }));
+            }
+
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            return System.nanoTime() - started;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
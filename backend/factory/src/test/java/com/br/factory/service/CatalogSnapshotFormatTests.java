@@ -0,0 +1,94 @@
+package com.br.factory.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.dto.product.ProductResponse;
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.service.production.CompiledCatalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CatalogSnapshotFormat Tests")
+class CatalogSnapshotFormatTests {
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 100);
+        RawMaterial copper = new RawMaterial(2L, "Cobre \u00e7\u00e3", 50);
+        RawMaterial unused = new RawMaterial(3L, null, 0);
+        iron.setVersion(5L);
+
+        Product plate = new Product(1L, "Steel Plate", 50.0);
+        plate.setVersion(2L);
+        plate.setCompositions(List.of(new ProductComposition(10L, plate, iron, 10)));
+        Product gear = new Product(3L, "Steel Gear", 80.0);
+        gear.setCompositions(List.of(
+            new ProductComposition(12L, gear, iron, 20),
+            new ProductComposition(null, gear, copper, 2)
+        ));
+        Product empty = new Product(4L, "Empty", 1.0);
+        empty.setCompositions(List.of());
+
+        snapshot = CatalogSnapshot.of(List.of(plate, gear, empty), List.of(iron, copper, unused));
+    }
+
+    @Test
+    @DisplayName("Should restore the rows, the compiled catalog and the stamp")
+    void testRoundTrip() throws IOException {
+        ByteBuffer stored = CatalogSnapshotFormat.encode(snapshot);
+
+        assertThat(CatalogSnapshotFormat.stamp(stored)).isEqualTo(snapshot.stamp());
+        CatalogSnapshot restored = CatalogSnapshotFormat.decode(stored);
+
+        assertThat(restored.stamp()).isEqualTo(snapshot.stamp());
+        assertThat(restored.stamp().rawMaterials().rows()).isEqualTo(3L);
+        assertThat(restored.stamp().rawMaterials().maxKey()).isEqualTo(3L);
+        assertThat(restored.products()).isEqualTo(snapshot.products());
+        assertThat(restored.rawMaterials()).isEqualTo(snapshot.rawMaterials());
+
+        ProductResponse gear = restored.findProduct(3L).orElseThrow();
+        assertThat(gear.compositions().get(1).id()).isNull();
+        assertThat(gear.compositions().get(1).rawMaterial().name()).isEqualTo("Cobre \u00e7\u00e3");
+        assertThat(restored.findRawMaterial(3L).orElseThrow().name()).isNull();
+
+        CompiledCatalog expected = snapshot.catalog();
+        CompiledCatalog actual = restored.catalog();
+        assertThat(actual.productCount()).isEqualTo(expected.productCount());
+        assertThat(actual.materialCount()).isEqualTo(expected.materialCount());
+        assertThat(actual.requirementCount()).isEqualTo(expected.requirementCount());
+        assertThat(actual.copyStock()).isEqualTo(expected.copyStock());
+        assertThat(actual.copyProductValues()).isEqualTo(expected.copyProductValues());
+        for (int product = 0; product < expected.productCount(); product++) {
+            assertThat(actual.productCode(product)).isEqualTo(expected.productCode(product));
+            assertThat(actual.productName(product)).isEqualTo(expected.productName(product));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a file whose checksum does not match")
+    void testRejectsCorruptedFile() {
+        ByteBuffer stored = CatalogSnapshotFormat.encode(snapshot);
+        stored.put(40, (byte) (stored.get(40) ^ 1));
+
+        assertThatThrownBy(() -> CatalogSnapshotFormat.decode(stored)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject data that is not a catalog snapshot")
+    void testRejectsForeignData() {
+        ByteBuffer foreign = ByteBuffer.wrap(new byte[64]);
+
+        assertThatThrownBy(() -> CatalogSnapshotFormat.stamp(foreign)).isInstanceOf(IOException.class);
+    }
+}
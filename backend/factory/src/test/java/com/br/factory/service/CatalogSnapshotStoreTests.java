@@ -0,0 +1,98 @@
+package com.br.factory.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.repository.CatalogStamp;
+import com.br.factory.repository.CatalogStampRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogSnapshotStore Tests")
+class CatalogSnapshotStoreTests {
+
+    @Test
+    @DisplayName("Should write the snapshot only once the catalog has been quiet, and at once on shutdown")
+    void testDebouncesWrites() throws Exception {
+        Path directory = Files.createTempDirectory("catalog-snapshot");
+        Path file = directory.resolve("catalog.bin");
+        CatalogSnapshot first = CatalogSnapshot.of(List.of(), List.of(new RawMaterial(1L, "Iron", 100)));
+        CatalogSnapshot second = CatalogSnapshot.of(List.of(), List.of(new RawMaterial(1L, "Iron", 90)));
+        StubStampRepository stamps = new StubStampRepository();
+
+        try {
+            CatalogSnapshotStore store = new CatalogSnapshotStore(stamps, file.toString(), 200, 60_000);
+            stamps.stamp = first.stamp();
+            store.updated(first);
+            store.flush();
+            assertThat(Files.exists(file)).isFalse();
+
+            Thread.sleep(250);
+            store.flush();
+            assertThat(Files.exists(file)).isTrue();
+            long written = Files.getLastModifiedTime(file).toMillis();
+
+            stamps.stamp = second.stamp();
+            store.updated(second);
+            store.flush();
+            assertThat(Files.getLastModifiedTime(file).toMillis()).isEqualTo(written);
+
+            store.flushOnShutdown();
+            assertThat(store.read()).isPresent();
+        } finally {
+            deleteAll(directory);
+        }
+    }
+
+    @Test
+    @DisplayName("Should still write under a steady stream of changes once the maximum delay has passed")
+    void testWritesAfterMaxDelay() throws Exception {
+        Path directory = Files.createTempDirectory("catalog-snapshot");
+        Path file = directory.resolve("catalog.bin");
+        StubStampRepository stamps = new StubStampRepository();
+
+        try {
+            CatalogSnapshotStore store = new CatalogSnapshotStore(stamps, file.toString(), 60_000, 200);
+            for (int i = 0; i < 5 && !Files.exists(file); i++) {
+                CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(), List.of(new RawMaterial(1L, "Iron", 100 - i)));
+                stamps.stamp = snapshot.stamp();
+                store.updated(snapshot);
+                store.flush();
+                Thread.sleep(100);
+            }
+
+            assertThat(Files.exists(file)).isTrue();
+        } finally {
+            deleteAll(directory);
+        }
+    }
+
+    private static void deleteAll(Path directory) throws IOException {
+        try (var paths = Files.list(directory)) {
+            for (Path path : paths.toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private static final class StubStampRepository extends CatalogStampRepository {
+
+        private volatile CatalogStamp stamp;
+
+        StubStampRepository() {
+            super(null);
+        }
+
+        @Override
+        public CatalogStamp current() {
+            return stamp;
+        }
+    }
+}
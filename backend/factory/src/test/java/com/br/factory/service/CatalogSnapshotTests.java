@@ -0,0 +1,171 @@
+package com.br.factory.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.dto.page.CursorPage;
+import com.br.factory.dto.product.ProductResponse;
+import com.br.factory.dto.rawmaterial.RawMaterialResponse;
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.repository.CatalogStamp.TableStamp;
+import com.br.factory.service.production.CompiledCatalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogSnapshot Tests")
+class CatalogSnapshotTests {
+
+    private RawMaterial iron;
+    private RawMaterial copper;
+    private Product plate;
+    private Product wire;
+    private Product gear;
+
+    @BeforeEach
+    void setUp() {
+        iron = new RawMaterial(1L, "Iron", 100);
+        copper = new RawMaterial(2L, "Copper", 50);
+
+        plate = new Product(1L, "Steel Plate", 50.0);
+        plate.setCompositions(List.of(new ProductComposition(10L, plate, iron, 10)));
+        wire = new Product(2L, "Copper Wire", 20.0);
+        wire.setCompositions(List.of(new ProductComposition(11L, wire, copper, 5)));
+        gear = new Product(3L, "Steel Gear", 80.0);
+        gear.setCompositions(List.of(
+            new ProductComposition(12L, gear, iron, 20),
+            new ProductComposition(13L, gear, copper, 2)
+        ));
+    }
+
+    @Test
+    @DisplayName("Should look up and page rows by code with a case-insensitive name prefix")
+    void testLookupsAndPages() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(gear, plate, wire), List.of(copper, iron));
+
+        ProductResponse product = snapshot.findProduct(3L).orElseThrow();
+        assertThat(product.compositions()).hasSize(2);
+        assertThat(product.compositions().get(1).rawMaterial().name()).isEqualTo("Copper");
+        assertThat(snapshot.findProduct(4L)).isEmpty();
+
+        CursorPage<ProductResponse> first = snapshot.productPage(0, 2, null);
+        assertThat(first.items()).hasSize(2);
+        assertThat(first.items().get(0).code()).isEqualTo(1L);
+        assertThat(first.nextCursor()).isEqualTo(2L);
+        assertThat(snapshot.productPage(first.nextCursor(), 2, null).items().get(0).code()).isEqualTo(3L);
+        assertThat(snapshot.productPage(first.nextCursor(), 2, null).nextCursor()).isNull();
+
+        CursorPage<ProductResponse> steel = snapshot.productPage(0, 50, "steel");
+        assertThat(steel.items()).extracting(ProductResponse::code).containsExactly(1L, 3L);
+
+        assertThat(snapshot.rawMaterials()).extracting(RawMaterialResponse::code).containsExactly(1L, 2L);
+        assertThat(snapshot.rawMaterialPage(1L, 50, null).items()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should page a name prefix in code order and follow renames and stock changes")
+    void testNamePrefixPages() {
+        RawMaterial coal = new RawMaterial(3L, "coal", 5);
+        RawMaterial cobalt = new RawMaterial(4L, "Cobalt", 5);
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(), List.of(cobalt, iron, copper, coal));
+
+        CursorPage<RawMaterialResponse> first = snapshot.rawMaterialPage(0, 2, "co");
+        assertThat(first.items()).extracting(RawMaterialResponse::code).containsExactly(2L, 3L);
+        assertThat(first.nextCursor()).isEqualTo(3L);
+        assertThat(snapshot.rawMaterialPage(first.nextCursor(), 2, "co").items())
+            .extracting(RawMaterialResponse::code).containsExactly(4L);
+        assertThat(snapshot.rawMaterialPage(0, 50, "cop").items())
+            .extracting(RawMaterialResponse::code).containsExactly(2L);
+
+        CatalogSnapshot restocked = snapshot.next(Set.of(), List.of(), Set.of(2L), List.of(new RawMaterial(2L, "Copper", 9)));
+        assertThat(restocked.rawMaterialPage(0, 50, "cop").items().get(0).stockQuantity()).isEqualTo(9);
+
+        CatalogSnapshot renamed = restocked.next(Set.of(), List.of(), Set.of(2L), List.of(new RawMaterial(2L, "Brass", 9)));
+        assertThat(renamed.rawMaterialPage(0, 50, "co").items())
+            .extracting(RawMaterialResponse::code).containsExactly(3L, 4L);
+        assertThat(renamed.rawMaterialPage(0, 50, "br").items())
+            .extracting(RawMaterialResponse::code).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should publish stock changes as a new version that shares the unchanged rows")
+    void testStockChangeSharesRows() {
+        iron.setVersion(3L);
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(plate, wire, gear), List.of(iron, copper));
+        CompiledCatalog catalog = snapshot.catalog();
+
+        RawMaterial updatedIron = new RawMaterial(1L, "Iron", 7);
+        updatedIron.setVersion(4L);
+        CatalogSnapshot next = snapshot.next(Set.of(), List.of(), Set.of(1L), List.of(updatedIron));
+
+        assertThat(next.stamp().rawMaterials()).isNotEqualTo(snapshot.stamp().rawMaterials());
+        assertThat(next.stamp().products()).isEqualTo(snapshot.stamp().products());
+        assertThat(snapshot.next(Set.of(), List.of(), Set.of(), List.of()).stamp()).isEqualTo(snapshot.stamp());
+        assertThat(next.findRawMaterial(2L).orElseThrow()).isSameAs(snapshot.findRawMaterial(2L).orElseThrow());
+        assertThat(next.findProduct(1L).orElseThrow().compositions().get(0).rawMaterial().stockQuantity()).isEqualTo(7);
+        assertThat(snapshot.findProduct(1L).orElseThrow().compositions().get(0).rawMaterial().stockQuantity()).isEqualTo(100);
+
+        assertThat(next.catalog().productCount()).isEqualTo(3);
+        assertThat(next.catalog().stock(0)).isEqualTo(7);
+        assertThat(catalog.stock(0)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should change the stamp when row changes cancel out in the key and version sums")
+    void testStampSeesCancellingChanges() {
+        iron.setVersion(3L);
+        copper.setVersion(1L);
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(), List.of(iron, copper));
+
+        RawMaterial ironBack = new RawMaterial(1L, "Iron", 100);
+        ironBack.setVersion(2L);
+        RawMaterial copperAhead = new RawMaterial(2L, "Copper", 50);
+        copperAhead.setVersion(2L);
+        CatalogSnapshot swapped = snapshot.next(Set.of(), List.of(), Set.of(1L, 2L), List.of(ironBack, copperAhead));
+
+        CatalogSnapshot rekeyed = CatalogSnapshot.of(List.of(), List.of(new RawMaterial(0L, "Iron", 100), new RawMaterial(3L, "Copper", 50)));
+        CatalogSnapshot original = CatalogSnapshot.of(List.of(), List.of(new RawMaterial(1L, "Iron", 100), new RawMaterial(2L, "Copper", 50)));
+
+        assertThat(swapped.stamp().rawMaterials()).isNotEqualTo(snapshot.stamp().rawMaterials());
+        assertThat(rekeyed.stamp().rawMaterials()).isNotEqualTo(original.stamp().rawMaterials());
+    }
+
+    @Test
+    @DisplayName("Should drop the rows a change names but no longer loads")
+    void testRemovesMissingRows() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(plate, wire, gear), List.of(iron, copper));
+
+        plate.setValue(55.0);
+        CatalogSnapshot next = snapshot.next(Set.of(1L, 2L), List.of(plate), Set.of(), List.of());
+
+        assertThat(next.products()).extracting(ProductResponse::code).containsExactly(1L, 3L);
+        assertThat(next.findProduct(1L).orElseThrow().value()).isEqualTo(55.0);
+        assertThat(snapshot.findProduct(1L).orElseThrow().value()).isEqualTo(50.0);
+        assertThat(next.catalog().productCount()).isEqualTo(2);
+        assertThat(next.stamp().products().rows()).isEqualTo(2L);
+        assertThat(next.stamp().compositions()).isEqualTo(TableStamp.EMPTY.with(10L, 0L).with(12L, 0L).with(13L, 0L));
+    }
+
+    @Test
+    @DisplayName("Should name the rows whose versions differ from the database")
+    void testFindsStaleRows() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(plate, wire, gear), List.of(iron, copper));
+
+        Map<Long, Long> productVersions = Map.of(1L, 0L, 2L, 1L, 4L, 0L);
+        Map<Long, TableStamp> compositionStamps = Map.of(
+            1L, TableStamp.EMPTY.with(10L, 0L),
+            2L, TableStamp.EMPTY.with(11L, 0L),
+            3L, TableStamp.EMPTY.with(12L, 0L)
+        );
+        assertThat(snapshot.staleProducts(productVersions, compositionStamps)).containsExactlyInAnyOrder(2L, 3L, 4L);
+
+        assertThat(snapshot.staleRawMaterials(Map.of(1L, 0L, 2L, 0L))).isEmpty();
+        assertThat(snapshot.staleRawMaterials(Map.of(1L, 2L, 5L, 0L))).containsExactlyInAnyOrder(1L, 2L, 5L);
+    }
+}
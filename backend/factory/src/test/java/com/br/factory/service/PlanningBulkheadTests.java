@@ -0,0 +1,62 @@
+package com.br.factory.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.exception.TooManyRequestsException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PlanningBulkhead Tests")
+class PlanningBulkheadTests {
+
+    @Test
+    @DisplayName("Should queue plans up to the limit and reject the rest with a retry hint")
+    void testRejectsPastQueueLimit() throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        PlanningBulkhead bulkhead = new PlanningBulkhead(executor, 3);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<Integer> running = bulkhead.submit(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1;
+            });
+            CompletableFuture<Integer> queued = bulkhead.submit(() -> 2);
+
+            assertThat(bulkhead.queuedPlans()).isEqualTo(1);
+            TooManyRequestsException rejected = null;
+            try {
+                bulkhead.submit(() -> 3);
+            } catch (TooManyRequestsException ex) {
+                rejected = ex;
+            }
+            assertThat(rejected).isNotNull();
+            assertThat(rejected.getRetryAfterSeconds()).isEqualTo(3L);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+            assertThat(bulkhead.submit(() -> 4).get(5, TimeUnit.SECONDS)).isEqualTo(4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
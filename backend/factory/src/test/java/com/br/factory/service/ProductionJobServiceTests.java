@@ -0,0 +1,203 @@
+package com.br.factory.service;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.br.factory.dto.production.ProductionJobRequest;
+import com.br.factory.dto.production.ProductionJobResponse;
+import com.br.factory.dto.production.ProductionJobStatus;
+import com.br.factory.dto.production.ProductionSuggestionResponse;
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.exception.ApiException;
+import com.br.factory.exception.ConflictException;
+import com.br.factory.exception.ResourceNotFoundException;
+import com.br.factory.service.production.ExactStrategy;
+import com.br.factory.service.production.GreedyStrategy;
+import com.br.factory.service.production.ImproveStrategy;
+import com.br.factory.service.production.ProductionEngine;
+import com.br.factory.service.production.ProductionImprover;
+import com.br.factory.service.production.ProductionStrategyRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductionJobService Tests")
+class ProductionJobServiceTests {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private RawMaterialService rawMaterialService;
+
+    private ProductionCalculationService productionCalculationService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        ProductionEngine productionEngine = new ProductionEngine(ForkJoinPool.commonPool(), 0);
+        ProductionImprover productionImprover = new ProductionImprover(ForkJoinPool.commonPool(), 2, 42L);
+        ProductionStrategyRegistry strategyRegistry = new ProductionStrategyRegistry(List.of(
+            new GreedyStrategy(productionEngine),
+            new ExactStrategy(productionEngine),
+            new ImproveStrategy(productionEngine, productionImprover)
+        ));
+
+        StockReservationTable reservationTable = new StockReservationTable();
+        StockAccumulator stockAccumulator = new StockAccumulator(rawMaterialService, event -> { }, 10000);
+        CatalogSnapshotService catalogSnapshotService = new CatalogSnapshotService(
+            new CatalogSnapshotLoader(productService, rawMaterialService, new CatalogSnapshotStore(null, "", 0, 0)),
+            null,
+            event -> { }
+        );
+        ProductionCatalogLoader catalogLoader = new ProductionCatalogLoader(catalogSnapshotService, stockAccumulator, reservationTable);
+        productionCalculationService = new ProductionCalculationService(
+            catalogLoader,
+            strategyRegistry,
+            new LiveProductionService(catalogLoader, catalogSnapshotService, stockAccumulator, reservationTable, productionEngine),
+            ForkJoinPool.commonPool(),
+            new CatalogVersion(),
+            256
+        );
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run a submitted job and expose its result")
+    void testSubmitAndFetchResult() throws InterruptedException {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 100);
+        Product plate = new Product(1L, "Steel Plate", 50.0);
+        plate.setCompositions(List.of(new ProductComposition(null, plate, iron, 10)));
+
+        when(productService.getAllProducts()).thenReturn(List.of(plate));
+        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of(iron));
+
+        ProductionJobService service = new ProductionJobService(productionCalculationService, executor, 1, 10, 600);
+        ProductionJobResponse submitted = service.submit(new ProductionJobRequest("exact", 2000L, null));
+
+        assertThat(submitted.strategy()).isEqualTo("exact");
+        assertThat(submitted.submittedAt()).isNotNull();
+
+        ProductionJobResponse finished = awaitFinished(service, submitted.id());
+        assertThat(finished.status()).isEqualTo(ProductionJobStatus.SUCCEEDED);
+        assertThat(finished.finishedAt()).isNotNull();
+
+        ProductionSuggestionResponse result = service.getResult(submitted.id());
+        assertThat(result.totalValue()).isEqualTo(500.0);
+        assertThat(result.suggestions().get(0).quantityToProduce()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should cancel a queued job and refuse to return a result")
+    void testCancelQueuedJob() throws InterruptedException {
+        CountDownLatch release = blockCatalogLoad();
+
+        ProductionJobService service = new ProductionJobService(productionCalculationService, executor, 1, 10, 600);
+        ProductionJobResponse running = service.submit(new ProductionJobRequest(null, null, null));
+        awaitStatus(service, running.id(), ProductionJobStatus.RUNNING);
+        ProductionJobResponse submitted = service.submit(new ProductionJobRequest(null, null, null));
+        assertThat(submitted.status()).isEqualTo(ProductionJobStatus.QUEUED);
+        assertThat(submitted.strategy()).isEqualTo("greedy");
+
+        ProductionJobResponse cancelled = service.cancel(submitted.id());
+        release.countDown();
+
+        assertThat(cancelled.status()).isEqualTo(ProductionJobStatus.CANCELLED);
+        assertThat(awaitFinished(service, running.id()).status()).isEqualTo(ProductionJobStatus.SUCCEEDED);
+        assertThat(service.getJob(submitted.id()).status()).isEqualTo(ProductionJobStatus.CANCELLED);
+        assertThatThrownBy(() -> service.getResult(submitted.id()))
+            .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should queue jobs beyond the running limit instead of refusing them")
+    void testQueuesJobsBeyondRunningLimit() throws InterruptedException {
+        CountDownLatch release = blockCatalogLoad();
+
+        ProductionJobService service = new ProductionJobService(productionCalculationService, executor, 1, 10, 600);
+        ProductionJobResponse first = service.submit(new ProductionJobRequest(null, null, null));
+        awaitStatus(service, first.id(), ProductionJobStatus.RUNNING);
+        ProductionJobResponse second = service.submit(new ProductionJobRequest(null, null, null));
+        Thread.sleep(50);
+
+        assertThat(service.getJob(second.id()).status()).isEqualTo(ProductionJobStatus.QUEUED);
+
+        release.countDown();
+        assertThat(awaitFinished(service, first.id()).status()).isEqualTo(ProductionJobStatus.SUCCEEDED);
+        assertThat(awaitFinished(service, second.id()).status()).isEqualTo(ProductionJobStatus.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown strategies and jobs")
+    void testRejectsUnknownStrategyAndJob() {
+        ProductionJobService service = new ProductionJobService(productionCalculationService, executor, 1, 10, 600);
+
+        assertThatThrownBy(() -> service.submit(new ProductionJobRequest("unknown", null, null)))
+            .isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> service.getJob("missing"))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse new jobs while the store is full of unexpired jobs")
+    void testRejectsWhenStoreIsFull() throws InterruptedException {
+        when(productService.getAllProducts()).thenReturn(List.of());
+        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of());
+
+        ProductionJobService service = new ProductionJobService(productionCalculationService, executor, 1, 1, 600);
+        ProductionJobResponse first = service.submit(new ProductionJobRequest("exact", 100L, null));
+        awaitFinished(service, first.id());
+
+        assertThatThrownBy(() -> service.submit(new ProductionJobRequest("exact", 100L, null)))
+            .isInstanceOf(ApiException.class)
+            .hasMessageContaining("Too many production jobs");
+    }
+
+    private CountDownLatch blockCatalogLoad() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(productService.getAllProducts()).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of());
+        return release;
+    }
+
+    private void awaitStatus(ProductionJobService service, String id, ProductionJobStatus status) throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && service.getJob(id).status() != status; attempt++) {
+            Thread.sleep(10);
+        }
+        assertThat(service.getJob(id).status()).isEqualTo(status);
+    }
+
+    private ProductionJobResponse awaitFinished(ProductionJobService service, String id) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            ProductionJobResponse response = service.getJob(id);
+            if (response.finishedAt() != null) {
+                return response;
+            }
+            Thread.sleep(10);
+        }
+        return service.getJob(id);
+    }
+}
@@ -0,0 +1,101 @@
+package com.br.factory.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.exception.ApiException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTests {
+
+    @Test
+    @DisplayName("Should run one computation for concurrent callers with the same key")
+    void testCoalescesConcurrentCallers() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            Future<Integer> leader = executor.submit(() -> flights.execute("greedy", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return 42;
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> flights.execute("greedy", () -> {
+                    runs.incrementAndGet();
+                    return -1;
+                })));
+            }
+            while (flights.coalesced() < 7) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            for (Future<Integer> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(flights.requests()).isEqualTo(8);
+        assertThat(flights.computations()).isEqualTo(1);
+        assertThat(flights.coalesced()).isEqualTo(7);
+        assertThat(flights.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should start a new computation once the previous one finished")
+    void testDoesNotCacheResults() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        flights.execute("exact", runs::incrementAndGet);
+        int second = flights.execute("exact", runs::incrementAndGet);
+
+        assertThat(second).isEqualTo(2);
+        assertThat(flights.coalesced()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rethrow the computation failure and release the key")
+    void testPropagatesFailures() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+
+        assertThatThrownBy(() -> flights.execute("exact", () -> {
+            throw new ApiException("boom");
+        })).isInstanceOf(ApiException.class);
+
+        assertThat(flights.execute("exact", () -> 7)).isEqualTo(7);
+        assertThat(flights.inFlight()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.br.factory.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.br.factory.dto.rawmaterial.StockAdjustment;
+import com.br.factory.dto.rawmaterial.StockAdjustmentResponse;
+import com.br.factory.dto.rawmaterial.StockAdjustmentResult;
+import com.br.factory.dto.rawmaterial.StockAdjustmentStatus;
+import com.br.factory.event.AvailableStockChangedEvent;
+import com.br.factory.event.StockChangedEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockAccumulator Tests")
+class StockAccumulatorTests {
+
+    @Mock
+    private RawMaterialService rawMaterialService;
+
+    private final List<List<StockAdjustment>> flushed = new CopyOnWriteArrayList<>();
+    private final List<Object> published = new CopyOnWriteArrayList<>();
+    private final ApplicationEventPublisher eventPublisher = published::add;
+
+    @Test
+    @DisplayName("Should coalesce concurrent events into one delta per material")
+    void testCoalescesConcurrentEvents() throws Exception {
+        stubFlush();
+        StockAccumulator accumulator = new StockAccumulator(rawMaterialService, eventPublisher, Long.MAX_VALUE);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 8; w++) {
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        accumulator.add(List.of(new StockAdjustment(1L, -1), new StockAdjustment(2L, 2)));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(accumulator.pending(1L)).isEqualTo(-8000L);
+        assertThat(accumulator.withPending(1L, 10000)).isEqualTo(2000);
+        assertThat(accumulator.withPending(1L, 5000)).isZero();
+
+        accumulator.flush();
+
+        assertThat(flushed).hasSize(1);
+        assertThat(flushed.get(0)).containsExactlyInAnyOrder(
+            new StockAdjustment(1L, -8000),
+            new StockAdjustment(2L, 16000)
+        );
+        assertThat(accumulator.pending(1L)).isZero();
+        assertThat(accumulator.pending(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should flush once the pending event count reaches the threshold")
+    void testFlushesAtThreshold() {
+        stubFlush();
+        StockAccumulator accumulator = new StockAccumulator(rawMaterialService, eventPublisher, 3);
+
+        accumulator.add(List.of(new StockAdjustment(1L, 5), new StockAdjustment(1L, -2)));
+        assertThat(flushed).isEmpty();
+
+        accumulator.add(List.of(new StockAdjustment(2L, 4)));
+        assertThat(flushed).hasSize(1);
+        assertThat(flushed.get(0)).containsExactlyInAnyOrder(new StockAdjustment(1L, 3), new StockAdjustment(2L, 4));
+    }
+
+    @Test
+    @DisplayName("Should keep the deltas pending when a flush fails")
+    void testKeepsDeltasWhenFlushFails() {
+        when(rawMaterialService.recordStockEvents(anyList())).thenThrow(new IllegalStateException("Database unavailable"));
+        StockAccumulator accumulator = new StockAccumulator(rawMaterialService, eventPublisher, Long.MAX_VALUE);
+
+        accumulator.add(List.of(new StockAdjustment(1L, 7)));
+        accumulator.flush();
+
+        assertThat(accumulator.pending(1L)).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should keep deltas pending until the flush commits and publish the change")
+    void testSubtractsOnlyAfterFlushCommits() {
+        StockAccumulator accumulator = new StockAccumulator(rawMaterialService, eventPublisher, Long.MAX_VALUE);
+        List<Long> pendingDuringFlush = new CopyOnWriteArrayList<>();
+        when(rawMaterialService.recordStockEvents(anyList())).thenAnswer(invocation -> {
+            pendingDuringFlush.add(accumulator.pending(1L));
+            return new StockAdjustmentResponse(1, 0, List.of(
+                new StockAdjustmentResult(1L, -4, -4L, StockAdjustmentStatus.APPLIED)
+            ));
+        });
+
+        accumulator.add(List.of(new StockAdjustment(1L, -4)));
+        accumulator.flush();
+
+        assertThat(pendingDuringFlush).containsExactly(-4L);
+        assertThat(accumulator.pending(1L)).isZero();
+        assertThat(published).containsExactly(
+            new AvailableStockChangedEvent(Set.of(1L)),
+            new AvailableStockChangedEvent(Set.of(1L))
+        );
+    }
+
+    @Test
+    @DisplayName("Should hold settled reads from the flush commit until the applied delta is subtracted")
+    void testSettledReadsWaitForSubtraction() {
+        StockAccumulator accumulator = new StockAccumulator(rawMaterialService, eventPublisher, Long.MAX_VALUE);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        List<Long> settledDuringCommit = new CopyOnWriteArrayList<>();
+        when(rawMaterialService.recordStockEvents(anyList())).thenAnswer(invocation -> {
+            StockChangedEvent event = new StockChangedEvent(Set.of(1L));
+            accumulator.onFlushCommitting(event);
+            Future<Long> read = reader.submit(() -> accumulator.readSettled(() -> accumulator.pending(1L)));
+            accumulator.onFlushCommitted(event);
+            settledDuringCommit.add(read.get());
+            return new StockAdjustmentResponse(1, 0, List.of(
+                new StockAdjustmentResult(1L, -4, -4L, StockAdjustmentStatus.APPLIED)
+            ));
+        });
+
+        try {
+            accumulator.add(List.of(new StockAdjustment(1L, -4)));
+            accumulator.flush();
+        } finally {
+            reader.shutdownNow();
+        }
+
+        assertThat(settledDuringCommit).containsExactly(0L);
+        assertThat(accumulator.pending(1L)).isZero();
+        assertThat(accumulator.readSettled(() -> accumulator.pending(1L))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep deltas the range check rejects pending and drop deltas for deleted materials")
+    void testRequeuesRejectedDeltas() {
+        when(rawMaterialService.recordStockEvents(anyList())).thenReturn(new StockAdjustmentResponse(0, 2, List.of(
+            new StockAdjustmentResult(1L, -50, -50L, StockAdjustmentStatus.OUT_OF_RANGE),
+            new StockAdjustmentResult(2L, 3, 3L, StockAdjustmentStatus.NOT_FOUND)
+        )));
+        StockAccumulator accumulator = new StockAccumulator(rawMaterialService, eventPublisher, Long.MAX_VALUE);
+
+        accumulator.add(List.of(new StockAdjustment(1L, -50), new StockAdjustment(2L, 3)));
+        accumulator.flush();
+
+        assertThat(accumulator.pending(1L)).isEqualTo(-50L);
+        assertThat(accumulator.pending(2L)).isZero();
+        assertThat(accumulator.rejectedDeltas()).isEqualTo(2L);
+    }
+
+    private void stubFlush() {
+        when(rawMaterialService.recordStockEvents(anyList())).thenAnswer(invocation -> {
+            List<StockAdjustment> batch = invocation.getArgument(0);
+            flushed.add(batch);
+            List<StockAdjustmentResult> results = batch.stream()
+                .map(adjustment -> new StockAdjustmentResult(
+                    adjustment.rawMaterialCode(),
+                    adjustment.delta(),
+                    adjustment.delta().longValue(),
+                    StockAdjustmentStatus.APPLIED
+                ))
+                .toList();
+            return new StockAdjustmentResponse(batch.size(), 0, results);
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.br.factory.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.exception.ConflictException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StockReservationTable Tests")
+class StockReservationTableTests {
+
+    private final StockReservationTable table = new StockReservationTable();
+    private final Map<Long, Integer> stock = Map.of(1L, 10, 2L, 5);
+
+    @Test
+    @DisplayName("Should hold stock per order and give it back on release")
+    void testPlaceAndRelease() {
+        table.place(hold("order-1", Map.of(1L, 6, 2L, 5)), stock);
+
+        assertThat(table.available(1L, 10)).isEqualTo(4);
+        assertThat(table.available(2L, 5)).isZero();
+        assertThatThrownBy(() -> table.place(hold("order-2", Map.of(1L, 5)), stock))
+            .isInstanceOf(ConflictException.class);
+
+        table.release("order-1");
+
+        assertThat(table.reserved(1L)).isZero();
+        assertThat(table.reserved(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should take nothing when one material of the order falls short")
+    void testPlaceAllOrNothing() {
+        assertThatThrownBy(() -> table.place(hold("order-1", Map.of(1L, 4, 2L, 6)), stock))
+            .isInstanceOf(ConflictException.class);
+
+        assertThat(table.reserved(1L)).isZero();
+        assertThat(table.find("order-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should expire a hold only while it is still the order's hold")
+    void testExpire() {
+        StockHold first = table.place(hold("order-1", Map.of(1L, 3)), stock);
+        table.release("order-1");
+        table.place(hold("order-1", Map.of(1L, 7)), stock);
+
+        assertThat(table.expire(first)).isFalse();
+        assertThat(table.reserved(1L)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should return holds from the timer wheel once their tick has passed")
+    void testTimerWheel() {
+        TimerWheel<String> wheel = new TimerWheel<>(100, 8, 0);
+        wheel.schedule("soon", 250);
+        wheel.schedule("next turn", 1250);
+
+        assertThat(wheel.advance(200)).isEmpty();
+        assertThat(wheel.advance(300)).isEqualTo(List.of("soon"));
+        assertThat(wheel.advance(1200)).isEmpty();
+        assertThat(wheel.advance(1300)).isEqualTo(List.of("next turn"));
+    }
+
+    private StockHold hold(String orderId, Map<Long, Integer> quantities) {
+        return new StockHold(orderId, quantities, Instant.now().plusSeconds(60));
+    }
+}
@@ -0,0 +1,132 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GreedyProductionEngine Tests")
+class GreedyProductionEngineTests {
+
+    @Test
+    @DisplayName("Should match a full rescan greedy on random catalogs")
+    void testMatchesFullRescan() {
+        Random random = new Random(42);
+
+        for (int run = 0; run < 500; run++) {
+            CompiledCatalog catalog = randomCatalog(random, 1 + random.nextInt(120), 1 + random.nextInt(15));
+
+            ProductionPlan expected = fullRescan(catalog);
+            ProductionPlan actual = GreedyProductionEngine.solve(catalog);
+
+            assertThat(actual.size()).isEqualTo(expected.size());
+            for (int line = 0; line < expected.size(); line++) {
+                assertThat(actual.product(line)).isEqualTo(expected.product(line));
+                assertThat(actual.quantity(line)).isEqualTo(expected.quantity(line));
+            }
+            assertThat(actual.totalValue()).isEqualTo(expected.totalValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Should break ties in favour of the first product")
+    void testTieBreaksOnProductOrder() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 100);
+        Product first = product(1L, 10.0, iron, 10);
+        Product second = product(2L, 10.0, iron, 10);
+
+        CompiledCatalog catalog = CompiledCatalog.compile(List.of(first, second), List.of(iron));
+        ProductionPlan plan = GreedyProductionEngine.solve(catalog);
+
+        assertThat(plan.size()).isEqualTo(1);
+        assertThat(catalog.productCode(plan.product(0))).isEqualTo(1L);
+        assertThat(plan.quantity(0)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should report each line as it is committed and stop when the listener asks")
+    void testCommitListener() {
+        CompiledCatalog catalog = randomCatalog(new Random(7), 60, 8);
+        ProductionPlan full = GreedyProductionEngine.solve(catalog);
+        assertThat(full.size()).isGreaterThan(2);
+
+        List<Integer> committed = new ArrayList<>();
+        ProductionPlan streamed = GreedyProductionEngine.solve(catalog, (plan, line) -> {
+            assertThat(plan.size()).isEqualTo(line + 1);
+            committed.add(plan.product(line));
+            return true;
+        });
+        assertThat(committed).hasSize(full.size());
+        for (int line = 0; line < full.size(); line++) {
+            assertThat(committed.get(line)).isEqualTo(full.product(line));
+        }
+        assertThat(streamed.totalValue()).isEqualTo(full.totalValue());
+
+        ProductionPlan stopped = GreedyProductionEngine.solve(catalog, (plan, line) -> line < 1);
+        assertThat(stopped.size()).isEqualTo(2);
+        assertThat(stopped.product(1)).isEqualTo(full.product(1));
+    }
+
+    private ProductionPlan fullRescan(CompiledCatalog catalog) {
+        int[] stock = catalog.copyStock();
+        ProductionPlan plan = new ProductionPlan(catalog.productCount());
+
+        while (true) {
+            int best = -1;
+            int bestQuantity = 0;
+            double bestTotal = 0.0;
+
+            for (int product = 0; product < catalog.productCount(); product++) {
+                int quantity = GreedyProductionEngine.maxQuantity(catalog, product, stock);
+                double total = catalog.productValue(product) * quantity;
+                if (quantity > 0 && (best < 0 || total > bestTotal)) {
+                    best = product;
+                    bestQuantity = quantity;
+                    bestTotal = total;
+                }
+            }
+
+            if (best < 0) {
+                return plan;
+            }
+            plan.add(best, bestQuantity, bestTotal);
+            GreedyProductionEngine.deductStock(catalog, best, bestQuantity, stock);
+        }
+    }
+
+    private CompiledCatalog randomCatalog(Random random, int productCount, int materialCount) {
+        List<RawMaterial> rawMaterials = new ArrayList<>();
+        for (int m = 0; m < materialCount; m++) {
+            rawMaterials.add(new RawMaterial((long) m + 1, "Material " + m, random.nextInt(500)));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int p = 0; p < productCount; p++) {
+            Product product = new Product((long) p + 1, "Product " + p, (double) (1 + random.nextInt(20)));
+            List<ProductComposition> compositions = new ArrayList<>();
+            int requirements = random.nextInt(4);
+            for (int r = 0; r < requirements; r++) {
+                RawMaterial rawMaterial = rawMaterials.get(random.nextInt(materialCount));
+                compositions.add(new ProductComposition(null, product, rawMaterial, 1 + random.nextInt(30)));
+            }
+            product.setCompositions(compositions);
+            products.add(product);
+        }
+
+        return CompiledCatalog.compile(products, rawMaterials);
+    }
+
+    private Product product(Long code, Double value, RawMaterial rawMaterial, Integer quantity) {
+        Product product = new Product(code, "Product " + code, value);
+        product.setCompositions(List.of(new ProductComposition(null, product, rawMaterial, quantity)));
+        return product;
+    }
+}
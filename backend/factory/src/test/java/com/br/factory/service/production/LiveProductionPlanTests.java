@@ -0,0 +1,105 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LiveProductionPlan Tests")
+class LiveProductionPlanTests {
+
+    private final ProductionEngine engine = new ProductionEngine(new ForkJoinPool(2), 0);
+
+    @Test
+    @DisplayName("Should match a full greedy run after every stock change")
+    void testStockChangesMatchFullRun() {
+        Random random = new Random(21);
+
+        for (int run = 0; run < 50; run++) {
+            List<RawMaterial> rawMaterials = new ArrayList<>();
+            List<Product> products = randomCatalog(random, 10 + random.nextInt(80), 3 + random.nextInt(20), rawMaterials);
+            LiveProductionPlan live = LiveProductionPlan.build(CompiledCatalog.compile(products, rawMaterials), null, engine);
+
+            for (int change = 0; change < 20; change++) {
+                Map<Long, Integer> stock = new HashMap<>();
+                for (int k = 1 + random.nextInt(3); k > 0; k--) {
+                    RawMaterial rawMaterial = rawMaterials.get(random.nextInt(rawMaterials.size()));
+                    rawMaterial.setStockQuantity(random.nextInt(300));
+                    stock.put(rawMaterial.getCode(), rawMaterial.getStockQuantity());
+                }
+                live = live.withStock(stock, engine);
+
+                CompiledCatalog catalog = CompiledCatalog.compile(products, rawMaterials);
+                assertSamePlan(catalog, GreedyProductionEngine.solve(catalog), live.catalog(), live.plan());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should match a full greedy run after a catalog rebuild")
+    void testRebuildMatchesFullRun() {
+        Random random = new Random(22);
+
+        for (int run = 0; run < 50; run++) {
+            List<RawMaterial> rawMaterials = new ArrayList<>();
+            List<Product> products = randomCatalog(random, 10 + random.nextInt(80), 3 + random.nextInt(20), rawMaterials);
+            LiveProductionPlan live = LiveProductionPlan.build(CompiledCatalog.compile(products, rawMaterials), null, engine);
+
+            Product changed = products.get(random.nextInt(products.size()));
+            changed.setValue(changed.getValue() + 7.0);
+            products.remove(random.nextInt(products.size()));
+
+            CompiledCatalog catalog = CompiledCatalog.compile(products, rawMaterials);
+            live = LiveProductionPlan.build(catalog, live, engine);
+
+            assertSamePlan(catalog, GreedyProductionEngine.solve(catalog), live.catalog(), live.plan());
+        }
+    }
+
+    private void assertSamePlan(
+        CompiledCatalog expectedCatalog,
+        ProductionPlan expected,
+        CompiledCatalog actualCatalog,
+        ProductionPlan actual
+    ) {
+        assertThat(actual.size()).isEqualTo(expected.size());
+        for (int line = 0; line < expected.size(); line++) {
+            assertThat(actualCatalog.productCode(actual.product(line)))
+                .isEqualTo(expectedCatalog.productCode(expected.product(line)));
+            assertThat(actual.quantity(line)).isEqualTo(expected.quantity(line));
+        }
+        assertThat(actual.totalValue()).isEqualTo(expected.totalValue());
+    }
+
+    private List<Product> randomCatalog(Random random, int productCount, int materialCount, List<RawMaterial> rawMaterials) {
+        for (int m = 0; m < materialCount; m++) {
+            rawMaterials.add(new RawMaterial((long) m + 1, "Material " + m, random.nextInt(300)));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int p = 0; p < productCount; p++) {
+            Product product = new Product((long) p + 1, "Product " + p, (double) (1 + random.nextInt(20)));
+            List<ProductComposition> compositions = new ArrayList<>();
+            int requirements = random.nextInt(3);
+            for (int r = 0; r < requirements; r++) {
+                RawMaterial rawMaterial = rawMaterials.get(random.nextInt(materialCount));
+                compositions.add(new ProductComposition(null, product, rawMaterial, 1 + random.nextInt(20)));
+            }
+            product.setCompositions(compositions);
+            products.add(product);
+        }
+
+        return products;
+    }
+}
@@ -0,0 +1,111 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalSearchEngine Tests")
+class LocalSearchEngineTests {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE / 4;
+
+    @Test
+    @DisplayName("Should return feasible plans never worse than the greedy seed")
+    void testNeverWorseThanSeed() {
+        Random random = new Random(11);
+
+        for (int run = 0; run < 200; run++) {
+            CompiledCatalog catalog = randomCatalog(random, 1 + random.nextInt(30), 1 + random.nextInt(5));
+            ProductionPlan greedy = GreedyProductionEngine.solve(catalog);
+
+            ProductionPlan improved = LocalSearchEngine.improve(
+                catalog,
+                greedy,
+                new SplittableRandom(run),
+                System.nanoTime() + NO_DEADLINE,
+                2000,
+                new CancellationToken()
+            );
+
+            assertThat(improved.totalValue()).isGreaterThanOrEqualTo(greedy.totalValue());
+            int[] stock = catalog.copyStock();
+            for (int line = 0; line < improved.size(); line++) {
+                GreedyProductionEngine.deductStock(catalog, improved.product(line), improved.quantity(line), stock);
+            }
+            for (int material = 0; material < catalog.materialCount(); material++) {
+                assertThat(stock[material]).isGreaterThanOrEqualTo(0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reproduce the same plan for the same seed and iteration count")
+    void testReproducibleWithSeed() {
+        CompiledCatalog catalog = randomCatalog(new Random(3), 40, 4);
+        ProductionPlan greedy = GreedyProductionEngine.solve(catalog);
+        ProductionImprover improver = new ProductionImprover(new ForkJoinPool(4), 4, 99L);
+
+        ProductionPlan first = improver.improve(catalog, greedy, System.nanoTime() + NO_DEADLINE, 3000, new CancellationToken());
+        ProductionPlan second = improver.improve(catalog, greedy, System.nanoTime() + NO_DEADLINE, 3000, new CancellationToken());
+
+        assertThat(second.size()).isEqualTo(first.size());
+        for (int line = 0; line < first.size(); line++) {
+            assertThat(second.product(line)).isEqualTo(first.product(line));
+            assertThat(second.quantity(line)).isEqualTo(first.quantity(line));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the seed plan once cancelled")
+    void testCancelled() {
+        CompiledCatalog catalog = randomCatalog(new Random(5), 40, 4);
+        ProductionPlan greedy = GreedyProductionEngine.solve(catalog);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        ProductionPlan result = LocalSearchEngine.improve(
+            catalog,
+            greedy,
+            new SplittableRandom(1),
+            System.nanoTime() + NO_DEADLINE,
+            0,
+            token
+        );
+
+        assertThat(result).isSameAs(greedy);
+    }
+
+    private CompiledCatalog randomCatalog(Random random, int productCount, int materialCount) {
+        List<RawMaterial> rawMaterials = new ArrayList<>();
+        for (int m = 0; m < materialCount; m++) {
+            rawMaterials.add(new RawMaterial((long) m + 1, "Material " + m, random.nextInt(200)));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int p = 0; p < productCount; p++) {
+            Product product = new Product((long) p + 1, "Product " + p, (double) (1 + random.nextInt(20)));
+            List<ProductComposition> compositions = new ArrayList<>();
+            int first = random.nextInt(materialCount);
+            int requirements = 1 + random.nextInt(Math.min(3, materialCount));
+            for (int r = 0; r < requirements; r++) {
+                RawMaterial rawMaterial = rawMaterials.get((first + r) % materialCount);
+                compositions.add(new ProductComposition(null, product, rawMaterial, 1 + random.nextInt(15)));
+            }
+            product.setCompositions(compositions);
+            products.add(product);
+        }
+
+        return CompiledCatalog.compile(products, rawMaterials);
+    }
+}
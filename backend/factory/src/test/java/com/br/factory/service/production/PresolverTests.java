@@ -0,0 +1,127 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Presolver Tests")
+class PresolverTests {
+
+    @Test
+    @DisplayName("Should drop empty, duplicate and dominated products and their unused materials")
+    void testReductions() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 100);
+        RawMaterial copper = new RawMaterial(2L, "Copper", 50);
+        RawMaterial tin = new RawMaterial(3L, "Tin", 10);
+
+        Product plate = product(1L, 20.0);
+        plate.setCompositions(List.of(new ProductComposition(null, plate, iron, 5)));
+        Product cheapPlate = product(2L, 15.0);
+        cheapPlate.setCompositions(List.of(new ProductComposition(null, cheapPlate, iron, 5)));
+        Product bracket = product(3L, 18.0);
+        bracket.setCompositions(List.of(
+            new ProductComposition(null, bracket, iron, 6),
+            new ProductComposition(null, bracket, copper, 2)
+        ));
+        Product wire = product(4L, 12.0);
+        wire.setCompositions(List.of(new ProductComposition(null, wire, copper, 3)));
+        Product solder = product(5L, 9.0);
+        solder.setCompositions(List.of(
+            new ProductComposition(null, solder, copper, 4),
+            new ProductComposition(null, solder, tin, 1)
+        ));
+        Product sample = product(6L, 5.0);
+
+        CompiledCatalog catalog = CompiledCatalog.compile(
+            List.of(plate, cheapPlate, bracket, wire, solder, sample),
+            List.of(iron, copper, tin)
+        );
+        PresolveResult result = Presolver.presolve(catalog);
+
+        assertThat(result.productsWithoutComposition()).isEqualTo(1);
+        assertThat(result.duplicateProducts()).isEqualTo(1);
+        assertThat(result.dominatedProducts()).isEqualTo(2);
+        assertThat(result.productsAfter()).isEqualTo(2);
+        assertThat(result.catalog().productCode(0)).isEqualTo(1L);
+        assertThat(result.catalog().productCode(1)).isEqualTo(4L);
+        assertThat(result.rawMaterialsBefore()).isEqualTo(3);
+        assertThat(result.rawMaterialsAfter()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep a cheaper product that needs less of some material")
+    void testKeepsIncomparableProducts() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 100);
+        RawMaterial copper = new RawMaterial(2L, "Copper", 50);
+
+        Product heavy = product(1L, 30.0);
+        heavy.setCompositions(List.of(new ProductComposition(null, heavy, iron, 10)));
+        Product light = product(2L, 10.0);
+        light.setCompositions(List.of(
+            new ProductComposition(null, light, iron, 2),
+            new ProductComposition(null, light, copper, 1)
+        ));
+
+        CompiledCatalog catalog = CompiledCatalog.compile(List.of(heavy, light), List.of(iron, copper));
+        PresolveResult result = Presolver.presolve(catalog);
+
+        assertThat(result.productsAfter()).isEqualTo(2);
+        assertThat(result.dominatedProducts()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave the greedy plan unchanged on random catalogs")
+    void testPreservesGreedyPlan() {
+        Random random = new Random(7);
+
+        for (int run = 0; run < 500; run++) {
+            CompiledCatalog catalog = randomCatalog(random, 1 + random.nextInt(40), 1 + random.nextInt(5));
+            CompiledCatalog reduced = Presolver.presolve(catalog).catalog();
+
+            ProductionPlan expected = GreedyProductionEngine.solve(catalog);
+            ProductionPlan actual = GreedyProductionEngine.solve(reduced);
+
+            assertThat(actual.size()).isEqualTo(expected.size());
+            for (int line = 0; line < expected.size(); line++) {
+                assertThat(reduced.productCode(actual.product(line))).isEqualTo(catalog.productCode(expected.product(line)));
+                assertThat(actual.quantity(line)).isEqualTo(expected.quantity(line));
+            }
+            assertThat(actual.totalValue()).isEqualTo(expected.totalValue());
+        }
+    }
+
+    private CompiledCatalog randomCatalog(Random random, int productCount, int materialCount) {
+        List<RawMaterial> rawMaterials = new ArrayList<>();
+        for (int m = 0; m < materialCount; m++) {
+            rawMaterials.add(new RawMaterial((long) m + 1, "Material " + m, random.nextInt(60)));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int p = 0; p < productCount; p++) {
+            Product product = product((long) p + 1, (double) (1 + random.nextInt(5)));
+            List<ProductComposition> compositions = new ArrayList<>();
+            int requirements = random.nextInt(4);
+            for (int r = 0; r < requirements; r++) {
+                RawMaterial rawMaterial = rawMaterials.get(random.nextInt(materialCount));
+                compositions.add(new ProductComposition(null, product, rawMaterial, 1 + random.nextInt(4)));
+            }
+            product.setCompositions(compositions);
+            products.add(product);
+        }
+
+        return CompiledCatalog.compile(products, rawMaterials);
+    }
+
+    private Product product(Long code, Double value) {
+        return new Product(code, "Product " + code, value);
+    }
+}
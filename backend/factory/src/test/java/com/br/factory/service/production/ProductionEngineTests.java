@@ -0,0 +1,123 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProductionEngine Tests")
+class ProductionEngineTests {
+
+    @Test
+    @DisplayName("Should split products into families that share raw materials")
+    void testComponents() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 100);
+        RawMaterial copper = new RawMaterial(2L, "Copper", 100);
+        RawMaterial tin = new RawMaterial(3L, "Tin", 100);
+
+        Product plate = product(1L, iron);
+        Product gear = product(2L, copper);
+        Product bronze = product(3L, copper, tin);
+        Product rod = product(4L, iron);
+        Product empty = new Product(5L, "Empty", 10.0);
+
+        CompiledCatalog catalog = CompiledCatalog.compile(
+            List.of(plate, gear, bronze, rod, empty),
+            List.of(iron, copper, tin)
+        );
+        List<int[]> components = CatalogPartitioner.components(catalog);
+
+        assertThat(components.size()).isEqualTo(2);
+        assertThat(components.get(0)).containsExactly(0, 3);
+        assertThat(components.get(1)).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("Should merge family plans into the same plan as a single greedy run")
+    void testGreedyMatchesSingleRun() {
+        Random random = new Random(7);
+        ProductionEngine sequential = new ProductionEngine(new ForkJoinPool(1), 0);
+        ProductionEngine parallel = new ProductionEngine(new ForkJoinPool(4), 0);
+
+        for (int run = 0; run < 200; run++) {
+            CompiledCatalog catalog = randomCatalog(random, 20 + random.nextInt(200), 5 + random.nextInt(60));
+
+            ProductionPlan expected = GreedyProductionEngine.solve(catalog);
+            for (ProductionEngine engine : List.of(sequential, parallel)) {
+                ProductionPlan actual = engine.greedy(catalog);
+
+                assertThat(actual.size()).isEqualTo(expected.size());
+                for (int line = 0; line < expected.size(); line++) {
+                    assertThat(actual.product(line)).isEqualTo(expected.product(line));
+                    assertThat(actual.quantity(line)).isEqualTo(expected.quantity(line));
+                }
+                assertThat(actual.totalValue()).isEqualTo(expected.totalValue());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the same exact plan whatever the thread count")
+    void testExactIsDeterministic() {
+        Random random = new Random(11);
+        ProductionEngine sequential = new ProductionEngine(new ForkJoinPool(1), 0);
+        ProductionEngine parallel = new ProductionEngine(new ForkJoinPool(4), 0);
+
+        for (int run = 0; run < 20; run++) {
+            CompiledCatalog catalog = randomCatalog(random, 10 + random.nextInt(20), 10 + random.nextInt(20));
+            long deadline = System.nanoTime() + 5_000_000_000L;
+
+            SolverResult expected = sequential.exact(catalog, deadline);
+            SolverResult actual = parallel.exact(catalog, deadline);
+
+            assertThat(expected.optimal()).isTrue();
+            assertThat(actual.optimal()).isTrue();
+            assertThat(actual.plan().size()).isEqualTo(expected.plan().size());
+            for (int line = 0; line < expected.plan().size(); line++) {
+                assertThat(actual.plan().product(line)).isEqualTo(expected.plan().product(line));
+                assertThat(actual.plan().quantity(line)).isEqualTo(expected.plan().quantity(line));
+            }
+        }
+    }
+
+    private CompiledCatalog randomCatalog(Random random, int productCount, int materialCount) {
+        List<RawMaterial> rawMaterials = new ArrayList<>();
+        for (int m = 0; m < materialCount; m++) {
+            rawMaterials.add(new RawMaterial((long) m + 1, "Material " + m, random.nextInt(300)));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int p = 0; p < productCount; p++) {
+            Product product = new Product((long) p + 1, "Product " + p, (double) (1 + random.nextInt(20)));
+            List<ProductComposition> compositions = new ArrayList<>();
+            int requirements = random.nextInt(3);
+            for (int r = 0; r < requirements; r++) {
+                RawMaterial rawMaterial = rawMaterials.get(random.nextInt(materialCount));
+                compositions.add(new ProductComposition(null, product, rawMaterial, 1 + random.nextInt(30)));
+            }
+            product.setCompositions(compositions);
+            products.add(product);
+        }
+
+        return CompiledCatalog.compile(products, rawMaterials);
+    }
+
+    private Product product(Long code, RawMaterial... rawMaterials) {
+        Product product = new Product(code, "Product " + code, 10.0);
+        List<ProductComposition> compositions = new ArrayList<>();
+        for (RawMaterial rawMaterial : rawMaterials) {
+            compositions.add(new ProductComposition(null, product, rawMaterial, 1));
+        }
+        product.setCompositions(compositions);
+        return product;
+    }
+}
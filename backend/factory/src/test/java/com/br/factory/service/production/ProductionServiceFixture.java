@@ -0,0 +1,125 @@
+package com.br.factory.service.production;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.service.CatalogSnapshotLoader;
+import com.br.factory.service.CatalogSnapshotService;
+import com.br.factory.service.CatalogSnapshotStore;
+import com.br.factory.service.CatalogVersion;
+import com.br.factory.service.LiveProductionService;
+import com.br.factory.service.ProductService;
+import com.br.factory.service.ProductionCalculationService;
+import com.br.factory.service.ProductionCatalogLoader;
+import com.br.factory.service.RawMaterialService;
+import com.br.factory.service.StockAccumulator;
+import com.br.factory.service.StockReservationTable;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Wires a {@link ProductionCalculationService} over mocked catalog services,
+ * the way the application context does, and builds the catalogs the
+ * production service tests share.
+ */
+final class ProductionServiceFixture {
+
+    private final ProductService productService;
+    private final RawMaterialService rawMaterialService;
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final StockReservationTable reservationTable = new StockReservationTable();
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ProductionCalculationService service;
+
+    ProductionServiceFixture(ProductService productService, RawMaterialService rawMaterialService) {
+        this.productService = productService;
+        this.rawMaterialService = rawMaterialService;
+
+        ProductionEngine productionEngine = new ProductionEngine(ForkJoinPool.commonPool(), 0);
+        ProductionImprover productionImprover = new ProductionImprover(ForkJoinPool.commonPool(), 2, 42L);
+        ProductionStrategyRegistry strategyRegistry = new ProductionStrategyRegistry(List.of(
+            new GreedyStrategy(productionEngine),
+            new ExactStrategy(productionEngine),
+            new ImproveStrategy(productionEngine, productionImprover)
+        ));
+
+        StockAccumulator stockAccumulator = new StockAccumulator(rawMaterialService, event -> { }, 10000);
+        catalogSnapshotService = new CatalogSnapshotService(
+            new CatalogSnapshotLoader(productService, rawMaterialService, new CatalogSnapshotStore(null, "", 0, 0)),
+            null,
+            event -> { }
+        );
+        ProductionCatalogLoader catalogLoader = new ProductionCatalogLoader(catalogSnapshotService, stockAccumulator, reservationTable);
+        service = new ProductionCalculationService(
+            catalogLoader,
+            strategyRegistry,
+            new LiveProductionService(catalogLoader, catalogSnapshotService, stockAccumulator, reservationTable, productionEngine),
+            ForkJoinPool.commonPool(),
+            catalogVersion,
+            256
+        );
+    }
+
+    ProductionCalculationService service() {
+        return service;
+    }
+
+    CatalogVersion catalogVersion() {
+        return catalogVersion;
+    }
+
+    CatalogSnapshotService catalogSnapshotService() {
+        return catalogSnapshotService;
+    }
+
+    StockReservationTable reservationTable() {
+        return reservationTable;
+    }
+
+    void catalog(List<Product> products, List<RawMaterial> rawMaterials) {
+        when(productService.getAllProducts()).thenReturn(products);
+        when(rawMaterialService.getAllRawMaterials()).thenReturn(rawMaterials);
+    }
+
+    /**
+     * Twelve iron shared by a Steel Plate (70 for 7), a Brass Gear (30 for 5)
+     * and a Bolt (26 for 4). Greedy by value density takes three Bolts for 78;
+     * the optimum is a Steel Plate and a Brass Gear for 100.
+     */
+    void knapsackCatalog() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 12);
+        catalog(
+            List.of(
+                product(1L, "Steel Plate", 70.0, iron, 7),
+                product(2L, "Brass Gear", 30.0, iron, 5),
+                product(3L, "Bolt", 26.0, iron, 4)
+            ),
+            List.of(iron)
+        );
+    }
+
+    static RawMaterial iron() {
+        return new RawMaterial(1L, "Iron", 100);
+    }
+
+    static RawMaterial copper() {
+        return new RawMaterial(2L, "Copper", 50);
+    }
+
+    static Product steelPlate() {
+        return new Product(1L, "Steel Plate", 50.0);
+    }
+
+    static Product brassGear() {
+        return new Product(2L, "Brass Gear", 100.0);
+    }
+
+    static Product product(Long code, String name, double value, RawMaterial rawMaterial, int quantityRequired) {
+        Product product = new Product(code, name, value);
+        product.setCompositions(List.of(new ProductComposition(null, product, rawMaterial, quantityRequired)));
+        return product;
+    }
+}
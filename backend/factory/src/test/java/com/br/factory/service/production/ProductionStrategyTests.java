@@ -0,0 +1,85 @@
+package com.br.factory.service.production;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.br.factory.dto.production.ProductionComparisonResponse;
+import com.br.factory.dto.production.ProductionSuggestionResponse;
+import com.br.factory.dto.production.StrategyComparison;
+import com.br.factory.service.ProductService;
+import com.br.factory.service.ProductionCalculationService;
+import com.br.factory.service.RawMaterialService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Production Strategy Tests")
+class ProductionStrategyTests {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private RawMaterialService rawMaterialService;
+
+    private ProductionCalculationService productionCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        ProductionServiceFixture fixture = new ProductionServiceFixture(productService, rawMaterialService);
+        fixture.knapsackCatalog();
+        productionCalculationService = fixture.service();
+    }
+
+    @Test
+    @DisplayName("Should find a better combination than greedy with the exact strategy")
+    void testExactStrategyBeatsGreedy() {
+        ProductionSuggestionResponse greedy = productionCalculationService.calculateOptimalProduction();
+        ProductionSuggestionResponse exact = productionCalculationService.calculateOptimalProduction("exact", 1000);
+
+        assertThat(greedy.totalValue()).isEqualTo(78.0);
+        assertThat(exact.totalValue()).isEqualTo(100.0);
+        assertThat(exact.optimalityGap()).isEqualTo(0.0);
+        assertThat(exact.suggestions().size()).isEqualTo(2);
+        assertThat(exact.suggestions().get(0).productCode()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should improve on the greedy plan with the improve strategy")
+    void testImproveStrategyBeatsGreedy() {
+        ProductionSuggestionResponse result = productionCalculationService.calculateOptimalProduction("improve", 60000, 5000);
+
+        assertThat(result.strategy()).isEqualTo("improve");
+        assertThat(result.totalValue()).isEqualTo(100.0);
+        assertThat(result.optimalityGap()).isNull();
+        assertThat(result.suggestions().get(0).productCode()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should compare every registered strategy on the same catalog")
+    void testCompareStrategies() {
+        ProductionComparisonResponse result = productionCalculationService.compareStrategies(List.of(), 1000, 5000);
+
+        assertThat(result.strategies().size()).isEqualTo(3);
+
+        StrategyComparison exact = result.strategies().get(0);
+        StrategyComparison greedy = result.strategies().get(1);
+        StrategyComparison improve = result.strategies().get(2);
+
+        assertThat(exact.strategy()).isEqualTo("exact");
+        assertThat(exact.totalValue()).isEqualTo(100.0);
+        assertThat(exact.optimalityGap()).isEqualTo(0.0);
+        assertThat(greedy.strategy()).isEqualTo("greedy");
+        assertThat(greedy.totalValue()).isEqualTo(78.0);
+        assertThat(improve.strategy()).isEqualTo("improve");
+        assertThat(improve.totalValue()).isEqualTo(100.0);
+        assertThat(greedy.wallTimeMs()).isGreaterThanOrEqualTo(0.0);
+        assertThat(result.presolve().productsAfter()).isEqualTo(3);
+    }
+}
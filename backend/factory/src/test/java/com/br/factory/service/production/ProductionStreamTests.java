@@ -0,0 +1,82 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.br.factory.dto.production.ProductionItem;
+import com.br.factory.dto.production.ProductionStreamSummary;
+import com.br.factory.dto.production.ProductionSuggestionResponse;
+import com.br.factory.service.ProductService;
+import com.br.factory.service.ProductionCalculationService;
+import com.br.factory.service.RawMaterialService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Production Stream Tests")
+class ProductionStreamTests {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private RawMaterialService rawMaterialService;
+
+    private ProductionCalculationService productionCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        ProductionServiceFixture fixture = new ProductionServiceFixture(productService, rawMaterialService);
+        fixture.knapsackCatalog();
+        productionCalculationService = fixture.service();
+    }
+
+    @Test
+    @DisplayName("Should stream the same lines and summary as the buffered suggestion")
+    void testStreamOptimalProduction() {
+        ProductionSuggestionResponse expected = productionCalculationService.calculateOptimalProduction("exact", 1000);
+        List<ProductionItem> streamed = new ArrayList<>();
+        ProductionStreamSummary summary = productionCalculationService.streamOptimalProduction(
+            "exact",
+            1000,
+            0,
+            new CancellationToken(),
+            streamed::add
+        );
+
+        assertThat(streamed).isEqualTo(expected.suggestions());
+        assertThat(summary.itemCount()).isEqualTo(expected.suggestions().size());
+        assertThat(summary.totalValue()).isEqualTo(expected.totalValue());
+        assertThat(summary.message()).isEqualTo(expected.message());
+        assertThat(summary.strategy()).isEqualTo("exact");
+    }
+
+    @Test
+    @DisplayName("Should emit each greedy line before the engine commits the next one")
+    void testStreamGreedyEmitsOnCommit() {
+        CancellationToken cancellationToken = new CancellationToken();
+        List<ProductionItem> streamed = new ArrayList<>();
+        ProductionStreamSummary summary = productionCalculationService.streamOptimalProduction(
+            "greedy",
+            1000,
+            0,
+            cancellationToken,
+            item -> {
+                streamed.add(item);
+                cancellationToken.cancel();
+            }
+        );
+
+        assertThat(streamed).hasSize(1);
+        assertThat(streamed.get(0).productCode()).isEqualTo(3L);
+        assertThat(summary.itemCount()).isEqualTo(1);
+        assertThat(summary.strategy()).isEqualTo("greedy");
+    }
+}
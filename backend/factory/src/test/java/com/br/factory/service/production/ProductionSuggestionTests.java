@@ -1,13 +1,14 @@
-package com.br.factory.service;
+package com.br.factory.service.production;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -15,13 +16,18 @@ import com.br.factory.dto.production.ProductionSuggestionResponse;
 import com.br.factory.entity.Product;
 import com.br.factory.entity.ProductComposition;
 import com.br.factory.entity.RawMaterial;
+import com.br.factory.exception.ApiException;
+import com.br.factory.service.ProductService;
+import com.br.factory.service.ProductionCalculationService;
+import com.br.factory.service.RawMaterialService;
+import com.br.factory.service.StockHold;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @ExtendWith(MockitoExtension.class)
-@DisplayName("ProductionCalculationService Tests")
-class ProductionCalculationServiceTests {
+@DisplayName("Production Suggestion Tests")
+class ProductionSuggestionTests {
 
     @Mock
     private ProductService productService;
@@ -29,7 +35,7 @@ class ProductionCalculationServiceTests {
     @Mock
     private RawMaterialService rawMaterialService;
 
-    @InjectMocks
+    private ProductionServiceFixture fixture;
     private ProductionCalculationService productionCalculationService;
 
     private RawMaterial rawMaterial1;
@@ -39,26 +45,21 @@ class ProductionCalculationServiceTests {
 
     @BeforeEach
     void setUp() {
-        rawMaterial1 = new RawMaterial(1L, "Iron", 100);
-        rawMaterial2 = new RawMaterial(2L, "Copper", 50);
+        fixture = new ProductionServiceFixture(productService, rawMaterialService);
+        productionCalculationService = fixture.service();
 
-        product1 = new Product(1L, "Steel Plate", 50.0);
-        product2 = new Product(2L, "Brass Gear", 100.0);
+        rawMaterial1 = ProductionServiceFixture.iron();
+        rawMaterial2 = ProductionServiceFixture.copper();
+
+        product1 = ProductionServiceFixture.steelPlate();
+        product2 = ProductionServiceFixture.brassGear();
     }
 
     @Test
     @DisplayName("Should suggest optimal production with single product")
     void testOptimalProductionWithSingleProduct() {
-        ProductComposition composition1 = new ProductComposition(
-            null,
-            product1,
-            rawMaterial1,
-            10 
-        );
-        product1.setCompositions(List.of(composition1));
-
-        when(productService.getAllProducts()).thenReturn(List.of(product1));
-        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of(rawMaterial1));
+        product1.setCompositions(List.of(new ProductComposition(null, product1, rawMaterial1, 10)));
+        fixture.catalog(List.of(product1), List.of(rawMaterial1));
 
         ProductionSuggestionResponse response = productionCalculationService.calculateOptimalProduction();
 
@@ -71,26 +72,28 @@ class ProductionCalculationServiceTests {
     }
 
     @Test
-    @DisplayName("Should suggest optimal production with multiple products")
-    void testOptimalProductionWithMultipleProducts() {
-        ProductComposition composition1 = new ProductComposition(
-            null,
-            product1,
-            rawMaterial1,
-            10 
+    @DisplayName("Should plan against the stock left after active reservations")
+    void testOptimalProductionRespectsReservations() {
+        product1.setCompositions(List.of(new ProductComposition(null, product1, rawMaterial1, 10)));
+        fixture.catalog(List.of(product1), List.of(rawMaterial1));
+
+        fixture.reservationTable().place(
+            new StockHold("order-1", Map.of(1L, 35), Instant.now().plusSeconds(60)),
+            Map.of(1L, rawMaterial1.getStockQuantity())
         );
-        product1.setCompositions(List.of(composition1));
 
-        ProductComposition composition2 = new ProductComposition(
-            null,
-            product2,
-            rawMaterial2,
-            5 
-        );
-        product2.setCompositions(List.of(composition2));
+        ProductionSuggestionResponse response = productionCalculationService.calculateOptimalProduction();
+
+        assertThat(response.suggestions().get(0).quantityToProduce()).isEqualTo(6);
+        assertThat(response.totalValue()).isEqualTo(300.0);
+    }
 
-        when(productService.getAllProducts()).thenReturn(List.of(product1, product2));
-        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of(rawMaterial1, rawMaterial2));
+    @Test
+    @DisplayName("Should suggest optimal production with multiple products")
+    void testOptimalProductionWithMultipleProducts() {
+        product1.setCompositions(List.of(new ProductComposition(null, product1, rawMaterial1, 10)));
+        product2.setCompositions(List.of(new ProductComposition(null, product2, rawMaterial2, 5)));
+        fixture.catalog(List.of(product1, product2), List.of(rawMaterial1, rawMaterial2));
 
         ProductionSuggestionResponse response = productionCalculationService.calculateOptimalProduction();
 
@@ -104,22 +107,11 @@ class ProductionCalculationServiceTests {
     @Test
     @DisplayName("Should handle product with multiple raw materials")
     void testProductionWithMultipleRawMaterials() {
-        ProductComposition composition1 = new ProductComposition(
-            null,
-            product1,
-            rawMaterial1,
-            10
-        );
-        ProductComposition composition2 = new ProductComposition(
-            null,
-            product1,
-            rawMaterial2,
-            5
-        );
-        product1.setCompositions(List.of(composition1, composition2));
-
-        when(productService.getAllProducts()).thenReturn(List.of(product1));
-        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of(rawMaterial1, rawMaterial2));
+        product1.setCompositions(List.of(
+            new ProductComposition(null, product1, rawMaterial1, 10),
+            new ProductComposition(null, product1, rawMaterial2, 5)
+        ));
+        fixture.catalog(List.of(product1), List.of(rawMaterial1, rawMaterial2));
 
         ProductionSuggestionResponse response = productionCalculationService.calculateOptimalProduction();
 
@@ -132,8 +124,7 @@ class ProductionCalculationServiceTests {
     @Test
     @DisplayName("Should return empty suggestions when no products available")
     void testNoProductsAvailable() {
-        when(productService.getAllProducts()).thenReturn(new ArrayList<>());
-        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of(rawMaterial1, rawMaterial2));
+        fixture.catalog(new ArrayList<>(), List.of(rawMaterial1, rawMaterial2));
 
         ProductionSuggestionResponse response = productionCalculationService.calculateOptimalProduction();
 
@@ -146,16 +137,8 @@ class ProductionCalculationServiceTests {
     @Test
     @DisplayName("Should return suggestions when exact stock matches requirement")
     void testInsufficientRawMaterials() {
-        ProductComposition composition1 = new ProductComposition(
-            null,
-            product1,
-            rawMaterial1,
-            100 
-        );
-        product1.setCompositions(List.of(composition1));
-
-        when(productService.getAllProducts()).thenReturn(List.of(product1));
-        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of(rawMaterial1));
+        product1.setCompositions(List.of(new ProductComposition(null, product1, rawMaterial1, 100)));
+        fixture.catalog(List.of(product1), List.of(rawMaterial1));
 
         ProductionSuggestionResponse response = productionCalculationService.calculateOptimalProduction();
 
@@ -168,29 +151,9 @@ class ProductionCalculationServiceTests {
     @DisplayName("Should prioritize higher value products")
     void testPrioritizeHigherValueProducts() {
         rawMaterial1.setStockQuantity(20);
-
-        ProductComposition composition1 = new ProductComposition(
-            null,
-            product1,
-            rawMaterial1,
-            10 
-        );
-        product1.setCompositions(List.of(composition1));
-
-        ProductComposition composition2 = new ProductComposition(
-            null,
-            product2,
-            rawMaterial1,
-            10 
-        );
-        product2.setCompositions(List.of(composition2));
-
-        List<Product> products = new ArrayList<>();
-        products.add(product1);
-        products.add(product2);
-
-        when(productService.getAllProducts()).thenReturn(products);
-        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of(rawMaterial1));
+        product1.setCompositions(List.of(new ProductComposition(null, product1, rawMaterial1, 10)));
+        product2.setCompositions(List.of(new ProductComposition(null, product2, rawMaterial1, 10)));
+        fixture.catalog(List.of(product1, product2), List.of(rawMaterial1));
 
         ProductionSuggestionResponse response = productionCalculationService.calculateOptimalProduction();
 
@@ -203,9 +166,7 @@ class ProductionCalculationServiceTests {
     @DisplayName("Should handle product with no compositions")
     void testProductWithoutCompositions() {
         product1.setCompositions(new ArrayList<>());
-
-        when(productService.getAllProducts()).thenReturn(List.of(product1));
-        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of(rawMaterial1));
+        fixture.catalog(List.of(product1), List.of(rawMaterial1));
 
         ProductionSuggestionResponse response = productionCalculationService.calculateOptimalProduction();
 
@@ -217,28 +178,21 @@ class ProductionCalculationServiceTests {
     @Test
     @DisplayName("Should correctly calculate total value of production")
     void testTotalValueCalculation() {
-        ProductComposition composition1 = new ProductComposition(
-            null,
-            product1,
-            rawMaterial1,
-            10
-        );
-        product1.setCompositions(List.of(composition1));
-
-        ProductComposition composition2 = new ProductComposition(
-            null,
-            product2,
-            rawMaterial2,
-            10
-        );
-        product2.setCompositions(List.of(composition2));
-
-        when(productService.getAllProducts()).thenReturn(List.of(product1, product2));
-        when(rawMaterialService.getAllRawMaterials()).thenReturn(List.of(rawMaterial1, rawMaterial2));
+        product1.setCompositions(List.of(new ProductComposition(null, product1, rawMaterial1, 10)));
+        product2.setCompositions(List.of(new ProductComposition(null, product2, rawMaterial2, 10)));
+        fixture.catalog(List.of(product1, product2), List.of(rawMaterial1, rawMaterial2));
 
         ProductionSuggestionResponse response = productionCalculationService.calculateOptimalProduction();
 
-        double expectedValue = (50.0 * 10) + (100.0 * 5); 
+        double expectedValue = (50.0 * 10) + (100.0 * 5);
         assertThat(response.totalValue()).isEqualTo(expectedValue);
     }
+
+    @Test
+    @DisplayName("Should reject an unknown production strategy")
+    void testUnknownStrategy() {
+        assertThatThrownBy(() -> productionCalculationService.calculateOptimalProduction("magic", 1000))
+            .isInstanceOf(ApiException.class)
+            .hasMessageContaining("magic");
+    }
 }
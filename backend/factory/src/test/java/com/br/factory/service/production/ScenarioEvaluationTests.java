@@ -0,0 +1,90 @@
+package com.br.factory.service.production;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.br.factory.dto.production.ScenarioBatchRequest;
+import com.br.factory.dto.production.ScenarioBatchResponse;
+import com.br.factory.dto.production.ScenarioRequest;
+import com.br.factory.dto.production.StockDelta;
+import com.br.factory.dto.production.ValueOverride;
+import com.br.factory.entity.Product;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.exception.ResourceNotFoundException;
+import com.br.factory.service.ProductService;
+import com.br.factory.service.ProductionCalculationService;
+import com.br.factory.service.RawMaterialService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Scenario Evaluation Tests")
+class ScenarioEvaluationTests {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private RawMaterialService rawMaterialService;
+
+    private ProductionServiceFixture fixture;
+    private ProductionCalculationService productionCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new ProductionServiceFixture(productService, rawMaterialService);
+        productionCalculationService = fixture.service();
+    }
+
+    @Test
+    @DisplayName("Should evaluate what-if scenarios without touching the stock")
+    void testEvaluateScenarios() {
+        RawMaterial iron = ProductionServiceFixture.iron();
+        RawMaterial copper = ProductionServiceFixture.copper();
+        Product steelPlate = ProductionServiceFixture.product(1L, "Steel Plate", 50.0, iron, 10);
+        Product brassGear = ProductionServiceFixture.product(2L, "Brass Gear", 100.0, copper, 10);
+        fixture.catalog(List.of(steelPlate, brassGear), List.of(iron, copper));
+
+        ScenarioBatchResponse result = productionCalculationService.evaluateScenarios(new ScenarioBatchRequest(
+            null,
+            null,
+            List.of(
+                new ScenarioRequest("More copper", List.of(new StockDelta(2L, 50)), null),
+                new ScenarioRequest("Iron shortage", List.of(new StockDelta(1L, -500)), List.of(new ValueOverride(2L, 10.0)))
+            )
+        ));
+
+        assertThat(result.strategy()).isEqualTo("greedy");
+        assertThat(result.baselineTotalValue()).isEqualTo(1000.0);
+        assertThat(result.scenarios().get(0).name()).isEqualTo("More copper");
+        assertThat(result.scenarios().get(0).totalValue()).isEqualTo(1500.0);
+        assertThat(result.scenarios().get(0).valueChange()).isEqualTo(500.0);
+        assertThat(result.scenarios().get(1).totalValue()).isEqualTo(50.0);
+        assertThat(result.scenarios().get(1).suggestions().size()).isEqualTo(1);
+        assertThat(iron.getStockQuantity()).isEqualTo(100);
+        assertThat(productionCalculationService.calculateOptimalProduction().totalValue()).isEqualTo(1000.0);
+    }
+
+    @Test
+    @DisplayName("Should reject a scenario on an unknown raw material")
+    void testScenarioUnknownRawMaterial() {
+        fixture.catalog(List.of(ProductionServiceFixture.steelPlate()), List.of(ProductionServiceFixture.iron()));
+
+        ScenarioBatchRequest request = new ScenarioBatchRequest(
+            null,
+            null,
+            List.of(new ScenarioRequest(null, List.of(new StockDelta(99L, 5)), null))
+        );
+
+        assertThatThrownBy(() -> productionCalculationService.evaluateScenarios(request))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessageContaining("99");
+    }
+}
@@ -0,0 +1,190 @@
+package com.br.factory.service.production;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.br.factory.entity.Product;
+import com.br.factory.entity.ProductComposition;
+import com.br.factory.entity.RawMaterial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("SimplexSolver Tests")
+class SimplexSolverTests {
+
+    @Test
+    @DisplayName("Should price the only scarce material at the best value per unit")
+    void testSingleMaterialShadowPrice() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 12);
+        List<Product> products = List.of(
+            product(1L, 70.0, iron, 7),
+            product(2L, 30.0, iron, 5),
+            product(3L, 26.0, iron, 4)
+        );
+
+        CompiledCatalog catalog = CompiledCatalog.compile(products, List.of(iron));
+        RelaxationResult result = SimplexSolver.solve(catalog);
+
+        assertThat(result.objective()).isCloseTo(120.0, within(1e-9));
+        assertThat(result.shadowPrices()[0]).isCloseTo(10.0, within(1e-9));
+        assertThat(result.isBinding(0)).isTrue();
+        assertThat(result.exact()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should report slack and a zero price for a material that is not a bottleneck")
+    void testNonBindingMaterial() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 100);
+        RawMaterial copper = new RawMaterial(2L, "Copper", 1000);
+        Product plate = product(1L, 50.0, iron, 10);
+        plate.setCompositions(List.of(
+            new ProductComposition(null, plate, iron, 10),
+            new ProductComposition(null, plate, copper, 20)
+        ));
+
+        CompiledCatalog catalog = CompiledCatalog.compile(List.of(plate), List.of(iron, copper));
+        RelaxationResult result = SimplexSolver.solve(catalog);
+
+        assertThat(result.objective()).isCloseTo(500.0, within(1e-9));
+        assertThat(result.isBinding(0)).isTrue();
+        assertThat(result.shadowPrices()[0]).isCloseTo(5.0, within(1e-9));
+        assertThat(result.isBinding(1)).isFalse();
+        assertThat(result.slack()[1]).isCloseTo(800.0, within(1e-9));
+        assertThat(result.shadowPrices()[1]).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("Should never fall below the best integer plan")
+    void testRelaxationBoundsIntegerPlan() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 37);
+        RawMaterial copper = new RawMaterial(2L, "Copper", 23);
+        List<Product> products = new ArrayList<>();
+        for (long code = 1; code <= 6; code++) {
+            Product product = new Product(code, "Product " + code, 10.0 + code * 3);
+            product.setCompositions(List.of(
+                new ProductComposition(null, product, iron, (int) code + 2),
+                new ProductComposition(null, product, copper, 8 - (int) code)
+            ));
+            products.add(product);
+        }
+
+        CompiledCatalog catalog = CompiledCatalog.compile(products, List.of(iron, copper));
+        RelaxationResult relaxation = SimplexSolver.solve(catalog);
+        SolverResult exact = BranchAndBoundEngine.solve(catalog, 1000);
+
+        assertThat(exact.optimal()).isTrue();
+        assertThat(relaxation.objective()).isGreaterThanOrEqualTo(exact.plan().totalValue());
+    }
+
+    @Test
+    @DisplayName("Should not report an unused material without stock as binding")
+    void testUnusedMaterialIsNotBinding() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 10);
+        RawMaterial tin = new RawMaterial(2L, "Tin", 0);
+
+        CompiledCatalog catalog = CompiledCatalog.compile(List.of(product(1L, 5.0, iron, 2)), List.of(iron, tin));
+        RelaxationResult result = SimplexSolver.solve(catalog);
+
+        assertThat(result.isBinding(0)).isTrue();
+        assertThat(result.slack()[1]).isEqualTo(0.0);
+        assertThat(result.isBinding(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should bound the relaxation without a tableau when the catalog is too large")
+    void testBoundsOversizedCatalog() {
+        int size = 2100;
+        List<RawMaterial> rawMaterials = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        double expected = 0.0;
+        for (int i = 1; i <= size; i++) {
+            RawMaterial rawMaterial = new RawMaterial((long) i, "Material " + i, 10 * i);
+            rawMaterials.add(rawMaterial);
+            products.add(product((long) i, 3.0, rawMaterial, 4));
+            expected += 3.0 * (10 * i) / 4;
+        }
+
+        CompiledCatalog catalog = CompiledCatalog.compile(products, rawMaterials);
+        assertThat((long) (size + 1) * (2 * size + 1)).isGreaterThan(SimplexSolver.MAX_TABLEAU_CELLS);
+        RelaxationResult result = SimplexSolver.solve(catalog);
+
+        assertThat(result.exact()).isFalse();
+        assertThat(result.objective()).isCloseTo(expected, within(1e-6));
+        assertThat(result.isBinding(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should solve a catalog too large for the tableau on the basis inverse")
+    void testRevisedMatchesTableau() {
+        Random random = new Random(42);
+        List<RawMaterial> rawMaterials = new ArrayList<>();
+        for (long code = 1; code <= 12; code++) {
+            rawMaterials.add(new RawMaterial(code, "Material " + code, 50 + random.nextInt(400)));
+        }
+        List<Product> products = new ArrayList<>();
+        for (long code = 1; code <= 40; code++) {
+            Product product = new Product(code, "Product " + code, 5.0 + random.nextInt(60));
+            List<ProductComposition> compositions = new ArrayList<>();
+            for (int k = 0; k < 3; k++) {
+                RawMaterial rawMaterial = rawMaterials.get(random.nextInt(rawMaterials.size()));
+                compositions.add(new ProductComposition(null, product, rawMaterial, 1 + random.nextInt(9)));
+            }
+            product.setCompositions(compositions);
+            products.add(product);
+        }
+
+        CompiledCatalog catalog = CompiledCatalog.compile(products, rawMaterials);
+        RelaxationResult tableau = SimplexSolver.solve(catalog);
+        RelaxationResult revised = SimplexSolver.solve(catalog, 12 * 12);
+
+        assertThat(tableau.exact()).isTrue();
+        assertThat(revised.exact()).isTrue();
+        assertThat(revised.objective()).isCloseTo(tableau.objective(), within(1e-6));
+
+        double pricedStock = 0.0;
+        for (int material = 0; material < catalog.materialCount(); material++) {
+            pricedStock += revised.shadowPrices()[material] * catalog.stock(material);
+            assertThat(revised.slack()[material]).isGreaterThanOrEqualTo(-1e-6);
+        }
+        assertThat(pricedStock).isCloseTo(revised.objective(), within(1e-6));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the bound once the deadline has passed or the solve is cancelled")
+    void testStopsAtDeadline() {
+        RawMaterial iron = new RawMaterial(1L, "Iron", 37);
+        RawMaterial copper = new RawMaterial(2L, "Copper", 23);
+        List<Product> products = new ArrayList<>();
+        for (long code = 1; code <= 6; code++) {
+            Product product = new Product(code, "Product " + code, 10.0 + code * 3);
+            product.setCompositions(List.of(
+                new ProductComposition(null, product, iron, (int) code + 2),
+                new ProductComposition(null, product, copper, 8 - (int) code)
+            ));
+            products.add(product);
+        }
+
+        CompiledCatalog catalog = CompiledCatalog.compile(products, List.of(iron, copper));
+        RelaxationResult exact = SimplexSolver.solve(catalog);
+        RelaxationResult late = SimplexSolver.solve(catalog, System.nanoTime(), new CancellationToken());
+        CancellationToken cancelled = new CancellationToken();
+        cancelled.cancel();
+        SolverResult search = BranchAndBoundEngine.solveUntil(catalog, System.nanoTime() + 60_000_000_000L, cancelled);
+
+        assertThat(late.exact()).isFalse();
+        assertThat(late.objective()).isGreaterThanOrEqualTo(exact.objective() - 1e-9);
+        assertThat(search.plan().totalValue()).isEqualTo(GreedyProductionEngine.solve(catalog).totalValue());
+        assertThat(search.upperBound()).isGreaterThanOrEqualTo(exact.objective() - 1e-9);
+    }
+
+    private Product product(Long code, Double value, RawMaterial rawMaterial, Integer quantity) {
+        Product product = new Product(code, "Product " + code, value);
+        product.setCompositions(List.of(new ProductComposition(null, product, rawMaterial, quantity)));
+        return product;
+    }
+}
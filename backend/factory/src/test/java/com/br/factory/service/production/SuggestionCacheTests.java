@@ -0,0 +1,86 @@
+package com.br.factory.service.production;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.br.factory.dto.production.ProductionStatsResponse;
+import com.br.factory.dto.production.ProductionSuggestionResponse;
+import com.br.factory.entity.Product;
+import com.br.factory.entity.RawMaterial;
+import com.br.factory.event.StockChangedEvent;
+import com.br.factory.service.ProductService;
+import com.br.factory.service.ProductionCalculationService;
+import com.br.factory.service.RawMaterialService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Suggestion Cache Tests")
+class SuggestionCacheTests {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private RawMaterialService rawMaterialService;
+
+    private ProductionServiceFixture fixture;
+    private ProductionCalculationService productionCalculationService;
+    private RawMaterial iron;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new ProductionServiceFixture(productService, rawMaterialService);
+        productionCalculationService = fixture.service();
+
+        iron = ProductionServiceFixture.iron();
+        Product steelPlate = ProductionServiceFixture.product(1L, "Steel Plate", 50.0, iron, 10);
+        fixture.catalog(List.of(steelPlate), List.of(iron));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated suggestions from the cache until the catalog version changes")
+    void testSuggestionCacheFollowsCatalogVersion() {
+        ProductionSuggestionResponse first = productionCalculationService.calculateOptimalProduction("exact", 1000, 0);
+        iron.setStockQuantity(200);
+        ProductionSuggestionResponse repeated = productionCalculationService.calculateOptimalProduction("exact", 1000, 0);
+
+        assertThat(repeated).isSameAs(first);
+        assertThat(repeated.totalValue()).isEqualTo(500.0);
+
+        when(rawMaterialService.getRawMaterialsByCodes(Set.of(1L))).thenReturn(List.of(iron));
+        StockChangedEvent event = new StockChangedEvent(Set.of(1L));
+        fixture.catalogSnapshotService().onStockChanged(event);
+        fixture.catalogVersion().onStockChanged(event);
+        ProductionSuggestionResponse refreshed = productionCalculationService.calculateOptimalProduction("exact", 1000, 0);
+
+        assertThat(refreshed.totalValue()).isEqualTo(1000.0);
+
+        ProductionStatsResponse stats = productionCalculationService.getStats();
+        assertThat(stats.cacheHits()).isEqualTo(1L);
+        assertThat(stats.cacheMisses()).isEqualTo(2L);
+        assertThat(stats.cacheEvictions()).isEqualTo(1L);
+        assertThat(stats.cacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve greedy suggestions from the live plan without the cache")
+    void testGreedyBypassesSuggestionCache() {
+        ProductionSuggestionResponse first = productionCalculationService.calculateOptimalProduction("greedy", 1000, 0);
+        ProductionSuggestionResponse repeated = productionCalculationService.calculateOptimalProduction("greedy", 1000, 0);
+
+        assertThat(repeated).isSameAs(first);
+        ProductionStatsResponse stats = productionCalculationService.getStats();
+        assertThat(stats.cacheHits()).isEqualTo(0L);
+        assertThat(stats.cacheMisses()).isEqualTo(0L);
+        assertThat(stats.cacheSize()).isEqualTo(0);
+    }
+}
@@ -1,6 +1,6 @@
-import { ref, computed } from 'vue'
+import { ref, computed, onScopeDispose } from 'vue'
 import { productionService } from '@/services/productionService'
-import type { ProductionSuggestionResponse, ProductionItem } from '@/types'
+import type { ProductionItem } from '@/types'
 
 
 export function useProduction() {
@@ -13,21 +13,42 @@ export function useProduction() {
   const hasSuggestions = computed(() => suggestions.value.length > 0)
   const suggestionCount = computed(() => suggestions.value.length)
 
-  const calculateSuggestion = async () => {
+  let closeStream: (() => void) | null = null
+
+  const calculateSuggestion = () => {
+    closeStream?.()
     loading.value = true
     error.value = null
-    try {
-      const response: ProductionSuggestionResponse = await productionService.getSuggestion()
-      suggestions.value = response.suggestions
-      totalValue.value = response.totalValue
-    } catch (err) {
-      error.value = 'Error calculating production suggestion'
-      console.error('calculateSuggestion error:', err)
-    } finally {
-      loading.value = false
-    }
+    suggestions.value = []
+    totalValue.value = 0
+
+    return new Promise<void>((resolve) => {
+      closeStream = productionService.streamSuggestion({
+        onItem: (item) => {
+          loading.value = false
+          suggestions.value.push(item)
+          totalValue.value += item.totalValue
+        },
+        onSummary: (summary) => {
+          totalValue.value = summary.totalValue
+          message.value = summary.message
+          loading.value = false
+          closeStream = null
+          resolve()
+        },
+        onError: (event) => {
+          error.value = 'Error calculating production suggestion'
+          console.error('calculateSuggestion error:', event)
+          loading.value = false
+          closeStream = null
+          resolve()
+        }
+      })
+    })
   }
 
+  onScopeDispose(() => closeStream?.())
+
   const clearError = () => {
     error.value = null
   }
@@ -5,7 +5,7 @@ import type { ProductResponse, ProductRequest, ProductUpdate } from '@/types'
 export const productService = {
 
   async getAllProducts(): Promise<ProductResponse[]> {
-    const response = await api.get<ProductResponse[]>('/products')
+    const response = await api.get<ProductResponse[]>('/products', { params: { all: true } })
     return response.data
   },
 
@@ -1,9 +1,66 @@
 import api from './api'
-import type { ProductionSuggestionResponse } from '@/types'
+import type {
+  ProductionCommitItem,
+  ProductionCommitResponse,
+  ProductionJobRequest,
+  ProductionItem,
+  ProductionJobResponse,
+  ProductionStreamSummary,
+  ProductionSuggestionResponse
+} from '@/types'
+
+export interface SuggestionStreamHandlers {
+  onItem: (item: ProductionItem) => void
+  onSummary: (summary: ProductionStreamSummary) => void
+  onError: (event: Event) => void
+}
 
 export const productionService = {
   async getSuggestion(): Promise<ProductionSuggestionResponse> {
     const response = await api.get<ProductionSuggestionResponse>('/production/suggest')
     return response.data
+  },
+
+  streamSuggestion(handlers: SuggestionStreamHandlers): () => void {
+    const source = new EventSource(`${api.defaults.baseURL}/production/suggest/stream`)
+
+    source.addEventListener('item', (event) => {
+      handlers.onItem(JSON.parse((event as MessageEvent<string>).data))
+    })
+    source.addEventListener('summary', (event) => {
+      source.close()
+      handlers.onSummary(JSON.parse((event as MessageEvent<string>).data))
+    })
+    source.onerror = (event) => {
+      source.close()
+      handlers.onError(event)
+    }
+
+    return () => source.close()
+  },
+
+  async submitJob(request: ProductionJobRequest): Promise<ProductionJobResponse> {
+    const response = await api.post<ProductionJobResponse>('/production/jobs', request)
+    return response.data
+  },
+
+  async getJob(id: string): Promise<ProductionJobResponse> {
+    const response = await api.get<ProductionJobResponse>(`/production/jobs/${id}`)
+    return response.data
+  },
+
+  async getJobResult(id: string): Promise<ProductionSuggestionResponse> {
+    const response = await api.get<ProductionSuggestionResponse>(`/production/jobs/${id}/result`)
+    return response.data
+  },
+
+  async cancelJob(id: string): Promise<ProductionJobResponse> {
+    const response = await api.delete<ProductionJobResponse>(`/production/jobs/${id}`)
+    return response.data
+  },
+
+  async commitPlan(items: ProductionCommitItem[]): Promise<ProductionCommitResponse> {
+    const response = await api.post<ProductionCommitResponse>('/production/commit', { items })
+    return response.data
   }
 }
@@ -1,11 +1,17 @@
 import api from './api'
-import type { RawMaterialResponse, RawMaterialRequest, RawMaterialUpdate } from '@/types'
+import type {
+  RawMaterialResponse,
+  RawMaterialRequest,
+  RawMaterialUpdate,
+  StockAdjustment,
+  StockAdjustmentResponse
+} from '@/types'
 
 
 export const rawMaterialService = {
 
   async getAllRawMaterials(): Promise<RawMaterialResponse[]> {
-    const response = await api.get<RawMaterialResponse[]>('/raw-materials')
+    const response = await api.get<RawMaterialResponse[]>('/raw-materials', { params: { all: true } })
     return response.data
   },
 
@@ -25,6 +31,15 @@ export const rawMaterialService = {
     return response.data
   },
 
+  async adjustStock(adjustments: StockAdjustment[]): Promise<StockAdjustmentResponse> {
+    const response = await api.patch<StockAdjustmentResponse>('/raw-materials/stock', { adjustments })
+    return response.data
+  },
+
+  async recordStockEvents(adjustments: StockAdjustment[]): Promise<void> {
+    await api.post('/raw-materials/stock/events', { adjustments })
+  },
+
   async deleteRawMaterial(code: number): Promise<void> {
     await api.delete(`/raw-materials/${code}`)
   }
@@ -14,6 +14,26 @@ export interface RawMaterialUpdate {
   stockQuantity: number
 }
 
+export interface StockAdjustment {
+  rawMaterialCode: number
+  delta: number
+}
+
+export type StockAdjustmentStatus = 'APPLIED' | 'OUT_OF_RANGE' | 'RESERVED' | 'NOT_FOUND'
+
+export interface StockAdjustmentResult {
+  rawMaterialCode: number
+  delta: number
+  netDelta: number
+  status: StockAdjustmentStatus
+}
+
+export interface StockAdjustmentResponse {
+  applied: number
+  rejected: number
+  results: StockAdjustmentResult[]
+}
+
 export interface ProductCompositionResponse {
   id: number
   rawMaterial: RawMaterialResponse
@@ -51,10 +71,67 @@ export interface ProductionItem {
   totalValue: number
 }
 
+export interface ProductionCommitItem {
+  productCode: number
+  quantityToProduce: number
+}
+
+export interface MaterialConsumption {
+  rawMaterialCode: number
+  quantityConsumed: number
+}
+
+export interface ProductionCommitResponse {
+  itemCount: number
+  totalValue: number
+  consumedMaterials: MaterialConsumption[]
+}
+
 export interface ProductionSuggestionResponse {
   suggestions: ProductionItem[]
   totalValue: number
   message: string
+  strategy?: string
+  optimalityGap?: number
+  presolve?: PresolveSummary
+}
+
+export interface ProductionStreamSummary {
+  itemCount: number
+  totalValue: number
+  message: string
+  strategy?: string
+  optimalityGap?: number
+  presolve?: PresolveSummary
+}
+
+export interface PresolveSummary {
+  productsBefore: number
+  productsAfter: number
+  productsWithoutComposition: number
+  duplicateProducts: number
+  dominatedProducts: number
+  rawMaterialsBefore: number
+  rawMaterialsAfter: number
+}
+
+export type ProductionJobStatus = 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED' | 'CANCELLED'
+
+export interface ProductionJobRequest {
+  strategy?: string
+  timeBudgetMs?: number
+  maxIterations?: number
+}
+
+export interface ProductionJobResponse {
+  id: string
+  status: ProductionJobStatus
+  strategy: string
+  timeBudgetMs: number
+  submittedAt: string
+  startedAt?: string
+  finishedAt?: string
+  error?: string
 }
 
 export interface ErrorResponse {